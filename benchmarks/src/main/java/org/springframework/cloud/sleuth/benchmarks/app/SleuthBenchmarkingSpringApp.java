@@ -24,8 +24,10 @@ import java.util.concurrent.Future;
 
 import javax.annotation.PreDestroy;
 
+import org.aopalliance.intercept.MethodInterceptor;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
@@ -67,6 +69,7 @@ public class SleuthBenchmarkingSpringApp implements
 
 	@Autowired(required = false) Tracer tracer;
 	@Autowired AClass aClass;
+	@Autowired PlainAopClass plainAopClass;
 
 	@RequestMapping("/foo")
 	public String foo() {
@@ -96,6 +99,10 @@ public class SleuthBenchmarkingSpringApp implements
 		return this.aClass.newSpan();
 	}
 
+	public String plainAopSpan() {
+		return this.plainAopClass.newSpan();
+	}
+
 	@Override
 	public void onApplicationEvent(EmbeddedServletContainerInitializedEvent event) {
 		this.port = event.getEmbeddedServletContainer().getPort();
@@ -124,6 +131,24 @@ public class SleuthBenchmarkingSpringApp implements
 		return new AClass(this.tracer, anotherClass());
 	}
 
+	/**
+	 * Does the same work as {@link AClass#newSpan()} in a hand written interceptor, as a
+	 * baseline for the cost of the Sleuth annotations
+	 */
+	@Bean PlainAopClass plainAopClass() {
+		ProxyFactory proxyFactory = new ProxyFactory(new PlainAopClass(anotherClass()));
+		proxyFactory.setProxyTargetClass(true);
+		proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+			Span span = this.tracer.createSpan("new-span");
+			try {
+				return invocation.proceed();
+			} finally {
+				this.tracer.close(span);
+			}
+		});
+		return (PlainAopClass) proxyFactory.getProxy();
+	}
+
 	public ExecutorService getPool() {
 		return this.pool;
 	}
@@ -156,6 +181,18 @@ class AClass {
 	}
 }
 
+class PlainAopClass {
+	private final AnotherClass anotherClass;
+
+	PlainAopClass(AnotherClass anotherClass) {
+		this.anotherClass = anotherClass;
+	}
+
+	public String newSpan() {
+		return this.anotherClass.continuedSpan();
+	}
+}
+
 class AnotherClass {
 	private final Tracer tracer;
 
@@ -72,6 +72,13 @@ public class AnnotationBenchmarks {
 		then(ExceptionUtils.getLastException()).isNull();
 	}
 
+	@Benchmark
+	public void spanCreatedWithPlainAop(BenchmarkContext context)
+			throws Exception {
+		then(context.sleuth.plainAopSpan()).isEqualTo("continued");
+		then(ExceptionUtils.getLastException()).isNull();
+	}
+
 	@Benchmark
 	public void spanCreatedWithAnnotations(BenchmarkContext context)
 			throws Exception {
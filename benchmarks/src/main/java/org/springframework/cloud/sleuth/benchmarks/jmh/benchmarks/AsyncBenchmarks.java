@@ -15,8 +15,12 @@
  */
 package org.springframework.cloud.sleuth.benchmarks.jmh.benchmarks;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
+import org.aopalliance.intercept.MethodInterceptor;
+
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -29,9 +33,13 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactoryBean;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.cloud.sleuth.benchmarks.app.SleuthBenchmarkingSpringApp;
+import org.springframework.cloud.sleuth.instrument.async.LazyTraceExecutor;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ReflectionUtils;
 
 import static org.assertj.core.api.BDDAssertions.then;
 
@@ -43,12 +51,18 @@ import static org.assertj.core.api.BDDAssertions.then;
 @Threads(Threads.MAX)
 public class AsyncBenchmarks {
 
+	private static final Runnable RUNNABLE = () -> {
+	};
+
 	@State(Scope.Benchmark)
 	public static class BenchmarkContext {
 		volatile ConfigurableApplicationContext withSleuth;
 		volatile ConfigurableApplicationContext withoutSleuth;
 		volatile SleuthBenchmarkingSpringApp tracedAsyncMethodHavingBean;
 		volatile SleuthBenchmarkingSpringApp untracedAsyncMethodHavingBean;
+		volatile Executor rawExecutor;
+		volatile Executor perCallLookupProxiedExecutor;
+		volatile Executor proxiedExecutor;
 
 		@Setup public void setup() {
 			this.withSleuth = new SpringApplication(
@@ -65,6 +79,33 @@ public class AsyncBenchmarks {
 					SleuthBenchmarkingSpringApp.class);
 			this.untracedAsyncMethodHavingBean = this.withoutSleuth.getBean(
 					SleuthBenchmarkingSpringApp.class);
+			this.rawExecutor = new DirectExecutor();
+			this.perCallLookupProxiedExecutor = perCallLookupProxy(new DirectExecutor(),
+					this.withSleuth.getBeanFactory());
+			// applies the executor bean post processor of Sleuth
+			this.proxiedExecutor = (Executor) this.withSleuth.getAutowireCapableBeanFactory()
+					.initializeBean(new DirectExecutor(), "directExecutor");
+		}
+
+		/**
+		 * Proxy that resolves the traced executor and its method on each call, the way
+		 * Sleuth did before the traced executor got cached per bean
+		 */
+		private Executor perCallLookupProxy(Executor executor, BeanFactory beanFactory) {
+			ProxyFactoryBean factory = new ProxyFactoryBean();
+			factory.setProxyTargetClass(true);
+			factory.addAdvice((MethodInterceptor) invocation -> {
+				LazyTraceExecutor traceExecutor = new LazyTraceExecutor(beanFactory, executor);
+				Method method = ReflectionUtils.findMethod(traceExecutor.getClass(),
+						invocation.getMethod().getName(),
+						invocation.getMethod().getParameterTypes());
+				if (method != null) {
+					return method.invoke(traceExecutor, invocation.getArguments());
+				}
+				return invocation.proceed();
+			});
+			factory.setTarget(executor);
+			return (Executor) factory.getObject();
 		}
 
 		@TearDown public void clean() {
@@ -86,4 +127,28 @@ public class AsyncBenchmarks {
 			throws Exception {
 		then(context.tracedAsyncMethodHavingBean.async().get()).isEqualTo("async");
 	}
+
+	@Benchmark
+	public void executeWithRawExecutor(BenchmarkContext context) {
+		context.rawExecutor.execute(RUNNABLE);
+	}
+
+	@Benchmark
+	public void executeWithPerCallLookupProxiedExecutor(BenchmarkContext context) {
+		context.perCallLookupProxiedExecutor.execute(RUNNABLE);
+	}
+
+	@Benchmark
+	public void executeWithProxiedExecutor(BenchmarkContext context) {
+		context.proxiedExecutor.execute(RUNNABLE);
+	}
+
+	/**
+	 * Runs the task in the calling thread, so that only the cost of submission is measured
+	 */
+	public static class DirectExecutor implements Executor {
+		@Override public void execute(Runnable command) {
+			command.run();
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.util.HexCodec;
+
+/**
+ * Measures encoding and decoding of hex ids, both for a whole id and for a range of a
+ * longer header value, and the cost of reading the cached hex forms of a span.
+ */
+@Measurement(iterations = 5)
+@Warmup(iterations = 10)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(1)
+@State(Scope.Thread)
+public class HexCodecBenchmarks {
+
+	String traceId = "463ac35c9f6413ad";
+	String traceId128 = "463ac35c9f6413ad48485a3953bb6124";
+	String header = "463ac35c9f6413ad48485a3953bb6124-a2fb4a1d1a96d312-1";
+	long id = 0x463ac35c9f6413adL;
+	Span span = Span.builder().name("http:/foo").traceId(this.id).spanId(this.id).build();
+
+	@Benchmark
+	public long decode() {
+		return HexCodec.lowerHexToUnsignedLong(this.traceId);
+	}
+
+	@Benchmark
+	public long decode128() {
+		return HexCodec.lowerHexToUnsignedLong(this.traceId128);
+	}
+
+	@Benchmark
+	public long decodeHeaderRange() {
+		return HexCodec.lowerHexToUnsignedLong(this.header, 33, 49);
+	}
+
+	@Benchmark
+	public long decodeSubstring() {
+		return Span.hexToId(this.header.substring(33, 49));
+	}
+
+	@Benchmark
+	public String encode() {
+		return HexCodec.toLowerHex(this.id);
+	}
+
+	@Benchmark
+	public String cachedSpanIdString() {
+		return this.span.spanIdString();
+	}
+}
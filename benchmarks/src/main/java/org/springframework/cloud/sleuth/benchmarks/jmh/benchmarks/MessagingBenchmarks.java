@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.sleuth.DefaultSpanNamer;
+import org.springframework.cloud.sleuth.NoOpSpanReporter;
+import org.springframework.cloud.sleuth.TraceKeys;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.instrument.messaging.HeaderBasedMessagingExtractor;
+import org.springframework.cloud.sleuth.instrument.messaging.HeaderBasedMessagingInjector;
+import org.springframework.cloud.sleuth.instrument.messaging.TraceChannelInterceptor;
+import org.springframework.cloud.sleuth.log.NoOpSpanLogger;
+import org.springframework.cloud.sleuth.sampler.AlwaysSampler;
+import org.springframework.cloud.sleuth.trace.DefaultTracer;
+import org.springframework.cloud.sleuth.util.RandomIdGenerator;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Measures sending a message through a {@link DirectChannel} to a subscribed handler with
+ * and without the {@link TraceChannelInterceptor}. Run with the GC profiler
+ * ({@code -prof gc}) to see the bytes allocated per message.
+ */
+@Measurement(iterations = 5)
+@Warmup(iterations = 10)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(1)
+public class MessagingBenchmarks {
+
+	@State(Scope.Thread)
+	public static class BenchmarkContext {
+
+		DirectChannel tracedChannel;
+		DirectChannel untracedChannel;
+		Message<String> message;
+		Message<?> received;
+
+		@Setup
+		public void setup() {
+			Tracer tracer = new DefaultTracer(new AlwaysSampler(), new RandomIdGenerator(),
+					new DefaultSpanNamer(), new NoOpSpanLogger(), new NoOpSpanReporter(),
+					false, new TraceKeys());
+			MessageHandler handler = new MessageHandler() {
+				@Override
+				public void handleMessage(Message<?> message) throws MessagingException {
+					BenchmarkContext.this.received = message;
+				}
+			};
+			this.tracedChannel = new DirectChannel();
+			this.tracedChannel.setBeanName("traced");
+			this.tracedChannel.addInterceptor(new TraceChannelInterceptor(tracer,
+					new TraceKeys(), new HeaderBasedMessagingExtractor(),
+					new HeaderBasedMessagingInjector(new TraceKeys())));
+			this.tracedChannel.subscribe(handler);
+			this.untracedChannel = new DirectChannel();
+			this.untracedChannel.setBeanName("untraced");
+			this.untracedChannel.subscribe(handler);
+			this.message = MessageBuilder.withPayload("Hello World")
+					.setHeader("contentType", "text/plain").build();
+		}
+	}
+
+	@Benchmark
+	public Message<?> sendWithoutSleuth(BenchmarkContext context) {
+		context.untracedChannel.send(context.message);
+		return context.received;
+	}
+
+	@Benchmark
+	public Message<?> sendWithSleuth(BenchmarkContext context) {
+		context.tracedChannel.send(context.message);
+		return context.received;
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.benchmarks.jmh.benchmarks;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.sleuth.Sampler;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.sampler.PercentageBasedSampler;
+import org.springframework.cloud.sleuth.sampler.RateLimitingSampler;
+import org.springframework.cloud.sleuth.sampler.SamplerProperties;
+
+/**
+ * Compares the trace id based {@link PercentageBasedSampler} with the previous,
+ * counter based implementation that synchronized on every decision, and measures the
+ * overhead of capping it with a {@link RateLimitingSampler}. Runs with multiple threads
+ * to show the contention on the sampler.
+ */
+@Measurement(iterations = 5)
+@Warmup(iterations = 10)
+@Fork(3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class SamplerBenchmarks {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+
+		Sampler traceIdSampler;
+		Sampler countingSampler;
+		Sampler rateLimitedSampler;
+
+		@Setup
+		public void setup() {
+			SamplerProperties properties = new SamplerProperties();
+			properties.setPercentage(0.1f);
+			this.traceIdSampler = new PercentageBasedSampler(properties);
+			this.countingSampler = new CountingSampler(properties);
+			SamplerProperties rateLimitedProperties = new SamplerProperties();
+			rateLimitedProperties.setPercentage(0.1f);
+			rateLimitedProperties.setRate(200);
+			this.rateLimitedSampler = new RateLimitingSampler(rateLimitedProperties,
+					new PercentageBasedSampler(rateLimitedProperties));
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadContext {
+
+		Span span;
+
+		@Setup
+		public void setup() {
+			this.span = Span.builder().name("foo")
+					.traceId(ThreadLocalRandom.current().nextLong()).build();
+		}
+	}
+
+	@Benchmark
+	public boolean traceIdSampler(BenchmarkContext context, ThreadContext thread) {
+		return context.traceIdSampler.isSampled(thread.span);
+	}
+
+	@Benchmark
+	public boolean countingSampler(BenchmarkContext context, ThreadContext thread) {
+		return context.countingSampler.isSampled(thread.span);
+	}
+
+	@Benchmark
+	public boolean rateLimitedTraceIdSampler(BenchmarkContext context, ThreadContext thread) {
+		return context.rateLimitedSampler.isSampled(thread.span);
+	}
+
+	/**
+	 * Copy of the previous {@link PercentageBasedSampler} implementation.
+	 */
+	static class CountingSampler implements Sampler {
+
+		private final AtomicInteger counter = new AtomicInteger(0);
+		private final BitSet sampleDecisions;
+		private final SamplerProperties configuration;
+
+		CountingSampler(SamplerProperties configuration) {
+			int outOf100 = (int) (configuration.getPercentage() * 100.0f);
+			this.sampleDecisions = randomBitSet(100, outOf100, new Random());
+			this.configuration = configuration;
+		}
+
+		@Override
+		public boolean isSampled(Span currentSpan) {
+			if (this.configuration.getPercentage() == 0 || currentSpan == null) {
+				return false;
+			} else if (this.configuration.getPercentage() == 100) {
+				return true;
+			}
+			synchronized (this) {
+				final int i = this.counter.getAndIncrement();
+				boolean result = this.sampleDecisions.get(i);
+				if (i == 99) {
+					this.counter.set(0);
+				}
+				return result;
+			}
+		}
+
+		static BitSet randomBitSet(int size, int cardinality, Random rnd) {
+			BitSet result = new BitSet(size);
+			int[] chosen = new int[cardinality];
+			int i;
+			for (i = 0; i < cardinality; ++i) {
+				chosen[i] = i;
+				result.set(i);
+			}
+			for (; i < size; ++i) {
+				int j = rnd.nextInt(i + 1);
+				if (j < cardinality) {
+					result.clear(chosen[j]);
+					result.set(i);
+					chosen[j] = i;
+				}
+			}
+			return result;
+		}
+	}
+}
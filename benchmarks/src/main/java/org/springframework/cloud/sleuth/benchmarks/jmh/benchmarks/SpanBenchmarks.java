@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.benchmarks.jmh.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.sleuth.Span;
+
+/**
+ * Measures the cost of creating spans. Run with the GC profiler
+ * ({@code -prof gc}) to see the number of bytes allocated per span
+ * ({@code gc.alloc.rate.norm}).
+ */
+@Measurement(iterations = 5)
+@Warmup(iterations = 10)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(1)
+public class SpanBenchmarks {
+
+	@Benchmark
+	public Span rootSpan() {
+		return Span.builder().name("http:/foo").traceId(1L).spanId(1L).build();
+	}
+
+	@Benchmark
+	public Span unsampledChildSpan() {
+		return Span.builder().name("http:/foo").traceId(1L).parent(1L).spanId(2L)
+				.exportable(false).build();
+	}
+
+	@Benchmark
+	public Span childSpanWithTagsAndLogs() {
+		Span span = Span.builder().name("http:/foo").traceId(1L).parent(1L).spanId(2L)
+				.build();
+		span.logEvent(Span.CLIENT_SEND);
+		span.tag("http.method", "GET");
+		span.tag("http.path", "/foo");
+		span.tag("http.status_code", "200");
+		span.logEvent(Span.CLIENT_RECV);
+		return span;
+	}
+}
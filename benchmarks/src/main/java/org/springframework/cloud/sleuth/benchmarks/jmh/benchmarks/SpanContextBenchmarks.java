@@ -0,0 +1,96 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.benchmarks.jmh.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.sleuth.DefaultSpanNamer;
+import org.springframework.cloud.sleuth.NoOpSpanReporter;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceKeys;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.log.NoOpSpanLogger;
+import org.springframework.cloud.sleuth.sampler.AlwaysSampler;
+import org.springframework.cloud.sleuth.trace.DefaultTracer;
+import org.springframework.cloud.sleuth.util.RandomIdGenerator;
+
+/**
+ * Isolates the cost of the thread context kept by the {@link Tracer}. The spans are
+ * created upfront and the span logger and reporter are no-ops, so the benchmarks only
+ * measure reading, pushing and popping the context.
+ */
+@Measurement(iterations = 5)
+@Warmup(iterations = 10)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(1)
+public class SpanContextBenchmarks {
+
+	@State(Scope.Thread)
+	public static class TracerContext {
+		Tracer tracer;
+		Span root;
+		Span child;
+		Span grandChild;
+
+		@Setup public void setup() {
+			this.tracer = new DefaultTracer(new AlwaysSampler(), new RandomIdGenerator(),
+					new DefaultSpanNamer(), new NoOpSpanLogger(), new NoOpSpanReporter(),
+					false, new TraceKeys());
+			this.root = this.tracer.createSpan("root");
+			this.child = this.tracer.createSpan("child");
+			this.grandChild = this.tracer.createSpan("grandChild");
+			this.tracer.detach(this.grandChild);
+			this.tracer.continueSpan(this.root);
+		}
+
+		@TearDown public void clean() {
+			this.tracer.close(this.root);
+		}
+	}
+
+	@Benchmark
+	public Span getCurrentSpan(TracerContext context) {
+		return context.tracer.getCurrentSpan();
+	}
+
+	@Benchmark
+	public boolean isTracing(TracerContext context) {
+		return context.tracer.isTracing();
+	}
+
+	@Benchmark
+	public Span continueAndDetachNestedSpans(TracerContext context) {
+		context.tracer.continueSpan(context.child);
+		context.tracer.continueSpan(context.grandChild);
+		Span saved = context.tracer.detach(context.grandChild);
+		context.tracer.continueSpan(context.root);
+		return saved;
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.benchmarks.jmh.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.sleuth.DefaultSpanNamer;
+import org.springframework.cloud.sleuth.NoOpSpanReporter;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceKeys;
+import org.springframework.cloud.sleuth.TraceRunnable;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.log.NoOpSpanLogger;
+import org.springframework.cloud.sleuth.sampler.AlwaysSampler;
+import org.springframework.cloud.sleuth.sampler.NeverSampler;
+import org.springframework.cloud.sleuth.trace.DefaultTracer;
+import org.springframework.cloud.sleuth.util.RandomIdGenerator;
+
+/**
+ * Measures the {@link Tracer} operations used whenever a span is passed between
+ * threads. Run with the GC profiler ({@code -prof gc}) to see the allocation per
+ * operation.
+ */
+@Measurement(iterations = 5)
+@Warmup(iterations = 10)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(Threads.MAX)
+public class TracerBenchmarks {
+
+	@State(Scope.Thread)
+	public static class TracerContext {
+		volatile Tracer tracer;
+		volatile Span span;
+		final Runnable runnable = new Runnable() {
+			@Override public void run() {
+			}
+		};
+
+		@Setup public void setup() {
+			this.tracer = new DefaultTracer(new AlwaysSampler(), new RandomIdGenerator(),
+					new DefaultSpanNamer(), new NoOpSpanLogger(), new NoOpSpanReporter(),
+					false, new TraceKeys());
+			this.span = this.tracer.createSpan("benchmark");
+			this.tracer.detach(this.span);
+		}
+
+		@TearDown public void clean() {
+			this.tracer.continueSpan(this.span);
+			this.tracer.close(this.span);
+		}
+	}
+
+	@Benchmark
+	public Span continueAndDetachSpan(TracerContext context) {
+		Span continued = context.tracer.continueSpan(context.span);
+		return context.tracer.detach(continued);
+	}
+
+	@Benchmark
+	public Span createAndCloseSpan(TracerContext context) {
+		Span span = context.tracer.createSpan("child", context.span);
+		return context.tracer.close(span);
+	}
+
+	@Benchmark
+	public Span createAndCloseUnsampledRootSpan(TracerContext context) {
+		Span span = context.tracer.createSpan("root", NeverSampler.INSTANCE);
+		return context.tracer.close(span);
+	}
+
+	@Benchmark
+	public void runTraceRunnable(TracerContext context) {
+		Span continued = context.tracer.continueSpan(context.span);
+		new TraceRunnable(context.tracer, new DefaultSpanNamer(), context.runnable,
+				"async").run();
+		context.tracer.detach(continued);
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.benchmarks.jmh.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.sleuth.NoOpSpanAdjuster;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.zipkin.ServerPropertiesEndpointLocator;
+import org.springframework.cloud.sleuth.zipkin.ZipkinProperties;
+import org.springframework.cloud.sleuth.zipkin.ZipkinSpanListener;
+import org.springframework.cloud.sleuth.zipkin.ZipkinSpanReporter;
+
+/**
+ * Measures the cost of converting a Sleuth span to a Zipkin one. The cached variant
+ * should not touch the network interfaces on the reporting path.
+ */
+@Measurement(iterations = 5)
+@Warmup(iterations = 10)
+@Fork(3)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(Threads.MAX)
+public class ZipkinSpanListenerBenchmarks {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkContext {
+		volatile ZipkinSpanListener withCachedEndpoint;
+		volatile ZipkinSpanListener withResolvedEndpoint;
+		volatile Span span;
+
+		@Setup public void setup() {
+			ZipkinSpanReporter noOpReporter = new ZipkinSpanReporter() {
+				@Override public void report(zipkin.Span span) {
+				}
+			};
+			ZipkinProperties noCaching = new ZipkinProperties();
+			noCaching.getLocator().setRefreshInterval(0);
+			this.withCachedEndpoint = new ZipkinSpanListener(noOpReporter,
+					new ServerPropertiesEndpointLocator(new ServerProperties(), "cached",
+							new ZipkinProperties(), null), null, new NoOpSpanAdjuster());
+			this.withResolvedEndpoint = new ZipkinSpanListener(noOpReporter,
+					new ServerPropertiesEndpointLocator(new ServerProperties(), "resolved",
+							noCaching, null), null, new NoOpSpanAdjuster());
+			this.span = Span.builder().traceId(1L).spanId(2L).name("benchmark")
+					.exportable(true).build();
+			this.span.tag("foo", "bar");
+			this.span.stop();
+		}
+	}
+
+	@Benchmark
+	public void reportWithCachedEndpoint(BenchmarkContext context) {
+		context.withCachedEndpoint.report(context.span);
+	}
+
+	@Benchmark
+	public void reportWithEndpointResolvedPerSpan(BenchmarkContext context) {
+		context.withResolvedEndpoint.report(context.span);
+	}
+}
@@ -34,6 +34,7 @@ import org.springframework.cloud.sleuth.SpanReporter;
 import org.springframework.cloud.sleuth.autoconfig.TraceAutoConfiguration;
 import org.springframework.cloud.sleuth.metric.SpanMetricReporter;
 import org.springframework.cloud.sleuth.sampler.PercentageBasedSampler;
+import org.springframework.cloud.sleuth.sampler.RateLimitingSampler;
 import org.springframework.cloud.sleuth.sampler.SamplerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -43,7 +44,7 @@ import org.springframework.web.client.RestTemplate;
 /**
  * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration Auto-configuration}
  * enables reporting to AWS X-Ray via the X-Ray daemon. Has a default {@link Sampler} set as
- * {@link PercentageBasedSampler}.
+ * {@link PercentageBasedSampler}, capped by a {@link RateLimitingSampler}.
  *
  * @author James Bowman
  * @since 1.2.1
@@ -76,7 +77,7 @@ public class AWSXRayAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	public Sampler defaultTraceSampler(SamplerProperties config) {
-		return new PercentageBasedSampler(config);
+		return new RateLimitingSampler(config, new PercentageBasedSampler(config));
 	}
 
 	@Bean
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.aws.xray;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.commons.util.InetUtils;
+import org.springframework.cloud.commons.util.InetUtilsProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerPropertiesEndpointLocatorTests {
+
+	public static final byte[] ADDRESS1234 = { 1, 2, 3, 4 };
+
+	@Test
+	public void portDefaultsTo8080() throws UnknownHostException {
+		ServerPropertiesEndpointLocator locator = new ServerPropertiesEndpointLocator(
+				new ServerProperties(), "unknown", new AWSXRayProperties(),
+				localAddress(ADDRESS1234));
+
+		assertThat(locator.local().port).isEqualTo((short) 8080);
+	}
+
+	@Test
+	public void addressIsResolvedOnceWithinRefreshInterval() throws UnknownHostException {
+		InetUtils inetUtils = localAddress(ADDRESS1234);
+		ServerPropertiesEndpointLocator locator = new ServerPropertiesEndpointLocator(
+				new ServerProperties(), "unknown", new AWSXRayProperties(), inetUtils);
+
+		locator.local();
+		locator.local();
+
+		Mockito.verify(inetUtils, Mockito.times(1)).findFirstNonLoopbackAddress();
+	}
+
+	@Test
+	public void addressIsResolvedAgainAfterRefresh() throws UnknownHostException {
+		InetUtils inetUtils = localAddress(ADDRESS1234);
+		ServerPropertiesEndpointLocator locator = new ServerPropertiesEndpointLocator(
+				new ServerProperties(), "unknown", new AWSXRayProperties(), inetUtils);
+
+		locator.local();
+		locator.refresh();
+		locator.local();
+
+		Mockito.verify(inetUtils, Mockito.times(2)).findFirstNonLoopbackAddress();
+	}
+
+	@Test
+	public void addressIsResolvedEachTimeWhenRefreshIntervalIsZero() throws UnknownHostException {
+		InetUtils inetUtils = localAddress(ADDRESS1234);
+		AWSXRayProperties properties = new AWSXRayProperties();
+		properties.getLocator().setRefreshInterval(0);
+		ServerPropertiesEndpointLocator locator = new ServerPropertiesEndpointLocator(
+				new ServerProperties(), "unknown", properties, inetUtils);
+
+		locator.local();
+		locator.local();
+
+		Mockito.verify(inetUtils, Mockito.times(2)).findFirstNonLoopbackAddress();
+	}
+
+	@Test
+	public void portIsRefreshedWhenServerPropertiesPortChanges() throws UnknownHostException {
+		ServerProperties serverProperties = new ServerProperties();
+		serverProperties.setPort(1234);
+		ServerPropertiesEndpointLocator locator = new ServerPropertiesEndpointLocator(
+				serverProperties, "unknown", new AWSXRayProperties(),
+				localAddress(ADDRESS1234));
+
+		assertThat(locator.local().port).isEqualTo((short) 1234);
+		serverProperties.setPort(4321);
+		assertThat(locator.local().port).isEqualTo((short) 1234);
+		locator.refresh();
+		assertThat(locator.local().port).isEqualTo((short) 4321);
+	}
+
+	private InetUtils localAddress(byte[] address) throws UnknownHostException {
+		InetUtils mocked = Mockito.spy(new InetUtils(new InetUtilsProperties()));
+		Mockito.when(mocked.findFirstNonLoopbackAddress())
+				.thenReturn(InetAddress.getByAddress(address));
+		return mocked;
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * A small, thread-safe, append-only {@link Collection} backed by an array. Used to store
+ * the logs of a span, which usually has just a couple of them. Iteration works on a
+ * snapshot taken at the time {@link #iterator()} is called.
+ *
+ * @since 1.2.1
+ */
+final class ArrayBackedCollection<E> extends AbstractCollection<E> {
+
+	private static final int INITIAL_CAPACITY = 4;
+
+	private Object[] elements;
+	private int size;
+
+	ArrayBackedCollection() {
+		this.elements = new Object[INITIAL_CAPACITY];
+	}
+
+	ArrayBackedCollection(Collection<? extends E> collection) {
+		this.elements = collection.toArray();
+		this.size = this.elements.length;
+		if (this.elements.length == 0) {
+			this.elements = new Object[INITIAL_CAPACITY];
+		}
+	}
+
+	@Override
+	public synchronized boolean add(E element) {
+		if (this.size == this.elements.length) {
+			this.elements = Arrays.copyOf(this.elements, this.size * 2);
+		}
+		this.elements[this.size++] = element;
+		return true;
+	}
+
+	@Override
+	public synchronized int size() {
+		return this.size;
+	}
+
+	@Override
+	public synchronized Object[] toArray() {
+		return Arrays.copyOf(this.elements, this.size);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Iterator<E> iterator() {
+		return Arrays.asList((E[]) toArray()).iterator();
+	}
+}
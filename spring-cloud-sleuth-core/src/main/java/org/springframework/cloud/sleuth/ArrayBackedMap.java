@@ -0,0 +1,140 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A small, thread-safe {@link Map} backed by an array of alternating keys and values.
+ * Spans usually carry just a few tags or baggage items. For such sizes a linear scan
+ * is cheaper than hashing and takes far less memory than a
+ * {@link java.util.concurrent.ConcurrentHashMap}.
+ * <p>
+ * Iteration works on a snapshot taken at the time {@link #entrySet()} is called.
+ * Neither null keys nor null values are supported.
+ *
+ * @since 1.2.1
+ */
+final class ArrayBackedMap<K, V> extends AbstractMap<K, V> {
+
+	private static final int INITIAL_CAPACITY = 4;
+
+	// k0, v0, k1, v1, ...
+	private Object[] entries = new Object[INITIAL_CAPACITY * 2];
+	private int size;
+
+	ArrayBackedMap() {
+	}
+
+	ArrayBackedMap(Map<? extends K, ? extends V> map) {
+		putAll(map);
+	}
+
+	@Override
+	public synchronized V put(K key, V value) {
+		if (key == null || value == null) {
+			throw new NullPointerException("Neither key nor value can be null");
+		}
+		int index = indexOf(key);
+		if (index >= 0) {
+			V previous = value(index);
+			this.entries[index + 1] = value;
+			return previous;
+		}
+		int position = this.size * 2;
+		if (position == this.entries.length) {
+			this.entries = Arrays.copyOf(this.entries, position * 2);
+		}
+		this.entries[position] = key;
+		this.entries[position + 1] = value;
+		this.size++;
+		return null;
+	}
+
+	@Override
+	public synchronized V get(Object key) {
+		int index = indexOf(key);
+		return index >= 0 ? value(index) : null;
+	}
+
+	@Override
+	public synchronized boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public synchronized V remove(Object key) {
+		int index = indexOf(key);
+		if (index < 0) {
+			return null;
+		}
+		V previous = value(index);
+		int last = (this.size - 1) * 2;
+		System.arraycopy(this.entries, index + 2, this.entries, index, last - index);
+		this.entries[last] = null;
+		this.entries[last + 1] = null;
+		this.size--;
+		return previous;
+	}
+
+	@Override
+	public synchronized void clear() {
+		Arrays.fill(this.entries, null);
+		this.size = 0;
+	}
+
+	@Override
+	public synchronized int size() {
+		return this.size;
+	}
+
+	@Override
+	public synchronized boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public synchronized Set<Entry<K, V>> entrySet() {
+		Map<K, V> snapshot = new LinkedHashMap<>(this.size * 2);
+		for (int i = 0; i < this.size * 2; i += 2) {
+			snapshot.put((K) this.entries[i], (V) this.entries[i + 1]);
+		}
+		return snapshot.entrySet();
+	}
+
+	private int indexOf(Object key) {
+		if (key == null) {
+			return -1;
+		}
+		for (int i = 0; i < this.size * 2; i += 2) {
+			if (key.equals(this.entries[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	private V value(int index) {
+		return (V) this.entries[index + 1];
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2013-2016 the original author or authors.
+ * Copyright 2013-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,28 +13,24 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.springframework.cloud.sleuth.annotation;
+
+package org.springframework.cloud.sleuth;
 
 /**
- * A container class that holds information about the parameter
- * of the annotated method argument.
+ * Strategy for generating span and trace IDs. Implementations are called on every
+ * span creation, so they should not contend between threads.
  *
- * @author Christian Schwerdtfeger
- * @since 1.2.0
+ * @since 1.2.1
  */
-class SleuthAnnotatedParameter {
-
-	int parameterIndex;
-
-	SpanTag annotation;
-
-	Object argument;
+public interface IdGenerator {
 
-	SleuthAnnotatedParameter(int parameterIndex, SpanTag annotation,
-			Object argument) {
-		this.parameterIndex = parameterIndex;
-		this.annotation = annotation;
-		this.argument = argument;
-	}
+	/**
+	 * @return a new non-zero ID used as a span ID or the lower 64 bits of a trace ID
+	 */
+	long nextId();
 
+	/**
+	 * @return a new non-zero value for the higher 64 bits of a 128-bit trace ID
+	 */
+	long nextTraceIdHigh();
 }
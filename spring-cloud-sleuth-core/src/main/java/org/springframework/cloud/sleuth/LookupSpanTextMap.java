@@ -0,0 +1,37 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth;
+
+/**
+ * {@link SpanTextMap} that can look up single entries, so that extracting a span
+ * doesn't require copying all the entries of the carrier (e.g. all the HTTP headers).
+ *
+ * @since 1.2.1
+ */
+public interface LookupSpanTextMap extends SpanTextMap {
+
+	/**
+	 * @param key name of the entry, compared ignoring case
+	 * @return value of the entry or {@code null} if there is none
+	 */
+	String get(String key);
+
+	/**
+	 * @return names of all the entries. Used to find entries by prefix, e.g. baggage.
+	 */
+	Iterable<String> keys();
+}
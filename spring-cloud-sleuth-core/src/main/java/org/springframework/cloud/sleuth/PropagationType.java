@@ -0,0 +1,48 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth;
+
+/**
+ * Formats in which the trace context is propagated over HTTP and messaging.
+ *
+ * @since 1.2.1
+ */
+public enum PropagationType {
+
+	/**
+	 * One header per field: trace id, span id, parent id, sampled flag, span name and
+	 * process id.
+	 */
+	B3_MULTI,
+
+	/**
+	 * A single {@code b3} header of the form
+	 * {@code {traceId}-{spanId}-{sampled}-{parentSpanId}}.
+	 */
+	B3_SINGLE,
+
+	/**
+	 * The W3C Trace Context {@code traceparent} header.
+	 */
+	W3C,
+
+	/**
+	 * A single {@code byte[]} header with the ids, the sampled flag and the baggage.
+	 * Only written to messages, HTTP requests ignore it.
+	 */
+	BINARY
+}
@@ -25,9 +25,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
+import org.springframework.cloud.sleuth.util.HexCodec;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -146,21 +145,27 @@ public class Span implements SpanContext {
 	private final String name;
 	private final long traceIdHigh;
 	private final long traceId;
-	private List<Long> parents = new ArrayList<>();
+	private List<Long> parents; // immutable
 	private final long spanId;
 	private boolean remote = false;
 	private boolean exportable = true;
-	private final Map<String, String> tags;
+	// tags, logs and baggage are created on first write, most spans don't have them
+	private volatile Map<String, String> tags;
 	private final String processId;
-	private final Collection<Log> logs;
+	private volatile Collection<Log> logs;
 	private final Span savedSpan;
 	@JsonIgnore
-	private final Map<String,String> baggage;
+	private volatile Map<String,String> baggage;
 
 	// Null means we don't know the start tick, so fallback to time
 	@JsonIgnore
 	private final Long startNanos;
 	private Long durationMicros; // serialized in json so micros precision isn't lost
+	// hex forms of the ids, computed on first use
+	@JsonIgnore
+	private transient String traceIdString;
+	@JsonIgnore
+	private transient String spanIdString;
 
 	@SuppressWarnings("unused")
 	private Span() {
@@ -183,11 +188,11 @@ public class Span implements SpanContext {
 		this.remote = current.isRemote();
 		this.exportable = current.isExportable();
 		this.processId = current.getProcessId();
-		this.tags = current.tags;
-		this.logs = current.logs;
+		this.tags = current.writableTags();
+		this.logs = current.writableLogs();
 		this.startNanos = current.startNanos;
 		this.durationMicros = current.durationMicros;
-		this.baggage = current.baggage;
+		this.baggage = current.writableBaggage();
 		this.savedSpan = savedSpan;
 	}
 
@@ -236,18 +241,31 @@ public class Span implements SpanContext {
 		this.name = builder.name != null ? builder.name : "";
 		this.traceIdHigh = builder.traceIdHigh;
 		this.traceId = builder.traceId;
-		this.parents.addAll(builder.parents);
+		this.parents = immutableParents(builder.parents);
 		this.spanId = builder.spanId;
 		this.remote = builder.remote;
 		this.exportable = builder.exportable;
 		this.processId = builder.processId;
 		this.savedSpan = builder.savedSpan;
-		this.tags = new ConcurrentHashMap<>();
-		this.tags.putAll(builder.tags);
-		this.logs = new ConcurrentLinkedQueue<>();
-		this.logs.addAll(builder.logs);
-		this.baggage = new ConcurrentHashMap<>();
-		this.baggage.putAll(builder.baggage);
+		if (builder.tags != null && !builder.tags.isEmpty()) {
+			this.tags = new ArrayBackedMap<>(builder.tags);
+		}
+		if (builder.logs != null && !builder.logs.isEmpty()) {
+			this.logs = new ArrayBackedCollection<>(builder.logs);
+		}
+		if (builder.baggage != null && !builder.baggage.isEmpty()) {
+			this.baggage = new ArrayBackedMap<>(builder.baggage);
+		}
+	}
+
+	private static List<Long> immutableParents(List<Long> parents) {
+		if (parents == null || parents.isEmpty()) {
+			return Collections.emptyList();
+		}
+		if (parents.size() == 1) {
+			return Collections.singletonList(parents.get(0));
+		}
+		return Collections.unmodifiableList(new ArrayList<>(parents));
 	}
 
 	public static SpanBuilder builder() {
@@ -332,7 +350,7 @@ public class Span implements SpanContext {
 	 */
 	public void tag(String key, String value) {
 		if (StringUtils.hasText(value)) {
-			this.tags.put(key, value);
+			writableTags().put(key, value);
 		}
 	}
 
@@ -348,7 +366,7 @@ public class Span implements SpanContext {
 	 * associated with this span.
 	 */
 	public void logEvent(long timestampMilliseconds, String event) {
-		this.logs.add(new Log(timestampMilliseconds, event));
+		writableLogs().add(new Log(timestampMilliseconds, event));
 	}
 
 	/**
@@ -365,7 +383,7 @@ public class Span implements SpanContext {
 	 * @return this Span instance, for chaining
 	 */
 	public Span setBaggageItem(String key, String value) {
-		this.baggage.put(key, value);
+		writableBaggage().put(key, value);
 		return this;
 	}
 
@@ -373,16 +391,25 @@ public class Span implements SpanContext {
 	 * @return the value of the baggage item identified by the given key, or null if no such item could be found
 	 */
 	public String getBaggageItem(String key) {
-		return this.baggage.get(key);
+		Map<String, String> baggage = this.baggage;
+		return baggage != null ? baggage.get(key) : null;
 	}
 
 	@Override
 	public final Iterable<Map.Entry<String,String>> baggageItems() {
-		return this.baggage.entrySet();
+		Map<String, String> baggage = this.baggage;
+		if (baggage == null) {
+			return Collections.emptySet();
+		}
+		return baggage.entrySet();
 	}
 
 	public final Map<String,String> getBaggage() {
-		return Collections.unmodifiableMap(this.baggage);
+		Map<String, String> baggage = this.baggage;
+		if (baggage == null) {
+			return Collections.emptyMap();
+		}
+		return Collections.unmodifiableMap(baggage);
 	}
 
 	/**
@@ -392,7 +419,11 @@ public class Span implements SpanContext {
 	 * Will never be null.
 	 */
 	public Map<String, String> tags() {
-		return Collections.unmodifiableMap(new LinkedHashMap<>(this.tags));
+		Map<String, String> tags = this.tags;
+		if (tags == null) {
+			return Collections.emptyMap();
+		}
+		return Collections.unmodifiableMap(new LinkedHashMap<>(tags));
 	}
 
 	/**
@@ -402,7 +433,53 @@ public class Span implements SpanContext {
 	 * Will never be null.
 	 */
 	public List<Log> logs() {
-		return Collections.unmodifiableList(new ArrayList<>(this.logs));
+		Collection<Log> logs = this.logs;
+		if (logs == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(new ArrayList<>(logs));
+	}
+
+	private Map<String, String> writableTags() {
+		Map<String, String> tags = this.tags;
+		if (tags == null) {
+			synchronized (this) {
+				tags = this.tags;
+				if (tags == null) {
+					tags = new ArrayBackedMap<>();
+					this.tags = tags;
+				}
+			}
+		}
+		return tags;
+	}
+
+	private Collection<Log> writableLogs() {
+		Collection<Log> logs = this.logs;
+		if (logs == null) {
+			synchronized (this) {
+				logs = this.logs;
+				if (logs == null) {
+					logs = new ArrayBackedCollection<>();
+					this.logs = logs;
+				}
+			}
+		}
+		return logs;
+	}
+
+	private Map<String, String> writableBaggage() {
+		Map<String, String> baggage = this.baggage;
+		if (baggage == null) {
+			synchronized (this) {
+				baggage = this.baggage;
+				if (baggage == null) {
+					baggage = new ArrayBackedMap<>();
+					this.baggage = baggage;
+				}
+			}
+		}
+		return baggage;
 	}
 
 	/**
@@ -481,7 +558,7 @@ public class Span implements SpanContext {
 	 * Returns the parent IDs of the span.
 	 * <p>
 	 * <p>
-	 * The collection will be empty if there are no parents.
+	 * The collection will be empty if there are no parents. It can't be modified.
 	 */
 	public List<Long> getParents() {
 		return this.parents;
@@ -518,20 +595,33 @@ public class Span implements SpanContext {
 	}
 
 	/**
-	 * Returns the 16 or 32 character hex representation of the span's trace ID
+	 * Returns the 16 or 32 character hex representation of the span's trace ID. Computed
+	 * once per span.
 	 *
 	 * @since 1.0.11
 	 */
 	public String traceIdString() {
-		if (this.traceIdHigh != 0) {
-			char[] result = new char[32];
-			writeHexLong(result, 0, this.traceIdHigh);
-			writeHexLong(result, 16, this.traceId);
-			return new String(result);
+		String traceIdString = this.traceIdString;
+		if (traceIdString == null) {
+			traceIdString = HexCodec.toLowerHex(this.traceIdHigh, this.traceId);
+			this.traceIdString = traceIdString;
 		}
-		char[] result = new char[16];
-		writeHexLong(result, 0, this.traceId);
-		return new String(result);
+		return traceIdString;
+	}
+
+	/**
+	 * Returns the 16 character hex representation of the span's ID. Computed once per
+	 * span.
+	 *
+	 * @since 1.2.1
+	 */
+	public String spanIdString() {
+		String spanIdString = this.spanIdString;
+		if (spanIdString == null) {
+			spanIdString = HexCodec.toLowerHex(this.spanId);
+			this.spanIdString = spanIdString;
+		}
+		return spanIdString;
 	}
 
 	/**
@@ -547,44 +637,16 @@ public class Span implements SpanContext {
 	 * @see #traceIdString()
 	 */
 	public static String idToHex(long id) {
-		char[] data = new char[16];
-		writeHexLong(data, 0, id);
-		return new String(data);
-	}
-
-	/** Inspired by {@code okio.Buffer.writeLong} */
-	static void writeHexLong(char[] data, int pos, long v) {
-		writeHexByte(data, pos + 0,  (byte) ((v >>> 56L) & 0xff));
-		writeHexByte(data, pos + 2,  (byte) ((v >>> 48L) & 0xff));
-		writeHexByte(data, pos + 4,  (byte) ((v >>> 40L) & 0xff));
-		writeHexByte(data, pos + 6,  (byte) ((v >>> 32L) & 0xff));
-		writeHexByte(data, pos + 8,  (byte) ((v >>> 24L) & 0xff));
-		writeHexByte(data, pos + 10, (byte) ((v >>> 16L) & 0xff));
-		writeHexByte(data, pos + 12, (byte) ((v >>> 8L) & 0xff));
-		writeHexByte(data, pos + 14, (byte)  (v & 0xff));
-	}
-
-	static void writeHexByte(char[] data, int pos, byte b) {
-		data[pos + 0] = HEX_DIGITS[(b >> 4) & 0xf];
-		data[pos + 1] = HEX_DIGITS[b & 0xf];
+		return HexCodec.toLowerHex(id);
 	}
 
-	static final char[] HEX_DIGITS =
-			{'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
-
 	/**
 	 * Parses a 1 to 32 character lower-hex string with no prefix into an unsigned long, tossing any
 	 * bits higher than 64.
 	 */
 	public static long hexToId(String hexString) {
-		Assert.hasText(hexString, "Can't convert empty hex string to long");
-		int length = hexString.length();
-		if (length < 1 || length > 32) throw new IllegalArgumentException("Malformed id: " + hexString);
-
-		// trim off any high bits
-		int beginIndex = length > 16 ? length - 16 : 0;
-
-		return hexToId(hexString, beginIndex);
+		Assert.hasLength(hexString, "Can't convert empty hex string to long");
+		return HexCodec.lowerHexToUnsignedLong(hexString);
 	}
 
 	/**
@@ -594,25 +656,14 @@ public class Span implements SpanContext {
 	 * @since 1.0.11
 	 */
 	public static long hexToId(String lowerHex, int index) {
-		Assert.hasText(lowerHex, "Can't convert empty hex string to long");
-		long result = 0;
-		for (int endIndex = Math.min(index + 16, lowerHex.length()); index < endIndex; index++) {
-			char c = lowerHex.charAt(index);
-			result <<= 4;
-			if (c >= '0' && c <= '9') {
-				result |= c - '0';
-			} else if (c >= 'a' && c <= 'f') {
-				result |= c - 'a' + 10;
-			} else {
-				throw new IllegalArgumentException("Malformed id: " + lowerHex);
-			}
-		}
-		return result;
+		Assert.hasLength(lowerHex, "Can't convert empty hex string to long");
+		return HexCodec.lowerHexToUnsignedLong(lowerHex, index,
+				Math.min(index + 16, lowerHex.length()));
 	}
 
 	@Override
 	public String toString() {
-		return "[Trace: " + traceIdString() + ", Span: " + idToHex(this.spanId)
+		return "[Trace: " + traceIdString() + ", Span: " + spanIdString()
 				+ ", Parent: " + getParentIdIfPresent() + ", exportable:" + this.exportable + "]";
 	}
 
@@ -653,15 +704,16 @@ public class Span implements SpanContext {
 		private String name;
 		private long traceIdHigh;
 		private long traceId;
-		private ArrayList<Long> parents = new ArrayList<>();
+		// collections are created on first use
+		private List<Long> parents;
 		private long spanId;
 		private boolean remote;
 		private boolean exportable = true;
 		private String processId;
 		private Span savedSpan;
-		private List<Log> logs = new ArrayList<>();
-		private Map<String, String> tags = new LinkedHashMap<>();
-		private Map<String, String> baggage = new LinkedHashMap<>();
+		private List<Log> logs;
+		private Map<String, String> tags;
+		private Map<String, String> baggage;
 
 		SpanBuilder() {
 		}
@@ -699,44 +751,59 @@ public class Span implements SpanContext {
 		}
 
 		public Span.SpanBuilder parent(Long parent) {
+			if (this.parents == null) {
+				this.parents = new ArrayList<>(1);
+			}
 			this.parents.add(parent);
 			return this;
 		}
 
 		public Span.SpanBuilder parents(Collection<Long> parents) {
-			this.parents.clear();
-			this.parents.addAll(parents);
+			this.parents = new ArrayList<>(parents);
 			return this;
 		}
 
 		public Span.SpanBuilder log(Log log) {
+			if (this.logs == null) {
+				this.logs = new ArrayList<>();
+			}
 			this.logs.add(log);
 			return this;
 		}
 
 		public Span.SpanBuilder logs(Collection<Log> logs) {
-			this.logs.clear();
-			this.logs.addAll(logs);
+			this.logs = new ArrayList<>(logs);
 			return this;
 		}
 
 		public Span.SpanBuilder tag(String tagKey, String tagValue) {
+			if (this.tags == null) {
+				this.tags = new LinkedHashMap<>();
+			}
 			this.tags.put(tagKey, tagValue);
 			return this;
 		}
 
 		public Span.SpanBuilder tags(Map<String, String> tags) {
-			this.tags.clear();
-			this.tags.putAll(tags);
+			this.tags = new LinkedHashMap<>(tags);
 			return this;
 		}
 
 		public Span.SpanBuilder baggage(String baggageKey, String baggageValue) {
+			if (this.baggage == null) {
+				this.baggage = new LinkedHashMap<>();
+			}
 			this.baggage.put(baggageKey, baggageValue);
 			return this;
 		}
 
 		public Span.SpanBuilder baggage(Map<String, String> baggage) {
+			if (baggage.isEmpty()) {
+				return this;
+			}
+			if (this.baggage == null) {
+				this.baggage = new LinkedHashMap<>();
+			}
 			this.baggage.putAll(baggage);
 			return this;
 		}
@@ -769,7 +836,7 @@ public class Span implements SpanContext {
 		public Span.SpanBuilder from(Span span) {
 			return begin(span.begin).end(span.end).name(span.name)
 					.traceIdHigh(span.traceIdHigh).traceId(span.traceId)
-					.parents(span.getParents()).logs(span.logs).tags(span.tags)
+					.parents(span.getParents()).logs(span.logs()).tags(span.tags())
 					.spanId(span.spanId).remote(span.remote).exportable(span.exportable)
 					.processId(span.processId).savedSpan(span.savedSpan);
 		}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth;
+
+/**
+ * {@link Sampler} that can take the sampling decision before the span is created, from
+ * the trace id and the name of the span. The tracer then creates a single span that is
+ * already marked as exportable or not, instead of creating a span, asking the sampler
+ * and recreating it when it's not sampled.
+ *
+ * @since 1.2.1
+ */
+public interface TraceIdSampler extends Sampler {
+	/**
+	 * @param traceId the lower 64 bits of the trace id of the span to be created
+	 * @param spanName the name of the span to be created
+	 * @return true if the span should be exported to the tracing system
+	 */
+	boolean isSampled(long traceId, String spanName);
+}
@@ -40,8 +40,8 @@ import java.util.concurrent.Callable;
  * starts a new span.</li>
  * <li>The {@linkplain Tracer#createSpan(String, Span) createSpan} method creates a new span
  * which has this thread's currentSpan as one of its parents</li>
- * <li>The {@linkplain Tracer#continueSpan(Span) continueSpan} method creates a
- * new instance of span that logically is a continuation of the provided span.</li>
+ * <li>The {@linkplain Tracer#continueSpan(Span) continueSpan} method sets the provided
+ * span as the current one without creating a new instance of it.</li>
  * </ul>
  *
  * Closing a TraceScope does a few things:
@@ -87,8 +87,8 @@ public interface Tracer extends SpanAccessor {
 	Span createSpan(String name, Sampler sampler);
 
 	/**
-	 * Contributes to a span started in another thread. The returned span shares
-	 * mutable state with the input.
+	 * Contributes to a span started in another thread. The returned span is the
+	 * input span.
 	 */
 	Span continueSpan(Span span);
 
@@ -16,6 +16,9 @@
 package org.springframework.cloud.sleuth.annotation;
 
 import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -37,15 +40,18 @@ class DefaultSpanCreator implements SpanCreator {
 	private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
 
 	private final Tracer tracer;
+	/**
+	 * Span names per method or annotation name, the same method may be annotated
+	 * differently per implementation
+	 */
+	private final Map<String, String> spanNames = new ConcurrentHashMap<>();
 
 	DefaultSpanCreator(Tracer tracer) {
 		this.tracer = tracer;
 	}
 
 	@Override public Span createSpan(MethodInvocation pjp, NewSpan newSpanAnnotation) {
-		String name = StringUtils.isEmpty(newSpanAnnotation.name()) ?
-				pjp.getMethod().getName() : newSpanAnnotation.name();
-		String changedName = SpanNameUtil.toLowerHyphen(name);
+		String changedName = spanName(pjp.getMethod(), newSpanAnnotation);
 		if (log.isDebugEnabled()) {
 			log.debug("For the class [" + pjp.getThis().getClass() + "] method "
 					+ "[" + pjp.getMethod().getName() + "] will name the span [" + changedName + "]");
@@ -53,6 +59,17 @@ class DefaultSpanCreator implements SpanCreator {
 		return createSpan(changedName);
 	}
 
+	private String spanName(Method method, NewSpan newSpanAnnotation) {
+		String name = StringUtils.isEmpty(newSpanAnnotation.name()) ?
+				method.getName() : newSpanAnnotation.name();
+		String spanName = this.spanNames.get(name);
+		if (spanName == null) {
+			spanName = SpanNameUtil.toLowerHyphen(name);
+			this.spanNames.put(name, spanName);
+		}
+		return spanName;
+	}
+
 	private Span createSpan(String name) {
 		if (this.tracer.isTracing()) {
 			return this.tracer.createSpan(name, this.tracer.getCurrentSpan());
@@ -16,9 +16,10 @@
 
 package org.springframework.cloud.sleuth.annotation;
 
-import java.lang.annotation.Annotation;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.PostConstruct;
 
@@ -32,7 +33,7 @@ import org.springframework.aop.IntroductionInterceptor;
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.support.AbstractPointcutAdvisor;
 import org.springframework.aop.support.AopUtils;
-import org.springframework.aop.support.DynamicMethodMatcherPointcut;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
 import org.springframework.aop.support.annotation.AnnotationClassFilter;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
@@ -40,8 +41,9 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.cloud.sleuth.util.ExceptionUtils;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.annotation.AnnotationUtils;
-import org.springframework.util.ObjectUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -108,95 +110,82 @@ class SleuthAdvisorConfig  extends AbstractPointcutAdvisor implements
 	}
 
 	private Pointcut buildPointcut() {
-		return new AnnotationClassOrMethodOrArgsPointcut();
+		return new AnnotationClassOrMethodPointcut();
 	}
 
 	/**
-	 * Checks if a class or a method is is annotated with Sleuth related annotations
+	 * Checks if a class or a method is is annotated with Sleuth related annotations.
+	 * The match is static, so Spring evaluates it once per method and caches the
+	 * resulting interceptor chain. {@link SpanTag} parameters are only read for
+	 * methods annotated with {@link NewSpan} or {@link ContinueSpan}, so they
+	 * don't need a check against the invocation arguments.
 	 */
-	private final class AnnotationClassOrMethodOrArgsPointcut extends
-			DynamicMethodMatcherPointcut {
-
-		private final DynamicMethodMatcherPointcut methodResolver;
-
-		AnnotationClassOrMethodOrArgsPointcut() {
-			this.methodResolver = new DynamicMethodMatcherPointcut() {
-				@Override public boolean matches(Method method, Class<?> targetClass,
-						Object... args) {
-					if (SleuthAnnotationUtils.isMethodAnnotated(method)) {
-						if (log.isDebugEnabled()) {
-							log.debug("Found a method with Sleuth annotation");
-						}
-						return true;
-					}
-					if (SleuthAnnotationUtils.hasAnnotatedParams(method, args)) {
-						if (log.isDebugEnabled()) {
-							log.debug("Found annotated arguments of the method");
-						}
-						return true;
-					}
-					return false;
-				}
-			};
-		}
-
-		@Override
-		public boolean matches(Method method, Class<?> targetClass, Object... args) {
-			return getClassFilter().matches(targetClass) ||
-					this.methodResolver.matches(method, targetClass, args);
-		}
+	private final class AnnotationClassOrMethodPointcut extends
+			StaticMethodMatcherPointcut {
 
-		@Override public ClassFilter getClassFilter() {
-			return new ClassFilter() {
-				@Override public boolean matches(Class<?> clazz) {
-					return new AnnotationClassOrMethodFilter(NewSpan.class).matches(clazz) ||
-							new AnnotationClassOrMethodFilter(ContinueSpan.class).matches(clazz);
-				}
-			};
+		AnnotationClassOrMethodPointcut() {
+			setClassFilter(new AnnotationClassOrMethodFilter());
 		}
 
 		@Override
-		public boolean equals(Object other) {
-			if (this == other) {
+		public boolean matches(Method method, Class<?> targetClass) {
+			if (SleuthAnnotationUtils.isMethodAnnotated(method)) {
+				if (log.isDebugEnabled()) {
+					log.debug("Found a method with Sleuth annotation");
+				}
 				return true;
 			}
-			if (!(other instanceof AnnotationClassOrMethodOrArgsPointcut)) {
-				return false;
+			Method mostSpecificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+			if (mostSpecificMethod != method &&
+					SleuthAnnotationUtils.isMethodAnnotated(mostSpecificMethod)) {
+				if (log.isDebugEnabled()) {
+					log.debug("Found a method with Sleuth annotation on the target class");
+				}
+				return true;
 			}
-			AnnotationClassOrMethodOrArgsPointcut otherAdvisor = (AnnotationClassOrMethodOrArgsPointcut) other;
-			return ObjectUtils.nullSafeEquals(this.methodResolver, otherAdvisor.methodResolver);
+			return false;
 		}
 
-	}
-
-	private final class AnnotationClassOrMethodFilter extends AnnotationClassFilter {
-
-		private final AnnotationMethodsResolver methodResolver;
-
-		AnnotationClassOrMethodFilter(Class<? extends Annotation> annotationType) {
-			super(annotationType, true);
-			this.methodResolver = new AnnotationMethodsResolver(annotationType);
+		@Override
+		public boolean equals(Object other) {
+			return this == other || other instanceof AnnotationClassOrMethodPointcut;
 		}
 
 		@Override
-		public boolean matches(Class<?> clazz) {
-			return super.matches(clazz) || this.methodResolver.hasAnnotatedMethods(clazz);
+		public int hashCode() {
+			return AnnotationClassOrMethodPointcut.class.hashCode();
 		}
 
 	}
 
 	/**
-	 * Checks if a method is properly annotated with a given Sleuth annotation
+	 * Matches classes that are annotated or have methods annotated with Sleuth
+	 * annotations. The result is memoized per class, since the filter is consulted
+	 * for every bean when creating proxies.
 	 */
-	private static class AnnotationMethodsResolver {
+	private static final class AnnotationClassOrMethodFilter implements ClassFilter {
+
+		private final Map<Class<?>, Boolean> matches = new ConcurrentReferenceHashMap<>();
 
-		private Class<? extends Annotation> annotationType;
+		private final ClassFilter newSpanClassFilter =
+				new AnnotationClassFilter(NewSpan.class, true);
 
-		public AnnotationMethodsResolver(Class<? extends Annotation> annotationType) {
-			this.annotationType = annotationType;
+		private final ClassFilter continueSpanClassFilter =
+				new AnnotationClassFilter(ContinueSpan.class, true);
+
+		@Override
+		public boolean matches(Class<?> clazz) {
+			Boolean matches = this.matches.get(clazz);
+			if (matches == null) {
+				matches = this.newSpanClassFilter.matches(clazz) ||
+						this.continueSpanClassFilter.matches(clazz) ||
+						hasAnnotatedMethods(clazz);
+				this.matches.put(clazz, matches);
+			}
+			return matches;
 		}
 
-		public boolean hasAnnotatedMethods(Class<?> clazz) {
+		private boolean hasAnnotatedMethods(Class<?> clazz) {
 			final AtomicBoolean found = new AtomicBoolean(false);
 			ReflectionUtils.doWithMethods(clazz,
 					new ReflectionUtils.MethodCallback() {
@@ -206,9 +195,10 @@ class SleuthAdvisorConfig  extends AbstractPointcutAdvisor implements
 							if (found.get()) {
 								return;
 							}
-							Annotation annotation = AnnotationUtils.findAnnotation(method,
-									AnnotationMethodsResolver.this.annotationType);
-							if (annotation != null) { found.set(true); }
+							if (AnnotationUtils.findAnnotation(method, NewSpan.class) != null ||
+									AnnotationUtils.findAnnotation(method, ContinueSpan.class) != null) {
+								found.set(true);
+							}
 						}
 					});
 			return found.get();
@@ -225,6 +215,8 @@ class SleuthInterceptor  implements IntroductionInterceptor, BeanFactoryAware  {
 
 	private static final Log logger = LogFactory.getLog(MethodHandles.lookup().lookupClass());
 
+	private final Map<MethodClassKey, SleuthMethodMetadata> metadataCache =
+			new ConcurrentHashMap<>();
 	private BeanFactory beanFactory;
 	private SpanCreator spanCreator;
 	private Tracer tracer;
@@ -236,15 +228,13 @@ class SleuthInterceptor  implements IntroductionInterceptor, BeanFactoryAware  {
 		if (method == null) {
 			return invocation.proceed();
 		}
-		Method mostSpecificMethod = AopUtils
-				.getMostSpecificMethod(method, invocation.getThis().getClass());
-		NewSpan newSpan = SleuthAnnotationUtils.findAnnotation(mostSpecificMethod, NewSpan.class);
-		ContinueSpan continueSpan = SleuthAnnotationUtils.findAnnotation(mostSpecificMethod, ContinueSpan.class);
-		if (newSpan == null && continueSpan == null) {
+		SleuthMethodMetadata metadata = metadata(method, invocation.getThis().getClass());
+		NewSpan newSpan = metadata.newSpan;
+		if (newSpan == null && metadata.continueSpan == null) {
 			return invocation.proceed();
 		}
 		Span span = tracer().getCurrentSpan();
-		String log = log(continueSpan);
+		String log = metadata.log;
 		boolean hasLog = StringUtils.hasText(log);
 		try {
 			if (newSpan != null) {
@@ -253,7 +243,10 @@ class SleuthInterceptor  implements IntroductionInterceptor, BeanFactoryAware  {
 			if (hasLog) {
 				logEvent(span, log + ".before");
 			}
-			spanTagAnnotationHandler().addAnnotatedParameters(invocation);
+			if (metadata.spanTags != null) {
+				spanTagAnnotationHandler().addAnnotatedArguments(metadata.spanTags,
+						invocation.getArguments());
+			}
 			return invocation.proceed();
 		} catch (Exception e) {
 			if (logger.isDebugEnabled()) {
@@ -276,6 +269,24 @@ class SleuthInterceptor  implements IntroductionInterceptor, BeanFactoryAware  {
 		}
 	}
 
+	/**
+	 * Resolves the annotations of the method once per method and target class
+	 */
+	private SleuthMethodMetadata metadata(Method method, Class<?> targetClass) {
+		MethodClassKey key = new MethodClassKey(method, targetClass);
+		SleuthMethodMetadata metadata = this.metadataCache.get(key);
+		if (metadata == null) {
+			Method mostSpecificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+			NewSpan newSpan = SleuthAnnotationUtils.findAnnotation(mostSpecificMethod, NewSpan.class);
+			ContinueSpan continueSpan = SleuthAnnotationUtils.findAnnotation(mostSpecificMethod, ContinueSpan.class);
+			SpanTag[] spanTags = newSpan != null || continueSpan != null ?
+					SpanTagAnnotationHandler.findSpanTags(method, mostSpecificMethod, targetClass) : null;
+			metadata = new SleuthMethodMetadata(newSpan, continueSpan, spanTags);
+			this.metadataCache.put(key, metadata);
+		}
+		return metadata;
+	}
+
 	private void logEvent(Span span, String name) {
 		if (span == null) {
 			logger.warn("You were trying to continue a span which was null. Please "
@@ -286,13 +297,6 @@ class SleuthInterceptor  implements IntroductionInterceptor, BeanFactoryAware  {
 		span.logEvent(name);
 	}
 
-	private String log(ContinueSpan continueSpan) {
-		if (continueSpan != null) {
-			return continueSpan.log();
-		}
-		return "";
-	}
-
 	private Tracer tracer() {
 		if (this.tracer == null) {
 			this.tracer = this.beanFactory.getBean(Tracer.class);
@@ -321,4 +325,25 @@ class SleuthInterceptor  implements IntroductionInterceptor, BeanFactoryAware  {
 	@Override public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
 		this.beanFactory = beanFactory;
 	}
+
+	/**
+	 * Sleuth annotations of a method, resolved once
+	 */
+	private static class SleuthMethodMetadata {
+
+		final NewSpan newSpan;
+		final ContinueSpan continueSpan;
+		final String log;
+		/**
+		 * {@link SpanTag} per parameter index or {@code null} if no parameter is tagged
+		 */
+		final SpanTag[] spanTags;
+
+		SleuthMethodMetadata(NewSpan newSpan, ContinueSpan continueSpan, SpanTag[] spanTags) {
+			this.newSpan = newSpan;
+			this.continueSpan = continueSpan;
+			this.log = continueSpan != null ? continueSpan.log() : "";
+			this.spanTags = spanTags;
+		}
+	}
 }
@@ -15,8 +15,10 @@
  */
 package org.springframework.cloud.sleuth.annotation;
 
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -50,8 +52,11 @@ public class SleuthAnnotationAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
-	TagValueExpressionResolver spelTagValueExpressionResolver() {
-		return new SpelTagValueExpressionResolver();
+	TagValueExpressionResolver spelTagValueExpressionResolver(
+			SleuthAnnotationProperties sleuthAnnotationProperties) {
+		return new SpelTagValueExpressionResolver(
+				sleuthAnnotationProperties.getSpel().getCacheSize(),
+				sleuthAnnotationProperties.getSpel().getCompilerMode());
 	}
 
 	@Bean
@@ -64,5 +69,16 @@ public class SleuthAnnotationAutoConfiguration {
 	SleuthAdvisorConfig sleuthAdvisorConfig() {
 		return new SleuthAdvisorConfig();
 	}
+
+	@Configuration
+	@ConditionalOnClass(PublicMetrics.class)
+	protected static class SpelMetricsConfig {
+
+		@Bean
+		PublicMetrics spelTagValueExpressionResolverPublicMetrics(
+				TagValueExpressionResolver tagValueExpressionResolver) {
+			return new SpelTagValueExpressionResolverPublicMetrics(tagValueExpressionResolver);
+		}
+	}
 	
 }
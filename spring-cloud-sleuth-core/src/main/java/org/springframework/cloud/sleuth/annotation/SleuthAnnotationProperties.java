@@ -17,6 +17,7 @@
 package org.springframework.cloud.sleuth.annotation;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.expression.spel.SpelCompilerMode;
 
 /**
  * Sleuth annotation settings
@@ -29,6 +30,8 @@ public class SleuthAnnotationProperties {
 
 	private boolean enabled = true;
 
+	private Spel spel = new Spel();
+
 	public boolean isEnabled() {
 		return this.enabled;
 	}
@@ -36,4 +39,48 @@ public class SleuthAnnotationProperties {
 	public void setEnabled(boolean enabled) {
 		this.enabled = enabled;
 	}
+
+	public Spel getSpel() {
+		return this.spel;
+	}
+
+	public void setSpel(Spel spel) {
+		this.spel = spel;
+	}
+
+	/**
+	 * Settings of the SPEL expressions passed to {@link SpanTag#expression()}
+	 */
+	public static class Spel {
+
+		/**
+		 * Maximum number of parsed expressions kept in memory. The least recently used
+		 * ones are evicted first.
+		 */
+		private int cacheSize = SpelTagValueExpressionResolver.DEFAULT_CACHE_SIZE;
+
+		/**
+		 * SPEL compiler mode. With {@code IMMEDIATE} or {@code MIXED} expressions
+		 * are compiled to bytecode after they have been interpreted once. Compiled
+		 * expressions are cached per parameter type, each type counting against the
+		 * cache size.
+		 */
+		private SpelCompilerMode compilerMode = SpelCompilerMode.OFF;
+
+		public int getCacheSize() {
+			return this.cacheSize;
+		}
+
+		public void setCacheSize(int cacheSize) {
+			this.cacheSize = cacheSize;
+		}
+
+		public SpelCompilerMode getCompilerMode() {
+			return this.compilerMode;
+		}
+
+		public void setCompilerMode(SpelCompilerMode compilerMode) {
+			this.compilerMode = compilerMode;
+		}
+	}
 }
@@ -19,8 +19,6 @@ package org.springframework.cloud.sleuth.annotation;
 import java.lang.annotation.Annotation;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -42,25 +40,6 @@ class SleuthAnnotationUtils {
 				findAnnotation(method, ContinueSpan.class) != null;
 	}
 
-	static boolean hasAnnotatedParams(Method method, Object[] args) {
-		return !findAnnotatedParameters(method, args).isEmpty();
-	}
-
-	static List<SleuthAnnotatedParameter> findAnnotatedParameters(Method method, Object[] args) {
-		Annotation[][] parameters = method.getParameterAnnotations();
-		List<SleuthAnnotatedParameter> result = new ArrayList<>();
-		int i = 0;
-		for (Annotation[] parameter : parameters) {
-			for (Annotation parameter2 : parameter) {
-				if (parameter2 instanceof SpanTag) {
-					result.add(new SleuthAnnotatedParameter(i, (SpanTag) parameter2, args[i]));
-				}
-			}
-			i++;
-		}
-		return result;
-	}
-
 	/**
 	 * Searches for an annotation either on a method or inside the method parameters
 	 */
@@ -16,15 +16,12 @@
 
 package org.springframework.cloud.sleuth.annotation;
 
-import java.lang.invoke.MethodHandles;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.aopalliance.intercept.MethodInvocation;
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
-import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.util.StringUtils;
@@ -36,92 +33,81 @@ import org.springframework.util.StringUtils;
  * of finding both of them and merging into one set of tracing information.
  *
  * This information is then used to add proper tags to the span from the
- * method arguments that are annotated with {@link SpanTag}.
+ * method arguments that are annotated with {@link SpanTag}. The annotations are
+ * resolved once per method by the caller, the resolvers once per type.
  *
  * @author Christian Schwerdtfeger
  * @since 1.2.0
  */
 class SpanTagAnnotationHandler {
 
-	private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
-
 	private final BeanFactory beanFactory;
+	private final Map<Class<? extends TagValueResolver>, TagValueResolver> tagValueResolvers =
+			new ConcurrentHashMap<>();
+	private TagValueExpressionResolver tagValueExpressionResolver;
 	private Tracer tracer;
 	
 	SpanTagAnnotationHandler(BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
 	}
 
-	void addAnnotatedParameters(MethodInvocation pjp) {
-		try {
-			Method method = pjp.getMethod();
-			Method mostSpecificMethod = AopUtils.getMostSpecificMethod(method,
-					pjp.getThis().getClass());
-			List<SleuthAnnotatedParameter> annotatedParameters =
-					SleuthAnnotationUtils.findAnnotatedParameters(mostSpecificMethod, pjp.getArguments());
-			getAnnotationsFromInterfaces(pjp, mostSpecificMethod, annotatedParameters);
-			mergeAnnotatedMethodsIfNecessary(pjp, method, mostSpecificMethod,
-					annotatedParameters);
-			addAnnotatedArguments(annotatedParameters);
-		} catch (SecurityException e) {
-			log.error("Exception occurred while trying to add annotated parameters", e);
-		}
-	}
-
-	private void getAnnotationsFromInterfaces(MethodInvocation pjp,
-			Method mostSpecificMethod,
-			List<SleuthAnnotatedParameter> annotatedParameters) {
-		Class<?>[] implementedInterfaces = pjp.getThis().getClass().getInterfaces();
-		if (implementedInterfaces.length > 0) {
-			for (Class<?> implementedInterface : implementedInterfaces) {
-				for (Method methodFromInterface : implementedInterface.getMethods()) {
-					if (methodsAreTheSame(mostSpecificMethod, methodFromInterface)) {
-						List<SleuthAnnotatedParameter> annotatedParametersForActualMethod =
-								SleuthAnnotationUtils.findAnnotatedParameters(methodFromInterface, pjp.getArguments());
-						mergeAnnotatedParameters(annotatedParameters, annotatedParametersForActualMethod);
-					}
+	/**
+	 * Finds the {@link SpanTag} annotated parameters of the method, its most specific
+	 * implementation and the matching methods of the interfaces implemented by the target
+	 * class. The first annotation found for a parameter wins.
+	 *
+	 * @return the annotation per parameter index or {@code null} if no parameter is
+	 * annotated
+	 */
+	static SpanTag[] findSpanTags(Method method, Method mostSpecificMethod,
+			Class<?> targetClass) {
+		SpanTag[] spanTags = new SpanTag[method.getParameterTypes().length];
+		boolean found = addSpanTags(spanTags, mostSpecificMethod);
+		for (Class<?> implementedInterface : targetClass.getInterfaces()) {
+			for (Method methodFromInterface : implementedInterface.getMethods()) {
+				if (methodsAreTheSame(mostSpecificMethod, methodFromInterface)) {
+					found |= addSpanTags(spanTags, methodFromInterface);
 				}
 			}
 		}
-	}
-
-	private boolean methodsAreTheSame(Method mostSpecificMethod, Method method1) {
-		return method1.getName().equals(mostSpecificMethod.getName()) &&
-				Arrays.equals(method1.getParameterTypes(), mostSpecificMethod.getParameterTypes());
-	}
-
-	private void mergeAnnotatedMethodsIfNecessary(MethodInvocation pjp, Method method,
-			Method mostSpecificMethod, List<SleuthAnnotatedParameter> annotatedParameters) {
 		// that can happen if we have an abstraction and a concrete class that is
 		// annotated with @NewSpan annotation
 		if (!method.equals(mostSpecificMethod)) {
-			List<SleuthAnnotatedParameter> annotatedParametersForActualMethod = SleuthAnnotationUtils.findAnnotatedParameters(
-					method, pjp.getArguments());
-			mergeAnnotatedParameters(annotatedParameters, annotatedParametersForActualMethod);
+			found |= addSpanTags(spanTags, method);
 		}
+		return found ? spanTags : null;
 	}
 
-	private void mergeAnnotatedParameters(List<SleuthAnnotatedParameter> annotatedParametersIndices,
-			List<SleuthAnnotatedParameter> annotatedParametersIndicesForActualMethod) {
-		for (SleuthAnnotatedParameter container : annotatedParametersIndicesForActualMethod) {
-			final int index = container.parameterIndex;
-			boolean parameterContained = false;
-			for (SleuthAnnotatedParameter parameterContainer : annotatedParametersIndices) {
-				if (parameterContainer.parameterIndex == index) {
-					parameterContained = true;
-					break;
+	private static boolean addSpanTags(SpanTag[] spanTags, Method method) {
+		boolean found = false;
+		Annotation[][] parameters = method.getParameterAnnotations();
+		for (int i = 0; i < parameters.length && i < spanTags.length; i++) {
+			for (Annotation annotation : parameters[i]) {
+				if (annotation instanceof SpanTag && spanTags[i] == null) {
+					spanTags[i] = (SpanTag) annotation;
+					found = true;
 				}
 			}
-			if (!parameterContained) {
-				annotatedParametersIndices.add(container);
-			}
 		}
+		return found;
 	}
 
-	private void addAnnotatedArguments(List<SleuthAnnotatedParameter> toBeAdded) {
-		for (SleuthAnnotatedParameter container : toBeAdded) {
-			String tagValue = resolveTagValue(container.annotation, container.argument);
-			tracer().addTag(container.annotation.value(), tagValue);
+	private static boolean methodsAreTheSame(Method mostSpecificMethod, Method method1) {
+		return method1.getName().equals(mostSpecificMethod.getName()) &&
+				Arrays.equals(method1.getParameterTypes(), mostSpecificMethod.getParameterTypes());
+	}
+
+	/**
+	 * Tags the current span with the arguments that have a {@link SpanTag} annotation
+	 * at the same index
+	 */
+	void addAnnotatedArguments(SpanTag[] spanTags, Object[] arguments) {
+		for (int i = 0; i < spanTags.length; i++) {
+			SpanTag spanTag = spanTags[i];
+			if (spanTag != null) {
+				String tagValue = resolveTagValue(spanTag, arguments[i]);
+				tracer().addTag(spanTag.value(), tagValue);
+			}
 		}
 	}
 
@@ -130,15 +116,30 @@ class SpanTagAnnotationHandler {
 			return "";
 		}
 		if (annotation.resolver() != NoOpTagValueResolver.class) {
-			TagValueResolver tagValueResolver = this.beanFactory.getBean(annotation.resolver());
-			return tagValueResolver.resolve(argument);
+			return tagValueResolver(annotation.resolver()).resolve(argument);
 		} else if (StringUtils.hasText(annotation.expression())) {
-			return this.beanFactory.getBean(TagValueExpressionResolver.class)
-					.resolve(annotation.expression(), argument);
+			return tagValueExpressionResolver().resolve(annotation.expression(), argument);
 		}
 		return argument.toString();
 	}
 
+	private TagValueResolver tagValueResolver(Class<? extends TagValueResolver> type) {
+		TagValueResolver resolver = this.tagValueResolvers.get(type);
+		if (resolver == null) {
+			resolver = this.beanFactory.getBean(type);
+			this.tagValueResolvers.put(type, resolver);
+		}
+		return resolver;
+	}
+
+	private TagValueExpressionResolver tagValueExpressionResolver() {
+		if (this.tagValueExpressionResolver == null) {
+			this.tagValueExpressionResolver = this.beanFactory
+					.getBean(TagValueExpressionResolver.class);
+		}
+		return this.tagValueExpressionResolver;
+	}
+
 	private Tracer tracer() {
 		if (this.tracer == null) {
 			this.tracer = this.beanFactory.getBean(Tracer.class);
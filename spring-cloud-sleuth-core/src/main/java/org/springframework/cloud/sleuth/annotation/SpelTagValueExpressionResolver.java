@@ -17,32 +17,131 @@
 package org.springframework.cloud.sleuth.annotation;
 
 import java.lang.invoke.MethodHandles;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 /**
  * Uses SPEL to evaluate the expression. If an exception is thrown will return
  * the {@code toString()} of the parameter.
  *
+ * Parsed expressions are cached by their text. Once the cache is full, the least
+ * recently used expression is evicted. When the SPEL compiler is on, the expressions
+ * are cached per parameter type too, since a compiled expression only works with the
+ * types it was compiled for. Each expression and type pair counts against the cache
+ * size.
+ *
  * @author Marcin Grzejszczak
  * @since 1.2.0
  */
 class SpelTagValueExpressionResolver implements TagValueExpressionResolver {
 	private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
 
+	static final int DEFAULT_CACHE_SIZE = 256;
+
+	private final ExpressionParser expressionParser;
+	private final Map<Object, Expression> expressions;
+	private final boolean compiled;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	SpelTagValueExpressionResolver() {
+		this(DEFAULT_CACHE_SIZE, SpelCompilerMode.OFF);
+	}
+
+	SpelTagValueExpressionResolver(int cacheSize, SpelCompilerMode compilerMode) {
+		this.expressions = Collections.synchronizedMap(lruCache(cacheSize));
+		this.compiled = compilerMode != SpelCompilerMode.OFF;
+		this.expressionParser = new SpelExpressionParser(new SpelParserConfiguration(
+				compilerMode, getClass().getClassLoader()));
+	}
+
 	@Override
 	public String resolve(String expression, Object parameter) {
 		try {
-			ExpressionParser expressionParser = new SpelExpressionParser();
-			Expression expressionToEvaluate = expressionParser.parseExpression(expression);
+			Expression expressionToEvaluate = expression(expression, parameter);
 			return expressionToEvaluate.getValue(parameter, String.class);
 		} catch (Exception e) {
 			log.error("Exception occurred while tying to evaluate the SPEL expression [" + expression + "]", e);
 		}
 		return parameter.toString();
 	}
+
+	private Expression expression(String expression, Object parameter) {
+		Object key = cacheKey(expression, parameter);
+		Expression parsed = this.expressions.get(key);
+		if (parsed != null) {
+			this.hits.incrementAndGet();
+			return parsed;
+		}
+		this.misses.incrementAndGet();
+		parsed = this.expressionParser.parseExpression(expression);
+		this.expressions.put(key, parsed);
+		return parsed;
+	}
+
+	private Object cacheKey(String expression, Object parameter) {
+		if (!this.compiled) {
+			return expression;
+		}
+		return new CompiledExpressionKey(expression,
+				parameter != null ? parameter.getClass() : Void.class);
+	}
+
+	@SuppressWarnings("serial")
+	private static Map<Object, Expression> lruCache(final int cacheSize) {
+		return new LinkedHashMap<Object, Expression>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Expression> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	long getCacheHits() {
+		return this.hits.get();
+	}
+
+	long getCacheMisses() {
+		return this.misses.get();
+	}
+
+	/**
+	 * Key of an expression compiled for the given parameter type
+	 */
+	private static final class CompiledExpressionKey {
+		private final String expression;
+		private final Class<?> type;
+
+		CompiledExpressionKey(String expression, Class<?> type) {
+			this.expression = expression;
+			this.type = type;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof CompiledExpressionKey)) {
+				return false;
+			}
+			CompiledExpressionKey that = (CompiledExpressionKey) o;
+			return this.expression.equals(that.expression) && this.type == that.type;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.expression.hashCode() + this.type.hashCode();
+		}
+	}
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.annotation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * Exposes the hits and misses of the cache of parsed {@link SpanTag#expression()}
+ * expressions.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+class SpelTagValueExpressionResolverPublicMetrics implements PublicMetrics {
+
+	static final String HITS_METRIC_NAME = "counter.sleuth.annotation.spel.cache.hit";
+	static final String MISSES_METRIC_NAME = "counter.sleuth.annotation.spel.cache.miss";
+
+	private final TagValueExpressionResolver resolver;
+
+	SpelTagValueExpressionResolverPublicMetrics(TagValueExpressionResolver resolver) {
+		this.resolver = resolver;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		if (!(this.resolver instanceof SpelTagValueExpressionResolver)) {
+			return Collections.emptyList();
+		}
+		SpelTagValueExpressionResolver spelResolver = (SpelTagValueExpressionResolver) this.resolver;
+		List<Metric<?>> metrics = new ArrayList<>(2);
+		metrics.add(new Metric<Long>(HITS_METRIC_NAME, spelResolver.getCacheHits()));
+		metrics.add(new Metric<Long>(MISSES_METRIC_NAME, spelResolver.getCacheMisses()));
+		return metrics;
+	}
+}
@@ -16,7 +16,12 @@
 
 package org.springframework.cloud.sleuth.autoconfig;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.sleuth.PropagationType;
 
 /**
  * Sleuth settings
@@ -29,6 +34,23 @@ public class SleuthProperties {
 	private boolean enabled = true;
 	/** When true, generate 128-bit trace IDs instead of 64-bit ones. */
 	private boolean traceId128 = false;
+	/**
+	 * When true, the higher bits of 128-bit trace IDs start with the epoch seconds
+	 * instead of being fully random.
+	 */
+	private boolean traceId128TimePrefixed = false;
+	/**
+	 * Where the current span is kept. Use INHERITABLE_THREAD_LOCAL to pass it to threads
+	 * created directly and VIRTUAL_THREAD when running on a large number of short lived
+	 * threads.
+	 */
+	private ContextStorage contextStorage = ContextStorage.THREAD_LOCAL;
+	/**
+	 * Formats in which the trace context is written to outgoing HTTP requests and
+	 * messages. Incoming requests and messages are read in any of the formats.
+	 */
+	private List<PropagationType> propagationType = new ArrayList<>(
+			Collections.singletonList(PropagationType.B3_MULTI));
 
 	public boolean isEnabled() {
 		return this.enabled;
@@ -45,4 +67,32 @@ public class SleuthProperties {
 	public void setTraceId128(boolean traceId128) {
 		this.traceId128 = traceId128;
 	}
+
+	public boolean isTraceId128TimePrefixed() {
+		return this.traceId128TimePrefixed;
+	}
+
+	public void setTraceId128TimePrefixed(boolean traceId128TimePrefixed) {
+		this.traceId128TimePrefixed = traceId128TimePrefixed;
+	}
+
+	public ContextStorage getContextStorage() {
+		return this.contextStorage;
+	}
+
+	public void setContextStorage(ContextStorage contextStorage) {
+		this.contextStorage = contextStorage;
+	}
+
+	public List<PropagationType> getPropagationType() {
+		return this.propagationType;
+	}
+
+	public void setPropagationType(List<PropagationType> propagationType) {
+		this.propagationType = propagationType;
+	}
+
+	public enum ContextStorage {
+		THREAD_LOCAL, INHERITABLE_THREAD_LOCAL, VIRTUAL_THREAD
+	}
 }
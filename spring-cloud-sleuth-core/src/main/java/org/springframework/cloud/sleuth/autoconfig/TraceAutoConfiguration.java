@@ -23,6 +23,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.sleuth.DefaultSpanNamer;
+import org.springframework.cloud.sleuth.IdGenerator;
 import org.springframework.cloud.sleuth.NoOpSpanAdjuster;
 import org.springframework.cloud.sleuth.NoOpSpanReporter;
 import org.springframework.cloud.sleuth.Sampler;
@@ -32,8 +33,16 @@ import org.springframework.cloud.sleuth.SpanReporter;
 import org.springframework.cloud.sleuth.TraceKeys;
 import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.cloud.sleuth.log.SpanLogger;
+import org.springframework.cloud.sleuth.metric.RedMetricsSpanReporter;
+import org.springframework.cloud.sleuth.metric.SpanRedMetrics;
 import org.springframework.cloud.sleuth.sampler.NeverSampler;
 import org.springframework.cloud.sleuth.trace.DefaultTracer;
+import org.springframework.cloud.sleuth.trace.InheritableThreadLocalSpanContextStorage;
+import org.springframework.cloud.sleuth.trace.SpanContextStorage;
+import org.springframework.cloud.sleuth.trace.ThreadLocalSpanContextStorage;
+import org.springframework.cloud.sleuth.trace.VirtualThreadSpanContextStorage;
+import org.springframework.cloud.sleuth.util.RandomIdGenerator;
+import org.springframework.cloud.sleuth.util.TimePrefixedIdGenerator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -51,11 +60,42 @@ import org.springframework.context.annotation.Configuration;
 public class TraceAutoConfiguration {
 	@Autowired
 	SleuthProperties properties;
+	@Autowired(required = false)
+	SpanRedMetrics spanRedMetrics;
 
+	/**
+	 * The default {@link Random} isn't used for generating IDs, the {@link IdGenerator}
+	 * uses the {@link java.util.concurrent.ThreadLocalRandom} instead. If you register
+	 * your own {@link Random} (e.g. a {@link java.security.SecureRandom}) and no
+	 * {@link IdGenerator}, then your {@link Random} is the source of IDs.
+	 */
 	@Bean
 	@ConditionalOnMissingBean
 	public Random randomForSpanIds() {
-		return new Random();
+		return new DefaultRandom();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public IdGenerator sleuthIdGenerator(Random random) {
+		Random source = random instanceof DefaultRandom ? null : random;
+		if (this.properties.isTraceId128TimePrefixed()) {
+			return new TimePrefixedIdGenerator(source);
+		}
+		return new RandomIdGenerator(source);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public SpanContextStorage sleuthSpanContextStorage() {
+		switch (this.properties.getContextStorage()) {
+		case INHERITABLE_THREAD_LOCAL:
+			return new InheritableThreadLocalSpanContextStorage();
+		case VIRTUAL_THREAD:
+			return new VirtualThreadSpanContextStorage();
+		default:
+			return new ThreadLocalSpanContextStorage();
+		}
 	}
 
 	@Bean
@@ -64,13 +104,27 @@ public class TraceAutoConfiguration {
 		return NeverSampler.INSTANCE;
 	}
 
+	/**
+	 * The RED metrics are recorded by the {@link RedMetricsSpanReporter} the spans are
+	 * passed through here. If you register your own {@link Tracer}, wrap its
+	 * {@link SpanReporter} and pass the {@link RedMetricsSpanReporter#recordedTags(TraceKeys)}
+	 * to it yourself, otherwise no RED metrics are recorded.
+	 */
 	@Bean
 	@ConditionalOnMissingBean(Tracer.class)
-	public DefaultTracer sleuthTracer(Sampler sampler, Random random,
+	public DefaultTracer sleuthTracer(Sampler sampler, IdGenerator idGenerator,
 			SpanNamer spanNamer, SpanLogger spanLogger,
-			SpanReporter spanReporter, TraceKeys traceKeys) {
-		return new DefaultTracer(sampler, random, spanNamer, spanLogger,
-				spanReporter, this.properties.isTraceId128(), traceKeys);
+			SpanReporter spanReporter, TraceKeys traceKeys,
+			SpanContextStorage spanContextStorage) {
+		if (this.spanRedMetrics == null) {
+			return new DefaultTracer(sampler, idGenerator, spanNamer, spanLogger,
+					spanReporter, this.properties.isTraceId128(), traceKeys,
+					spanContextStorage);
+		}
+		return new DefaultTracer(sampler, idGenerator, spanNamer, spanLogger,
+				new RedMetricsSpanReporter(spanReporter, this.spanRedMetrics, traceKeys),
+				this.properties.isTraceId128(), traceKeys, spanContextStorage,
+				RedMetricsSpanReporter.recordedTags(traceKeys));
 	}
 
 	@Bean
@@ -91,4 +145,12 @@ public class TraceAutoConfiguration {
 		return new NoOpSpanAdjuster();
 	}
 
+	/**
+	 * The {@link Random} registered by Sleuth, so that it can be told apart from one
+	 * registered by the user.
+	 */
+	@SuppressWarnings("serial")
+	static class DefaultRandom extends Random {
+	}
+
 }
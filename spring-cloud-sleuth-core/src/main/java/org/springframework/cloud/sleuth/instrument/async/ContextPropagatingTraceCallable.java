@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.instrument.async;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.SpanNamer;
+import org.springframework.cloud.sleuth.TraceCallable;
+import org.springframework.cloud.sleuth.TraceKeys;
+import org.springframework.cloud.sleuth.Tracer;
+
+/**
+ * Callable that only continues the span that was current when the task got
+ * submitted, without creating a span for the task itself. If the task takes at least
+ * {@code slowTaskThreshold} milliseconds a local component span covering its
+ * execution is reported afterwards.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+public class ContextPropagatingTraceCallable<V> extends TraceCallable<V> {
+
+	private final TraceKeys traceKeys;
+	private final long slowTaskThreshold;
+
+	public ContextPropagatingTraceCallable(Tracer tracer, TraceKeys traceKeys,
+			SpanNamer spanNamer, String name, Callable<V> delegate, long slowTaskThreshold) {
+		super(tracer, spanNamer, delegate, name);
+		this.traceKeys = traceKeys;
+		this.slowTaskThreshold = slowTaskThreshold;
+	}
+
+	@Override
+	public V call() throws Exception {
+		long begin = System.currentTimeMillis();
+		Span span = continueSpan(getParent());
+		try {
+			return this.getDelegate().call();
+		}
+		finally {
+			if (this.slowTaskThreshold >= 0 &&
+					System.currentTimeMillis() - begin >= this.slowTaskThreshold) {
+				reportSlowTask(begin);
+			}
+			if (span != null) {
+				detachSpan(span);
+			}
+		}
+	}
+
+	private void reportSlowTask(long begin) {
+		Span span = getTracer().createSpan(getSpanName(), getParent());
+		getTracer().close(span.toBuilder().begin(begin)
+				.tag(Span.SPAN_LOCAL_COMPONENT_TAG_NAME, LocalComponentTraceCallable.ASYNC_COMPONENT)
+				.tag(this.traceKeys.getAsync().getPrefix() + this.traceKeys.getAsync()
+						.getThreadNameKey(), Thread.currentThread().getName())
+				.build());
+	}
+}
@@ -62,7 +62,7 @@ class ExecutorBeanPostProcessor implements BeanPostProcessor {
 			Executor executor = (Executor) bean;
 			ProxyFactoryBean factory = new ProxyFactoryBean();
 			factory.setProxyTargetClass(cglibProxy);
-			factory.addAdvice(new ExecutorMethodInterceptor(executor, this.beanFactory));
+			factory.addAdvice(new ExecutorMethodInterceptor(executor, this.beanFactory, beanName));
 			factory.setTarget(bean);
 			return factory.getObject();
 		}
@@ -70,29 +70,33 @@ class ExecutorBeanPostProcessor implements BeanPostProcessor {
 	}
 }
 
+/**
+ * Routes {@link Executor#execute(Runnable)} to a {@link LazyTraceExecutor} created once
+ * per bean. {@link LazyTraceExecutor} implements no other method, so all remaining
+ * calls go straight to the target.
+ */
 class ExecutorMethodInterceptor implements MethodInterceptor {
 
-	private final Executor delegate;
-	private final BeanFactory beanFactory;
+	private final LazyTraceExecutor executor;
 
-	ExecutorMethodInterceptor(Executor delegate, BeanFactory beanFactory) {
-		this.delegate = delegate;
-		this.beanFactory = beanFactory;
+	ExecutorMethodInterceptor(Executor delegate, BeanFactory beanFactory, String beanName) {
+		this.executor = new LazyTraceExecutor(beanFactory, delegate, beanName);
 	}
 
 	@Override public Object invoke(MethodInvocation invocation)
 			throws Throwable {
-		LazyTraceExecutor executor = new LazyTraceExecutor(this.beanFactory, this.delegate);
-		Method methodOnTracedBean = getMethod(invocation, executor);
-		if (methodOnTracedBean != null) {
-			return methodOnTracedBean.invoke(executor, invocation.getArguments());
+		if (isExecute(invocation.getMethod())) {
+			this.executor.execute((Runnable) invocation.getArguments()[0]);
+			return null;
 		}
 		return invocation.proceed();
 	}
 
-	private Method getMethod(MethodInvocation invocation, Object object) {
-		Method method = invocation.getMethod();
-		return ReflectionUtils
-				.findMethod(object.getClass(), method.getName(), method.getParameterTypes());
+	private boolean isExecute(Method method) {
+		if (!"execute".equals(method.getName())) {
+			return false;
+		}
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		return parameterTypes.length == 1 && parameterTypes[0] == Runnable.class;
 	}
 }
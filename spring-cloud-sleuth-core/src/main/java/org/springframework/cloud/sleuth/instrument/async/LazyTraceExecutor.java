@@ -27,6 +27,7 @@ import org.springframework.cloud.sleuth.DefaultSpanNamer;
 import org.springframework.cloud.sleuth.SpanNamer;
 import org.springframework.cloud.sleuth.TraceKeys;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.metric.ExecutorQueueWaitMetrics;
 
 /**
  * {@link Executor} that wraps {@link Runnable} in a
@@ -40,15 +41,35 @@ public class LazyTraceExecutor implements Executor {
 
 	private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
 
+	/**
+	 * Name of the queue wait metrics of executors without a bean name, like the one
+	 * running {@code @Async} methods
+	 */
+	private static final String DEFAULT_EXECUTOR_NAME = "async";
+
 	private Tracer tracer;
 	private final BeanFactory beanFactory;
 	private final Executor delegate;
+	private final String beanName;
 	private TraceKeys traceKeys;
 	private SpanNamer spanNamer;
+	private SleuthAsyncProperties asyncProperties;
+	private ExecutorQueueWaitMetrics queueWaitMetrics;
+	private boolean queueWaitMetricsResolved;
 
 	public LazyTraceExecutor(BeanFactory beanFactory, Executor delegate) {
+		this(beanFactory, delegate, null);
+	}
+
+	/**
+	 * @param beanName name of the delegate bean, used to check whether its tasks
+	 * should only propagate the current span and to name its queue wait metrics
+	 * @since 1.2.1
+	 */
+	public LazyTraceExecutor(BeanFactory beanFactory, Executor delegate, String beanName) {
 		this.beanFactory = beanFactory;
 		this.delegate = delegate;
+		this.beanName = beanName;
 	}
 
 	@Override
@@ -62,7 +83,21 @@ public class LazyTraceExecutor implements Executor {
 				return;
 			}
 		}
-		this.delegate.execute(new SpanContinuingTraceRunnable(this.tracer, traceKeys(), spanNamer(), command));
+		SleuthAsyncProperties asyncProperties = asyncProperties();
+		Runnable traceRunnable = asyncProperties.isContextOnly(this.beanName) ?
+				new ContextPropagatingTraceRunnable(this.tracer, traceKeys(), spanNamer(),
+						command, null, asyncProperties.getSlowTaskThreshold()) :
+				new SpanContinuingTraceRunnable(this.tracer, traceKeys(), spanNamer(), command);
+		this.delegate.execute(QueueWaitRecordingRunnable.wrap(queueWaitMetrics(),
+				this.beanName != null ? this.beanName : DEFAULT_EXECUTOR_NAME, traceRunnable));
+	}
+
+	private ExecutorQueueWaitMetrics queueWaitMetrics() {
+		if (!this.queueWaitMetricsResolved) {
+			this.queueWaitMetrics = QueueWaitRecordingRunnable.metrics(this.beanFactory);
+			this.queueWaitMetricsResolved = true;
+		}
+		return this.queueWaitMetrics;
 	}
 
 	// due to some race conditions trace keys might not be ready yet
@@ -93,4 +128,19 @@ public class LazyTraceExecutor implements Executor {
 		return this.spanNamer;
 	}
 
+	private SleuthAsyncProperties asyncProperties() {
+		if (this.asyncProperties == null) {
+			SleuthAsyncProperties asyncProperties = null;
+			try {
+				asyncProperties = this.beanFactory.getBean(SleuthAsyncProperties.class);
+			}
+			catch (NoSuchBeanDefinitionException e) {
+				// the defaults will be used
+			}
+			this.asyncProperties = asyncProperties != null ? asyncProperties :
+					new SleuthAsyncProperties();
+		}
+		return this.asyncProperties;
+	}
+
 }
@@ -29,6 +29,7 @@ import org.springframework.cloud.sleuth.DefaultSpanNamer;
 import org.springframework.cloud.sleuth.SpanNamer;
 import org.springframework.cloud.sleuth.TraceKeys;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.metric.ExecutorQueueWaitMetrics;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.util.concurrent.ListenableFuture;
 
@@ -48,6 +49,10 @@ public class LazyTraceThreadPoolTaskExecutor extends ThreadPoolTaskExecutor {
 	private final ThreadPoolTaskExecutor delegate;
 	private TraceKeys traceKeys;
 	private SpanNamer spanNamer;
+	private SleuthAsyncProperties asyncProperties;
+	private ExecutorQueueWaitMetrics queueWaitMetrics;
+	private boolean queueWaitMetricsResolved;
+	private String executorName;
 
 	public LazyTraceThreadPoolTaskExecutor(BeanFactory beanFactory,
 			ThreadPoolTaskExecutor delegate) {
@@ -57,32 +62,32 @@ public class LazyTraceThreadPoolTaskExecutor extends ThreadPoolTaskExecutor {
 
 	@Override
 	public void execute(Runnable task) {
-		this.delegate.execute(new SpanContinuingTraceRunnable(tracer(), traceKeys(), spanNamer(), task));
+		this.delegate.execute(wrap(task));
 	}
 
 	@Override
 	public void execute(Runnable task, long startTimeout) {
-		this.delegate.execute(new SpanContinuingTraceRunnable(tracer(), traceKeys(), spanNamer(), task), startTimeout);
+		this.delegate.execute(wrap(task), startTimeout);
 	}
 
 	@Override
 	public Future<?> submit(Runnable task) {
-		return this.delegate.submit(new SpanContinuingTraceRunnable(tracer(), traceKeys(), spanNamer(), task));
+		return this.delegate.submit(wrap(task));
 	}
 
 	@Override
 	public <T> Future<T> submit(Callable<T> task) {
-		return this.delegate.submit(new SpanContinuingTraceCallable<>(tracer(), traceKeys(), spanNamer(), task));
+		return this.delegate.submit(wrap(task));
 	}
 
 	@Override
 	public ListenableFuture<?> submitListenable(Runnable task) {
-		return this.delegate.submitListenable(new SpanContinuingTraceRunnable(tracer(), traceKeys(), spanNamer(), task));
+		return this.delegate.submitListenable(wrap(task));
 	}
 
 	@Override
 	public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
-		return this.delegate.submitListenable(new SpanContinuingTraceCallable<>(tracer(), traceKeys(), spanNamer(), task));
+		return this.delegate.submitListenable(wrap(task));
 	}
 
 	@Override
@@ -101,6 +106,47 @@ public class LazyTraceThreadPoolTaskExecutor extends ThreadPoolTaskExecutor {
 		super.afterPropertiesSet();
 	}
 
+	private Runnable wrap(Runnable task) {
+		SleuthAsyncProperties asyncProperties = asyncProperties();
+		Runnable traceRunnable = asyncProperties.isContextOnly() ?
+				new ContextPropagatingTraceRunnable(tracer(), traceKeys(), spanNamer(),
+						task, null, asyncProperties.getSlowTaskThreshold()) :
+				new SpanContinuingTraceRunnable(tracer(), traceKeys(), spanNamer(), task);
+		return QueueWaitRecordingRunnable.wrap(queueWaitMetrics(), executorName(),
+				traceRunnable);
+	}
+
+	private <T> Callable<T> wrap(Callable<T> task) {
+		SleuthAsyncProperties asyncProperties = asyncProperties();
+		Callable<T> traceCallable = asyncProperties.isContextOnly() ?
+				new ContextPropagatingTraceCallable<>(tracer(), traceKeys(), spanNamer(),
+						null, task, asyncProperties.getSlowTaskThreshold()) :
+				new SpanContinuingTraceCallable<>(tracer(), traceKeys(), spanNamer(), task);
+		return QueueWaitRecordingCallable.wrap(queueWaitMetrics(), executorName(),
+				traceCallable);
+	}
+
+	/**
+	 * Unless set explicitly the thread name prefix of the delegate is its bean name
+	 * followed by a dash
+	 */
+	private String executorName() {
+		if (this.executorName == null) {
+			String prefix = this.delegate.getThreadNamePrefix();
+			this.executorName = prefix.endsWith("-") ?
+					prefix.substring(0, prefix.length() - 1) : prefix;
+		}
+		return this.executorName;
+	}
+
+	private ExecutorQueueWaitMetrics queueWaitMetrics() {
+		if (!this.queueWaitMetricsResolved) {
+			this.queueWaitMetrics = QueueWaitRecordingRunnable.metrics(this.beanFactory);
+			this.queueWaitMetricsResolved = true;
+		}
+		return this.queueWaitMetrics;
+	}
+
 	private Tracer tracer() {
 		if (this.tracer == null) {
 			this.tracer = this.beanFactory.getBean(Tracer.class);
@@ -133,4 +179,19 @@ public class LazyTraceThreadPoolTaskExecutor extends ThreadPoolTaskExecutor {
 		}
 		return this.spanNamer;
 	}
+
+	private SleuthAsyncProperties asyncProperties() {
+		if (this.asyncProperties == null) {
+			SleuthAsyncProperties asyncProperties = null;
+			try {
+				asyncProperties = this.beanFactory.getBean(SleuthAsyncProperties.class);
+			}
+			catch (NoSuchBeanDefinitionException e) {
+				// the defaults will be used
+			}
+			this.asyncProperties = asyncProperties != null ? asyncProperties :
+					new SleuthAsyncProperties();
+		}
+		return this.asyncProperties;
+	}
 }
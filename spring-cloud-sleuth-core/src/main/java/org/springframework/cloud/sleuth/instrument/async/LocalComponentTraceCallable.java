@@ -17,12 +17,14 @@
 package org.springframework.cloud.sleuth.instrument.async;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.SpanNamer;
 import org.springframework.cloud.sleuth.TraceCallable;
 import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.cloud.sleuth.TraceKeys;
+import org.springframework.util.StringUtils;
 
 /**
  * Callable that starts a span that is a local component span.
@@ -35,6 +37,8 @@ public class LocalComponentTraceCallable<V> extends TraceCallable<V> {
 	protected static final String ASYNC_COMPONENT = "async";
 
 	private final TraceKeys traceKeys;
+	private long expectedStartNanos = System.nanoTime();
+	private boolean started;
 
 	public LocalComponentTraceCallable(Tracer tracer, TraceKeys traceKeys,
 			SpanNamer spanNamer, Callable<V> delegate) {
@@ -65,6 +69,49 @@ public class LocalComponentTraceCallable<V> extends TraceCallable<V> {
 		getTracer().addTag(Span.SPAN_LOCAL_COMPONENT_TAG_NAME, ASYNC_COMPONENT);
 		getTracer().addTag(this.traceKeys.getAsync().getPrefix() +
 				this.traceKeys.getAsync().getThreadNameKey(), Thread.currentThread().getName());
+		if (!this.started) {
+			// periodic tasks only waited in the queue before their first run
+			this.started = true;
+			getTracer().addTag(this.traceKeys.getAsync().getPrefix() +
+					this.traceKeys.getAsync().getQueueWaitKey(), String.valueOf(
+					TimeUnit.NANOSECONDS.toMicros(queueWaitNanos())));
+		}
 		return span;
 	}
+
+	/**
+	 * Logs when the task got queued and when it started running on a span that got
+	 * continued instead of created, if the names of those events are set
+	 */
+	void logQueueWait(Span span) {
+		if (this.started) {
+			return;
+		}
+		this.started = true;
+		TraceKeys.Async async = this.traceKeys.getAsync();
+		if (!span.isExportable() || (!StringUtils.hasText(async.getQueuedEvent())
+				&& !StringUtils.hasText(async.getDequeuedEvent()))) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		if (StringUtils.hasText(async.getQueuedEvent())) {
+			span.logEvent(now - TimeUnit.NANOSECONDS.toMillis(queueWaitNanos()),
+					async.getQueuedEvent());
+		}
+		if (StringUtils.hasText(async.getDequeuedEvent())) {
+			span.logEvent(now, async.getDequeuedEvent());
+		}
+	}
+
+	private long queueWaitNanos() {
+		return Math.max(0, System.nanoTime() - this.expectedStartNanos);
+	}
+
+	/**
+	 * Moves the expected start of a scheduled task, so that the delay doesn't count as
+	 * waiting in the queue
+	 */
+	void delay(long delayNanos) {
+		this.expectedStartNanos += delayNanos;
+	}
 }
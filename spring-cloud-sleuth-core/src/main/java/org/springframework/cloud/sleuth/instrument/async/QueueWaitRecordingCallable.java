@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.instrument.async;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cloud.sleuth.metric.ExecutorQueueWaitMetrics;
+
+/**
+ * Callable that records how long it waited in the queue of an executor before it
+ * started running.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+class QueueWaitRecordingCallable<V> implements Callable<V> {
+
+	private final ExecutorQueueWaitMetrics metrics;
+	private final String executorName;
+	private final Callable<V> delegate;
+	private final long expectedStartNanos;
+
+	private QueueWaitRecordingCallable(ExecutorQueueWaitMetrics metrics,
+			String executorName, Callable<V> delegate, long delayNanos) {
+		this.metrics = metrics;
+		this.executorName = executorName;
+		this.delegate = delegate;
+		this.expectedStartNanos = System.nanoTime() + delayNanos;
+	}
+
+	/**
+	 * Returns the delegate as it is if there are no metrics to record to
+	 */
+	static <V> Callable<V> wrap(ExecutorQueueWaitMetrics metrics, String executorName,
+			Callable<V> delegate) {
+		return wrap(metrics, executorName, delegate, 0);
+	}
+
+	static <V> Callable<V> wrap(ExecutorQueueWaitMetrics metrics, String executorName,
+			Callable<V> delegate, long delayNanos) {
+		if (metrics == null) {
+			return delegate;
+		}
+		return new QueueWaitRecordingCallable<>(metrics, executorName, delegate, delayNanos);
+	}
+
+	@Override
+	public V call() throws Exception {
+		this.metrics.record(this.executorName, System.nanoTime() - this.expectedStartNanos);
+		return this.delegate.call();
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.instrument.async;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.cloud.sleuth.metric.ExecutorQueueWaitMetrics;
+
+/**
+ * Runnable that records how long it waited in the queue of an executor before it
+ * started running. Periodic tasks are recorded on their first run only.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+class QueueWaitRecordingRunnable implements Runnable {
+
+	private final ExecutorQueueWaitMetrics metrics;
+	private final String executorName;
+	private final Runnable delegate;
+	private final long expectedStartNanos;
+	private boolean started;
+
+	private QueueWaitRecordingRunnable(ExecutorQueueWaitMetrics metrics,
+			String executorName, Runnable delegate, long delayNanos) {
+		this.metrics = metrics;
+		this.executorName = executorName;
+		this.delegate = delegate;
+		this.expectedStartNanos = System.nanoTime() + delayNanos;
+	}
+
+	/**
+	 * Returns the delegate as it is if there are no metrics to record to
+	 */
+	static Runnable wrap(ExecutorQueueWaitMetrics metrics, String executorName,
+			Runnable delegate) {
+		return wrap(metrics, executorName, delegate, 0);
+	}
+
+	static Runnable wrap(ExecutorQueueWaitMetrics metrics, String executorName,
+			Runnable delegate, long delayNanos) {
+		if (metrics == null) {
+			return delegate;
+		}
+		return new QueueWaitRecordingRunnable(metrics, executorName, delegate, delayNanos);
+	}
+
+	/**
+	 * Returns the {@link ExecutorQueueWaitMetrics} bean or {@code null} if there's none
+	 */
+	static ExecutorQueueWaitMetrics metrics(BeanFactory beanFactory) {
+		if (beanFactory == null) {
+			return null;
+		}
+		try {
+			return beanFactory.getBean(ExecutorQueueWaitMetrics.class);
+		}
+		catch (NoSuchBeanDefinitionException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public void run() {
+		if (!this.started) {
+			this.started = true;
+			this.metrics.record(this.executorName, System.nanoTime() - this.expectedStartNanos);
+		}
+		this.delegate.run();
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.instrument.async;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for tracing of async tasks
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+@ConfigurationProperties("spring.sleuth.async")
+public class SleuthAsyncProperties {
+
+	/**
+	 * If set to {@code true}, tasks of all traced executors only propagate the current
+	 * span to the thread that runs them, instead of getting a span of their own.
+	 */
+	private boolean contextOnly = false;
+
+	/**
+	 * Names of executor beans whose tasks should only propagate the current span.
+	 */
+	private List<String> contextOnlyExecutors = new ArrayList<>();
+
+	/**
+	 * In the context only mode, tasks running at least this number of milliseconds
+	 * still get a span. A negative value disables it.
+	 */
+	private long slowTaskThreshold = 1000;
+
+	public boolean isContextOnly() {
+		return this.contextOnly;
+	}
+
+	public void setContextOnly(boolean contextOnly) {
+		this.contextOnly = contextOnly;
+	}
+
+	public List<String> getContextOnlyExecutors() {
+		return this.contextOnlyExecutors;
+	}
+
+	public void setContextOnlyExecutors(List<String> contextOnlyExecutors) {
+		this.contextOnlyExecutors = contextOnlyExecutors;
+	}
+
+	public long getSlowTaskThreshold() {
+		return this.slowTaskThreshold;
+	}
+
+	public void setSlowTaskThreshold(long slowTaskThreshold) {
+		this.slowTaskThreshold = slowTaskThreshold;
+	}
+
+	/**
+	 * Whether tasks of the executor with the given bean name should only propagate
+	 * the current span. The bean name can be {@code null}.
+	 */
+	public boolean isContextOnly(String beanName) {
+		return this.contextOnly ||
+				(beanName != null && this.contextOnlyExecutors.contains(beanName));
+	}
+}
@@ -64,7 +64,9 @@ public class SpanContinuingTraceCallable<V> extends TraceCallable<V> {
 		if (span == null) {
 			return this.traceCallable.startSpan();
 		}
-		return continueSpan(span);
+		Span continued = continueSpan(span);
+		this.traceCallable.logQueueWait(continued);
+		return continued;
 	}
 
 	@Override protected void close(Span span) {
@@ -74,4 +76,8 @@ public class SpanContinuingTraceCallable<V> extends TraceCallable<V> {
 			super.detachSpan(span);
 		}
 	}
+
+	void delay(long delayNanos) {
+		this.traceCallable.delay(delayNanos);
+	}
 }
@@ -62,7 +62,9 @@ public class SpanContinuingTraceRunnable extends TraceRunnable {
 		if (span == null) {
 			return this.traceRunnable.startSpan();
 		}
-		return continueSpan(span);
+		Span continued = continueSpan(span);
+		this.traceRunnable.logQueueWait(continued);
+		return continued;
 	}
 
 	@Override protected void close(Span span) {
@@ -72,4 +74,8 @@ public class SpanContinuingTraceRunnable extends TraceRunnable {
 			super.detachSpan(span);
 		}
 	}
+
+	void delay(long delayNanos) {
+		this.traceRunnable.delay(delayNanos);
+	}
 }
@@ -26,9 +26,11 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.cloud.sleuth.SpanNamer;
 import org.springframework.cloud.sleuth.TraceKeys;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.metric.ExecutorQueueWaitMetrics;
 
 /**
  * A decorator class for {@link ExecutorService} to support tracing in Executors
@@ -37,12 +39,21 @@ import org.springframework.cloud.sleuth.Tracer;
  * @since 1.0.0
  */
 public class TraceableExecutorService implements ExecutorService {
+	/**
+	 * Name of the queue wait metrics of an executor service without a bean name
+	 */
+	private static final String DEFAULT_EXECUTOR_NAME = "executorService";
+
 	ExecutorService delegate;
 	Tracer tracer;
 	private final String spanName;
 	TraceKeys traceKeys;
 	SpanNamer spanNamer;
 	BeanFactory beanFactory;
+	private final String beanName;
+	private SleuthAsyncProperties asyncProperties;
+	private ExecutorQueueWaitMetrics queueWaitMetrics;
+	private boolean queueWaitMetricsResolved;
 
 	public TraceableExecutorService(final ExecutorService delegate, final Tracer tracer,
 			TraceKeys traceKeys, SpanNamer spanNamer) {
@@ -50,9 +61,20 @@ public class TraceableExecutorService implements ExecutorService {
 	}
 
 	public TraceableExecutorService(BeanFactory beanFactory, final ExecutorService delegate) {
+		this(beanFactory, delegate, null);
+	}
+
+	/**
+	 * @param beanName name of the delegate bean, used to check whether its tasks
+	 * should only propagate the current span and to name its queue wait metrics
+	 * @since 1.2.1
+	 */
+	public TraceableExecutorService(BeanFactory beanFactory, final ExecutorService delegate,
+			String beanName) {
 		this.delegate = delegate;
 		this.beanFactory = beanFactory;
 		this.spanName = null;
+		this.beanName = beanName;
 	}
 
 	public TraceableExecutorService(final ExecutorService delegate, final Tracer tracer,
@@ -62,13 +84,15 @@ public class TraceableExecutorService implements ExecutorService {
 		this.spanName = spanName;
 		this.traceKeys = traceKeys;
 		this.spanNamer = spanNamer;
+		this.beanName = null;
 	}
 
 	@Override
 	public void execute(Runnable command) {
-		final Runnable r = new LocalComponentTraceRunnable(tracer(), traceKeys(),
-				spanNamer(), command, this.spanName);
-		this.delegate.execute(r);
+		final Runnable r = contextOnly() ? contextPropagating(command) :
+				new LocalComponentTraceRunnable(tracer(), traceKeys(), spanNamer(), command,
+						this.spanName);
+		this.delegate.execute(recordingQueueWait(r, 0));
 	}
 
 	@Override
@@ -98,23 +122,26 @@ public class TraceableExecutorService implements ExecutorService {
 
 	@Override
 	public <T> Future<T> submit(Callable<T> task) {
-		Callable<T> c = new SpanContinuingTraceCallable<>(tracer(), traceKeys(),
-				spanNamer(), this.spanName, task);
-		return this.delegate.submit(c);
+		Callable<T> c = contextOnly() ? contextPropagating(task) :
+				new SpanContinuingTraceCallable<>(tracer(), traceKeys(), spanNamer(),
+						this.spanName, task);
+		return this.delegate.submit(recordingQueueWait(c, 0));
 	}
 
 	@Override
 	public <T> Future<T> submit(Runnable task, T result) {
-		Runnable r = new SpanContinuingTraceRunnable(tracer(), traceKeys(),
-				spanNamer(), task, this.spanName);
-		return this.delegate.submit(r, result);
+		Runnable r = contextOnly() ? contextPropagating(task) :
+				new SpanContinuingTraceRunnable(tracer(), traceKeys(), spanNamer(), task,
+						this.spanName);
+		return this.delegate.submit(recordingQueueWait(r, 0), result);
 	}
 
 	@Override
 	public Future<?> submit(Runnable task) {
-		Runnable r = new LocalComponentTraceRunnable(tracer(), traceKeys(),
-				spanNamer(), task, this.spanName);
-		return this.delegate.submit(r);
+		Runnable r = contextOnly() ? contextPropagating(task) :
+				new LocalComponentTraceRunnable(tracer(), traceKeys(), spanNamer(), task,
+						this.spanName);
+		return this.delegate.submit(recordingQueueWait(r, 0));
 	}
 
 	@Override
@@ -141,15 +168,53 @@ public class TraceableExecutorService implements ExecutorService {
 
 	private <T> Collection<? extends Callable<T>> wrapCallableCollection(Collection<? extends Callable<T>> tasks) {
 		List<Callable<T>> ts = new ArrayList<>();
+		boolean contextOnly = contextOnly();
 		for (Callable<T> task : tasks) {
 			if (!(task instanceof SpanContinuingTraceCallable)) {
-				ts.add(new SpanContinuingTraceCallable<>(tracer(), traceKeys(),
-						spanNamer(), this.spanName, task));
+				ts.add(recordingQueueWait(contextOnly ? contextPropagating(task) :
+						new SpanContinuingTraceCallable<>(tracer(), traceKeys(), spanNamer(),
+								this.spanName, task), 0));
 			}
 		}
 		return ts;
 	}
 
+	Runnable recordingQueueWait(Runnable task, long delayNanos) {
+		return QueueWaitRecordingRunnable.wrap(queueWaitMetrics(), executorName(), task,
+				delayNanos);
+	}
+
+	<T> Callable<T> recordingQueueWait(Callable<T> task, long delayNanos) {
+		return QueueWaitRecordingCallable.wrap(queueWaitMetrics(), executorName(), task,
+				delayNanos);
+	}
+
+	private String executorName() {
+		return this.beanName != null ? this.beanName : DEFAULT_EXECUTOR_NAME;
+	}
+
+	private ExecutorQueueWaitMetrics queueWaitMetrics() {
+		if (!this.queueWaitMetricsResolved) {
+			this.queueWaitMetrics = QueueWaitRecordingRunnable.metrics(this.beanFactory);
+			this.queueWaitMetricsResolved = true;
+		}
+		return this.queueWaitMetrics;
+	}
+
+	private boolean contextOnly() {
+		return asyncProperties().isContextOnly(this.beanName);
+	}
+
+	private Runnable contextPropagating(Runnable task) {
+		return new ContextPropagatingTraceRunnable(tracer(), traceKeys(), spanNamer(), task,
+				this.spanName, asyncProperties().getSlowTaskThreshold());
+	}
+
+	private <T> Callable<T> contextPropagating(Callable<T> task) {
+		return new ContextPropagatingTraceCallable<>(tracer(), traceKeys(), spanNamer(),
+				this.spanName, task, asyncProperties().getSlowTaskThreshold());
+	}
+
 	Tracer tracer() {
 		if (this.tracer == null && this.beanFactory != null) {
 			this.tracer = this.beanFactory.getBean(Tracer.class);
@@ -171,4 +236,21 @@ public class TraceableExecutorService implements ExecutorService {
 		return this.spanNamer;
 	}
 
+	SleuthAsyncProperties asyncProperties() {
+		if (this.asyncProperties == null) {
+			SleuthAsyncProperties asyncProperties = null;
+			if (this.beanFactory != null) {
+				try {
+					asyncProperties = this.beanFactory.getBean(SleuthAsyncProperties.class);
+				}
+				catch (NoSuchBeanDefinitionException e) {
+					// the defaults will be used
+				}
+			}
+			this.asyncProperties = asyncProperties != null ? asyncProperties :
+					new SleuthAsyncProperties();
+		}
+		return this.asyncProperties;
+	}
+
 }
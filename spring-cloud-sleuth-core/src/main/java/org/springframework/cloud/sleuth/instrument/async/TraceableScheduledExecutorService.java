@@ -21,6 +21,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.cloud.sleuth.SpanNamer;
 import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.cloud.sleuth.TraceKeys;
@@ -38,32 +39,45 @@ public class TraceableScheduledExecutorService extends TraceableExecutorService
 		super(delegate, tracer, traceKeys, spanNamer);
 	}
 
+	/**
+	 * @param beanName name of the delegate bean, used to name its queue wait metrics
+	 * @since 1.2.1
+	 */
+	public TraceableScheduledExecutorService(BeanFactory beanFactory,
+			ScheduledExecutorService delegate, String beanName) {
+		super(beanFactory, delegate, beanName);
+	}
+
 	private ScheduledExecutorService getScheduledExecutorService() {
 		return (ScheduledExecutorService) this.delegate;
 	}
 
 	@Override
 	public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
-		Runnable r = new SpanContinuingTraceRunnable(this.tracer, this.traceKeys, this.spanNamer, command);
-		return getScheduledExecutorService().schedule(r, delay, unit);
+		SpanContinuingTraceRunnable r = new SpanContinuingTraceRunnable(tracer(), traceKeys(), spanNamer(), command);
+		r.delay(unit.toNanos(delay));
+		return getScheduledExecutorService().schedule(recordingQueueWait(r, unit.toNanos(delay)), delay, unit);
 	}
 
 	@Override
 	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
-		Callable<V> c = new SpanContinuingTraceCallable<>(this.tracer, this.traceKeys, this.spanNamer,  callable);
-		return getScheduledExecutorService().schedule(c, delay, unit);
+		SpanContinuingTraceCallable<V> c = new SpanContinuingTraceCallable<>(tracer(), traceKeys(), spanNamer(),  callable);
+		c.delay(unit.toNanos(delay));
+		return getScheduledExecutorService().schedule(recordingQueueWait(c, unit.toNanos(delay)), delay, unit);
 	}
 
 	@Override
 	public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
-		Runnable r = new SpanContinuingTraceRunnable(this.tracer, this.traceKeys, this.spanNamer,  command);
-		return getScheduledExecutorService().scheduleAtFixedRate(r, initialDelay, period, unit);
+		SpanContinuingTraceRunnable r = new SpanContinuingTraceRunnable(tracer(), traceKeys(), spanNamer(),  command);
+		r.delay(unit.toNanos(initialDelay));
+		return getScheduledExecutorService().scheduleAtFixedRate(recordingQueueWait(r, unit.toNanos(initialDelay)), initialDelay, period, unit);
 	}
 
 	@Override
 	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
-		Runnable r = new SpanContinuingTraceRunnable(this.tracer, this.traceKeys, this.spanNamer,  command);
-		return getScheduledExecutorService().scheduleWithFixedDelay(r, initialDelay, delay, unit);
+		SpanContinuingTraceRunnable r = new SpanContinuingTraceRunnable(tracer(), traceKeys(), spanNamer(),  command);
+		r.delay(unit.toNanos(initialDelay));
+		return getScheduledExecutorService().scheduleWithFixedDelay(recordingQueueWait(r, unit.toNanos(initialDelay)), initialDelay, delay, unit);
 	}
 
 }
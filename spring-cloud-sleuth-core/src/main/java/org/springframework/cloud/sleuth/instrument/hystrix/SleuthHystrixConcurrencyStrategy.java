@@ -18,12 +18,15 @@ package org.springframework.cloud.sleuth.instrument.hystrix;
 
 import java.lang.invoke.MethodHandles;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.TraceKeys;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.metric.ExecutorQueueWaitMetrics;
+import org.springframework.util.StringUtils;
 
 import com.netflix.hystrix.strategy.HystrixPlugins;
 import com.netflix.hystrix.strategy.concurrency.HystrixConcurrencyStrategy;
@@ -48,11 +51,23 @@ public class SleuthHystrixConcurrencyStrategy extends HystrixConcurrencyStrategy
 
 	private final Tracer tracer;
 	private final TraceKeys traceKeys;
+	private final ExecutorQueueWaitMetrics queueWaitMetrics;
 	private HystrixConcurrencyStrategy delegate;
 
 	public SleuthHystrixConcurrencyStrategy(Tracer tracer, TraceKeys traceKeys) {
+		this(tracer, traceKeys, null);
+	}
+
+	/**
+	 * @param queueWaitMetrics metrics to record the time commands waited for a thread,
+	 * can be {@code null}
+	 * @since 1.2.1
+	 */
+	public SleuthHystrixConcurrencyStrategy(Tracer tracer, TraceKeys traceKeys,
+			ExecutorQueueWaitMetrics queueWaitMetrics) {
 		this.tracer = tracer;
 		this.traceKeys = traceKeys;
+		this.queueWaitMetrics = queueWaitMetrics;
 		try {
 			this.delegate = HystrixPlugins.getInstance().getConcurrencyStrategy();
 			if (this.delegate instanceof SleuthHystrixConcurrencyStrategy) {
@@ -104,7 +119,8 @@ public class SleuthHystrixConcurrencyStrategy extends HystrixConcurrencyStrategy
 		if (wrappedCallable instanceof HystrixTraceCallable) {
 			return wrappedCallable;
 		}
-		return new HystrixTraceCallable<>(this.tracer, this.traceKeys, wrappedCallable);
+		return new HystrixTraceCallable<>(this.tracer, this.traceKeys, wrappedCallable,
+				this.queueWaitMetrics);
 	}
 
 	// Visible for testing
@@ -116,17 +132,30 @@ public class SleuthHystrixConcurrencyStrategy extends HystrixConcurrencyStrategy
 		private TraceKeys traceKeys;
 		private Callable<S> callable;
 		private Span parent;
+		private ExecutorQueueWaitMetrics queueWaitMetrics;
+		private long submitNanos;
 
 		public HystrixTraceCallable(Tracer tracer, TraceKeys traceKeys,
 				Callable<S> callable) {
+			this(tracer, traceKeys, callable, null);
+		}
+
+		HystrixTraceCallable(Tracer tracer, TraceKeys traceKeys,
+				Callable<S> callable, ExecutorQueueWaitMetrics queueWaitMetrics) {
 			this.tracer = tracer;
 			this.traceKeys = traceKeys;
 			this.callable = callable;
 			this.parent = tracer.getCurrentSpan();
+			this.queueWaitMetrics = queueWaitMetrics;
+			this.submitNanos = System.nanoTime();
 		}
 
 		@Override
 		public S call() throws Exception {
+			long queueWaitNanos = System.nanoTime() - this.submitNanos;
+			if (this.queueWaitMetrics != null) {
+				this.queueWaitMetrics.record(HYSTRIX_COMPONENT, queueWaitNanos);
+			}
 			Span span = this.parent;
 			boolean created = false;
 			if (span != null) {
@@ -150,6 +179,23 @@ public class SleuthHystrixConcurrencyStrategy extends HystrixConcurrencyStrategy
 			if (!span.tags().containsKey(asyncKey)) {
 				this.tracer.addTag(asyncKey, Thread.currentThread().getName());
 			}
+			if (created) {
+				this.tracer.addTag(this.traceKeys.getAsync().getPrefix() +
+						this.traceKeys.getAsync().getQueueWaitKey(),
+						String.valueOf(TimeUnit.NANOSECONDS.toMicros(queueWaitNanos)));
+			}
+			else if (span.isExportable()) {
+				// events are only logged on continued spans when their names are set
+				TraceKeys.Async async = this.traceKeys.getAsync();
+				long now = System.currentTimeMillis();
+				if (StringUtils.hasText(async.getQueuedEvent())) {
+					span.logEvent(now - TimeUnit.NANOSECONDS.toMillis(queueWaitNanos),
+							async.getQueuedEvent());
+				}
+				if (StringUtils.hasText(async.getDequeuedEvent())) {
+					span.logEvent(now, async.getDequeuedEvent());
+				}
+			}
 			try {
 				return this.callable.call();
 			}
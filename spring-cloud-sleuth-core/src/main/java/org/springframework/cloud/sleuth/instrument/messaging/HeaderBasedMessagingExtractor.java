@@ -1,49 +1,75 @@
 package org.springframework.cloud.sleuth.instrument.messaging;
 
-import java.util.Map;
-import java.util.Random;
-
+import org.springframework.cloud.sleuth.IdGenerator;
+import org.springframework.cloud.sleuth.LookupSpanTextMap;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.SpanTextMap;
+import org.springframework.cloud.sleuth.util.B3SingleFormat;
+import org.springframework.cloud.sleuth.util.RandomIdGenerator;
+import org.springframework.cloud.sleuth.util.SpanContextBinaryFormat;
 import org.springframework.cloud.sleuth.util.TextMapUtil;
+import org.springframework.cloud.sleuth.util.TraceparentFormat;
 
 /**
- * Default implementation for messaging
+ * Default implementation for messaging. Accepts the binary
+ * {@link TraceMessageHeaders#SPAN_CONTEXT_NAME} header, the single {@code b3} header, the
+ * W3C {@code traceparent} header and the separate trace headers, in that order of
+ * precedence.
  *
  * @author Marcin Grzejszczak
  * @since 1.2.0
  */
 public class HeaderBasedMessagingExtractor implements MessagingSpanTextMapExtractor {
 
+	private final IdGenerator idGenerator;
+
+	public HeaderBasedMessagingExtractor() {
+		this(new RandomIdGenerator());
+	}
+
+	public HeaderBasedMessagingExtractor(IdGenerator idGenerator) {
+		this.idGenerator = idGenerator;
+	}
+
 	@Override
 	public Span joinTrace(SpanTextMap textMap) {
-		Map<String, String> carrier = TextMapUtil.asMap(textMap);
+		if (textMap instanceof MessagingTextMap) {
+			Span.SpanBuilder span = SpanContextBinaryFormat.parse(((MessagingTextMap) textMap)
+					.getBinary(TraceMessageHeaders.SPAN_CONTEXT_NAME));
+			if (span != null) {
+				return span.remote(true).build();
+			}
+		}
+		LookupSpanTextMap carrier = TextMapUtil.asLookup(textMap);
+		Span.SpanBuilder span = B3SingleFormat.parse(carrier.get(B3SingleFormat.HEADER_NAME));
+		if (span == null) {
+			span = TraceparentFormat.parse(carrier.get(TraceparentFormat.HEADER_NAME));
+		}
+		if (span != null) {
+			return remoteSpan(carrier, span);
+		}
+		String traceId = carrier.get(TraceMessageHeaders.TRACE_ID_NAME);
+		String spanId = carrier.get(TraceMessageHeaders.SPAN_ID_NAME);
 		if (Span.SPAN_SAMPLED.equals(carrier.get(TraceMessageHeaders.SPAN_FLAGS_NAME))) {
-			String traceId = generateTraceIdIfMissing(carrier);
-			if (!carrier.containsKey(TraceMessageHeaders.SPAN_ID_NAME)) {
-				carrier.put(TraceMessageHeaders.SPAN_ID_NAME, traceId);
+			if (traceId == null) {
+				traceId = Span.idToHex(this.idGenerator.nextId());
+			}
+			if (spanId == null) {
+				spanId = traceId;
 			}
-		} else if (!hasHeader(carrier, TraceMessageHeaders.SPAN_ID_NAME)
-				|| !hasHeader(carrier, TraceMessageHeaders.TRACE_ID_NAME)) {
+		} else if (spanId == null || traceId == null) {
 			return null;
 			// TODO: Consider throwing IllegalArgumentException;
 		}
-		return extractSpanFromHeaders(carrier, Span.builder());
-	}
-
-	private String generateTraceIdIfMissing(Map<String, String> carrier) {
-		if (!hasHeader(carrier, TraceMessageHeaders.TRACE_ID_NAME)) {
-			carrier.put(TraceMessageHeaders.TRACE_ID_NAME, Span.idToHex(new Random().nextLong()));
-		}
-		return carrier.get(TraceMessageHeaders.TRACE_ID_NAME);
+		return extractSpanFromHeaders(carrier, traceId, spanId, Span.builder());
 	}
 
-	private Span extractSpanFromHeaders(Map<String, String> carrier, Span.SpanBuilder spanBuilder) {
-		String traceId = carrier.get(TraceMessageHeaders.TRACE_ID_NAME);
+	private Span extractSpanFromHeaders(LookupSpanTextMap carrier, String traceId,
+			String spanId, Span.SpanBuilder spanBuilder) {
 		spanBuilder = spanBuilder
 				.traceIdHigh(traceId.length() == 32 ? Span.hexToId(traceId, 0) : 0)
 				.traceId(Span.hexToId(traceId))
-				.spanId(Span.hexToId(carrier.get(TraceMessageHeaders.SPAN_ID_NAME)));
+				.spanId(Span.hexToId(spanId));
 		String flags = carrier.get(TraceMessageHeaders.SPAN_FLAGS_NAME);
 		if (Span.SPAN_SAMPLED.equals(flags)) {
 			spanBuilder.exportable(true);
@@ -60,20 +86,20 @@ public class HeaderBasedMessagingExtractor implements MessagingSpanTextMapExtrac
 			spanBuilder.processId(processId);
 		}
 		setParentIdIfApplicable(carrier, spanBuilder, TraceMessageHeaders.PARENT_ID_NAME);
+		return remoteSpan(carrier, spanBuilder);
+	}
+
+	private Span remoteSpan(LookupSpanTextMap carrier, Span.SpanBuilder spanBuilder) {
 		spanBuilder.remote(true);
-		for (Map.Entry<String, String> entry : carrier.entrySet()) {
-			if (entry.getKey().startsWith(Span.SPAN_BAGGAGE_HEADER_PREFIX + TraceMessageHeaders.HEADER_DELIMITER)) {
-				spanBuilder.baggage(unprefixedKey(entry.getKey()), entry.getValue());
+		for (String key : carrier.keys()) {
+			if (key.startsWith(Span.SPAN_BAGGAGE_HEADER_PREFIX + TraceMessageHeaders.HEADER_DELIMITER)) {
+				spanBuilder.baggage(unprefixedKey(key), carrier.get(key));
 			}
 		}
 		return spanBuilder.build();
 	}
 
-	boolean hasHeader(Map<String, String> message, String name) {
-		return message.containsKey(name);
-	}
-
-	private void setParentIdIfApplicable(Map<String, String> carrier, Span.SpanBuilder spanBuilder,
+	private void setParentIdIfApplicable(LookupSpanTextMap carrier, Span.SpanBuilder spanBuilder,
 			String spanParentIdHeader) {
 		String parentId = carrier.get(spanParentIdHeader);
 		if (parentId != null) {
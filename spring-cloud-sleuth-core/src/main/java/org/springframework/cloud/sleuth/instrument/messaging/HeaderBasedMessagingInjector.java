@@ -1,12 +1,21 @@
 package org.springframework.cloud.sleuth.instrument.messaging;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
+import org.springframework.cloud.sleuth.LookupSpanTextMap;
+import org.springframework.cloud.sleuth.PropagationType;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.SpanTextMap;
 import org.springframework.cloud.sleuth.TraceKeys;
+import org.springframework.cloud.sleuth.util.B3SingleFormat;
+import org.springframework.cloud.sleuth.util.SpanContextBinaryFormat;
 import org.springframework.cloud.sleuth.util.TextMapUtil;
+import org.springframework.cloud.sleuth.util.TraceparentFormat;
 import org.springframework.util.StringUtils;
 
 /**
@@ -18,17 +27,69 @@ import org.springframework.util.StringUtils;
 public class HeaderBasedMessagingInjector implements MessagingSpanTextMapInjector {
 
 	private final TraceKeys traceKeys;
+	private final boolean b3Multi;
+	private final boolean b3Single;
+	private final boolean w3c;
+	private final boolean binary;
+	private final Set<String> headersToRemove;
 
 	public HeaderBasedMessagingInjector(TraceKeys traceKeys) {
+		this(traceKeys, Collections.singleton(PropagationType.B3_MULTI));
+	}
+
+	/**
+	 * @since 1.2.1
+	 */
+	public HeaderBasedMessagingInjector(TraceKeys traceKeys,
+			Collection<PropagationType> propagationTypes) {
 		this.traceKeys = traceKeys;
+		this.b3Multi = propagationTypes.contains(PropagationType.B3_MULTI);
+		this.b3Single = propagationTypes.contains(PropagationType.B3_SINGLE);
+		this.w3c = propagationTypes.contains(PropagationType.W3C);
+		this.binary = propagationTypes.contains(PropagationType.BINARY);
+		this.headersToRemove = headersToRemove();
+	}
+
+	/**
+	 * Propagation headers that might be left over from the message this one was created
+	 * from, but that won't be written for each span. Otherwise a stale header of a
+	 * format with higher precedence would win over the fresh ones when the message
+	 * gets extracted.
+	 */
+	private Set<String> headersToRemove() {
+		Set<String> headers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		if (!this.b3Multi) {
+			headers.add(TraceMessageHeaders.TRACE_ID_NAME);
+			headers.add(TraceMessageHeaders.SPAN_ID_NAME);
+			headers.add(TraceMessageHeaders.SAMPLED_NAME);
+		}
+		// written only for sampled spans
+		headers.add(TraceMessageHeaders.PARENT_ID_NAME);
+		headers.add(TraceMessageHeaders.SPAN_NAME_NAME);
+		headers.add(TraceMessageHeaders.PROCESS_ID_NAME);
+		headers.add(TraceMessageHeaders.SPAN_FLAGS_NAME);
+		if (!this.b3Single) {
+			headers.add(B3SingleFormat.HEADER_NAME);
+		}
+		if (!this.w3c) {
+			headers.add(TraceparentFormat.HEADER_NAME);
+		}
+		if (!this.binary) {
+			headers.add(TraceMessageHeaders.SPAN_CONTEXT_NAME);
+		}
+		return headers;
 	}
 
 	@Override
 	public void inject(Span span, SpanTextMap carrier) {
-		Map<String, String> map = TextMapUtil.asMap(carrier);
 		if (span == null) {
-			if (!isSampled(map, TraceMessageHeaders.SAMPLED_NAME)) {
-				carrier.put(TraceMessageHeaders.SAMPLED_NAME, Span.SPAN_NOT_SAMPLED);
+			if (!isSampled(TextMapUtil.asLookup(carrier), TraceMessageHeaders.SAMPLED_NAME)) {
+				if (this.b3Multi) {
+					carrier.put(TraceMessageHeaders.SAMPLED_NAME, Span.SPAN_NOT_SAMPLED);
+				}
+				if (this.b3Single) {
+					carrier.put(B3SingleFormat.HEADER_NAME, Span.SPAN_NOT_SAMPLED);
+				}
 				return;
 			}
 			return;
@@ -36,15 +97,57 @@ public class HeaderBasedMessagingInjector implements MessagingSpanTextMapInjecto
 		addHeaders(span, carrier);
 	}
 
-	private boolean isSampled(Map<String, String> initialMessage, String sampledHeaderName) {
+	private boolean isSampled(LookupSpanTextMap initialMessage, String sampledHeaderName) {
 		return Span.SPAN_SAMPLED.equals(initialMessage.get(sampledHeaderName));
 	}
 
 	private void addHeaders(Span span, SpanTextMap textMap) {
-		addHeader(textMap, TraceMessageHeaders.TRACE_ID_NAME, span.traceIdString());
-		addHeader(textMap, TraceMessageHeaders.SPAN_ID_NAME, Span.idToHex(span.getSpanId()));
+		if (textMap instanceof MessagingTextMap) {
+			((MessagingTextMap) textMap).removeAll(this.headersToRemove);
+		}
 		if (span.isExportable()) {
 			addAnnotations(this.traceKeys, textMap, span);
+		}
+		if (this.b3Multi) {
+			addMultiHeaders(span, textMap);
+		}
+		if (this.b3Single) {
+			textMap.put(B3SingleFormat.HEADER_NAME, B3SingleFormat.write(span));
+		}
+		if (this.w3c) {
+			textMap.put(TraceparentFormat.HEADER_NAME, TraceparentFormat.write(span));
+		}
+		boolean baggageWritten = false;
+		if (this.binary) {
+			baggageWritten = addBinaryHeader(span, textMap);
+		}
+		if (!baggageWritten || this.b3Multi || this.b3Single || this.w3c) {
+			for (Map.Entry<String, String> entry : span.baggageItems()) {
+				textMap.put(prefixedKey(entry.getKey()), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Writes the binary header, falling back to the single {@code b3} header for
+	 * carriers that only hold Strings. Returns whether the baggage was included.
+	 */
+	private boolean addBinaryHeader(Span span, SpanTextMap textMap) {
+		if (textMap instanceof MessagingTextMap) {
+			((MessagingTextMap) textMap).putBinary(TraceMessageHeaders.SPAN_CONTEXT_NAME,
+					SpanContextBinaryFormat.write(span));
+			return true;
+		}
+		if (!this.b3Single) {
+			textMap.put(B3SingleFormat.HEADER_NAME, B3SingleFormat.write(span));
+		}
+		return false;
+	}
+
+	private void addMultiHeaders(Span span, SpanTextMap textMap) {
+		addHeader(textMap, TraceMessageHeaders.TRACE_ID_NAME, span.traceIdString());
+		addHeader(textMap, TraceMessageHeaders.SPAN_ID_NAME, span.spanIdString());
+		if (span.isExportable()) {
 			Long parentId = getFirst(span.getParents());
 			if (parentId != null) {
 				addHeader(textMap, TraceMessageHeaders.PARENT_ID_NAME, Span.idToHex(parentId));
@@ -56,33 +159,28 @@ public class HeaderBasedMessagingInjector implements MessagingSpanTextMapInjecto
 		else {
 			addHeader(textMap, TraceMessageHeaders.SAMPLED_NAME, Span.SPAN_NOT_SAMPLED);
 		}
-		for (Map.Entry<String, String> entry : span.baggageItems()) {
-			textMap.put(prefixedKey(entry.getKey()), entry.getValue());
-		}
 	}
 
 	private void addAnnotations(TraceKeys traceKeys, SpanTextMap spanTextMap, Span span) {
-		Map<String, String> map = TextMapUtil.asMap(spanTextMap);
+		LookupSpanTextMap carrier = TextMapUtil.asLookup(spanTextMap);
 		for (String name : traceKeys.getMessage().getHeaders()) {
-			if (map.containsKey(name)) {
+			String value = carrier.get(name);
+			if (value != null) {
 				String key = traceKeys.getMessage().getPrefix() + name.toLowerCase();
-				Object value = map.get(name);
-				if (value == null) {
-					value = "null";
-				}
 				// TODO: better way to serialize?
-				tagIfEntryMissing(span, key, value.toString());
+				tagIfEntryMissing(span, key, value);
 			}
 		}
-		addPayloadAnnotations(traceKeys, map, span);
+		addPayloadAnnotations(traceKeys, carrier, span);
 	}
 
-	private void addPayloadAnnotations(TraceKeys traceKeys, Map<String, String> map, Span span) {
-		if (map.containsKey(traceKeys.getMessage().getPayload().getType())) {
-			tagIfEntryMissing(span, traceKeys.getMessage().getPayload().getType(),
-					map.get(traceKeys.getMessage().getPayload().getType()));
+	private void addPayloadAnnotations(TraceKeys traceKeys, LookupSpanTextMap carrier,
+			Span span) {
+		String type = carrier.get(traceKeys.getMessage().getPayload().getType());
+		if (type != null) {
+			tagIfEntryMissing(span, traceKeys.getMessage().getPayload().getType(), type);
 			tagIfEntryMissing(span, traceKeys.getMessage().getPayload().getSize(),
-					map.get(traceKeys.getMessage().getPayload().getSize()));
+					carrier.get(traceKeys.getMessage().getPayload().getSize()));
 		}
 	}
 
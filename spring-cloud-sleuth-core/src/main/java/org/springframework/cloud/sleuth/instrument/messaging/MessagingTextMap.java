@@ -16,55 +16,155 @@
 
 package org.springframework.cloud.sleuth.instrument.messaging;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.springframework.cloud.sleuth.LookupSpanTextMap;
 import org.springframework.cloud.sleuth.SpanTextMap;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.cloud.sleuth.util.TextMapUtil;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.messaging.support.NativeMessageHeaderAccessor;
 import org.springframework.util.StringUtils;
 
 /**
- * A {@link SpanTextMap} abstraction over {@link MessageBuilder}
+ * A {@link SpanTextMap} abstraction over a mutable {@link MessageHeaderAccessor}. Headers
+ * are written to the accessor in place, so the trace headers of a message are set
+ * without copying all of its headers per entry.
  *
  * @author Marcin Grzejszczak
  * @since 1.2.0
  */
-class MessagingTextMap implements SpanTextMap {
+class MessagingTextMap implements LookupSpanTextMap {
 
-	private final MessageBuilder delegate;
+	private final MessageHeaderAccessor delegate;
+	private Map<String, Object> headers;
+	private TextMapUtil.IgnoreCaseLookup<Object> ignoreCase;
 
-	public MessagingTextMap(MessageBuilder delegate) {
+	MessagingTextMap(MessageHeaderAccessor delegate) {
+		this(delegate, null);
+	}
+
+	/**
+	 * @param headers the headers the accessor was created from, used for iteration and
+	 * case insensitive lookups until the first write, so that they don't get copied
+	 */
+	MessagingTextMap(MessageHeaderAccessor delegate, MessageHeaders headers) {
 		this.delegate = delegate;
+		this.headers = headers;
+	}
+
+	@Override
+	public String get(String key) {
+		Object value = this.delegate.getHeader(key);
+		if (value == null) {
+			value = ignoreCase().get(key);
+		}
+		return value != null ? String.valueOf(value) : null;
+	}
+
+	@Override
+	public Iterable<String> keys() {
+		return headers().keySet();
 	}
 
 	@Override
 	public Iterator<Map.Entry<String, String>> iterator() {
 		Map<String, String> map = new HashMap<>();
-		for (Map.Entry<String, Object> entry : this.delegate.build().getHeaders()
-				.entrySet()) {
+		for (Map.Entry<String, Object> entry : headers().entrySet()) {
 			map.put(entry.getKey(), String.valueOf(entry.getValue()));
 		}
 		return map.entrySet().iterator();
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public void put(String key, String value) {
 		if (!StringUtils.hasText(value)) {
 			return;
 		}
-		Message<?> initialMessage = this.delegate.build();
-		MessageHeaderAccessor accessor = MessageHeaderAccessor
-				.getMutableAccessor(initialMessage);
-		accessor.setHeader(key, value);
-		if (accessor instanceof NativeMessageHeaderAccessor) {
-			NativeMessageHeaderAccessor nativeAccessor = (NativeMessageHeaderAccessor) accessor;
-			nativeAccessor.setNativeHeader(key, value);
+		this.delegate.setHeader(key, value);
+		if (this.delegate instanceof NativeMessageHeaderAccessor) {
+			((NativeMessageHeaderAccessor) this.delegate).setNativeHeader(key, value);
+		}
+		reset();
+	}
+
+	/**
+	 * Sets a binary header. Native headers only hold Strings, so they are left as is.
+	 */
+	void putBinary(String key, byte[] value) {
+		this.delegate.setHeader(key, value);
+		reset();
+	}
+
+	/**
+	 * Removes the headers, and native headers, whose names are contained in the given
+	 * set. Pass a set ordered by {@link String#CASE_INSENSITIVE_ORDER} to remove them
+	 * regardless of case. The names are collected first, since the headers can be the
+	 * live map of the accessor.
+	 */
+	void removeAll(Set<String> names) {
+		List<String> removed = matching(headers().keySet(), names);
+		for (String key : removed) {
+			this.delegate.removeHeader(key);
+		}
+		boolean removedNative = false;
+		if (this.delegate instanceof NativeMessageHeaderAccessor) {
+			NativeMessageHeaderAccessor accessor = (NativeMessageHeaderAccessor) this.delegate;
+			List<String> removedNativeKeys = matching(
+					accessor.toNativeHeaderMap().keySet(), names);
+			for (String key : removedNativeKeys) {
+				accessor.removeNativeHeader(key);
+			}
+			removedNative = !removedNativeKeys.isEmpty();
+		}
+		if (!removed.isEmpty() || removedNative) {
+			reset();
+		}
+	}
+
+	private static List<String> matching(Set<String> keys, Set<String> names) {
+		List<String> matching = new ArrayList<>();
+		for (String key : keys) {
+			if (names.contains(key)) {
+				matching.add(key);
+			}
+		}
+		return matching;
+	}
+
+	/**
+	 * Returns the value of the header if it is binary, {@code null} otherwise
+	 */
+	byte[] getBinary(String key) {
+		Object value = this.delegate.getHeader(key);
+		return value instanceof byte[] ? (byte[]) value : null;
+	}
+
+	private TextMapUtil.IgnoreCaseLookup<Object> ignoreCase() {
+		if (this.ignoreCase == null) {
+			this.ignoreCase = new TextMapUtil.IgnoreCaseLookup<>(headers());
+		}
+		return this.ignoreCase;
+	}
+
+	private void reset() {
+		this.headers = null;
+		this.ignoreCase = null;
+	}
+
+	/**
+	 * Headers for iteration and case insensitive lookups. After a write they're copied
+	 * from the accessor once until the next write.
+	 */
+	private Map<String, Object> headers() {
+		if (this.headers == null) {
+			this.headers = this.delegate.toMap();
 		}
-		this.delegate.copyHeaders(accessor.toMessageHeaders());
+		return this.headers;
 	}
 }
@@ -21,12 +21,12 @@ import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.TraceKeys;
 import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.cloud.sleuth.sampler.NeverSampler;
+import org.springframework.cloud.sleuth.util.B3SingleFormat;
 import org.springframework.cloud.sleuth.util.ExceptionUtils;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHandler;
 import org.springframework.messaging.support.GenericMessage;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 
 /**
@@ -70,20 +70,19 @@ public class TraceChannelInterceptor extends AbstractTraceChannelInterceptor {
 
 	@Override
 	public Message<?> preSend(Message<?> message, MessageChannel channel) {
-		MessageBuilder<?> messageBuilder = MessageBuilder.fromMessage(message);
+		MessageHeaderAccessor headers = MessageHeaderAccessor.getMutableAccessor(message);
+		MessagingTextMap carrier = new MessagingTextMap(headers, message.getHeaders());
 		Span parentSpan = getTracer().isTracing() ? getTracer().getCurrentSpan()
-				: buildSpan(new MessagingTextMap(messageBuilder));
+				: buildSpan(carrier);
 		String name = getMessageChannelName(channel);
 		Span span = startSpan(parentSpan, name, message);
 		if (message.getHeaders().containsKey(TraceMessageHeaders.MESSAGE_SENT_FROM_CLIENT)) {
 			span.logEvent(Span.SERVER_RECV);
 		} else {
 			span.logEvent(Span.CLIENT_SEND);
-			messageBuilder.setHeader(TraceMessageHeaders.MESSAGE_SENT_FROM_CLIENT, true);
+			headers.setHeader(TraceMessageHeaders.MESSAGE_SENT_FROM_CLIENT, true);
 		}
-		getSpanInjector().inject(span, new MessagingTextMap(messageBuilder));
-		MessageHeaderAccessor headers = MessageHeaderAccessor.getMutableAccessor(message);
-		headers.copyHeaders(messageBuilder.build().getHeaders());
+		getSpanInjector().inject(span, carrier);
 		return new GenericMessage<Object>(message.getPayload(), headers.getMessageHeaders());
 	}
 
@@ -91,7 +90,8 @@ public class TraceChannelInterceptor extends AbstractTraceChannelInterceptor {
 		if (span != null) {
 			return getTracer().createSpan(name, span);
 		}
-		if (Span.SPAN_NOT_SAMPLED.equals(message.getHeaders().get(TraceMessageHeaders.SAMPLED_NAME))) {
+		if (Span.SPAN_NOT_SAMPLED.equals(message.getHeaders().get(TraceMessageHeaders.SAMPLED_NAME))
+				|| Span.SPAN_NOT_SAMPLED.equals(message.getHeaders().get(B3SingleFormat.HEADER_NAME))) {
 			return getTracer().createSpan(name, NeverSampler.INSTANCE);
 		}
 		return getTracer().createSpan(name);
@@ -33,6 +33,12 @@ public class TraceMessageHeaders {
 	public static final String TRACE_ID_NAME = "spanTraceId";
 	public static final String SPAN_NAME_NAME = "spanName";
 	public static final String SPAN_FLAGS_NAME = "spanFlags";
+	/**
+	 * Binary header carrying the whole trace context
+	 *
+	 * @since 1.2.1
+	 */
+	public static final String SPAN_CONTEXT_NAME = "spanContext";
 
 	static final String MESSAGE_SENT_FROM_CLIENT = "messageSent";
 	static final String HEADER_DELIMITER = "_";
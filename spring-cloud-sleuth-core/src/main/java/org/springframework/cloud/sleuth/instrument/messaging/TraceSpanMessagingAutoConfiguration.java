@@ -19,8 +19,10 @@ package org.springframework.cloud.sleuth.instrument.messaging;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.sleuth.IdGenerator;
 import org.springframework.cloud.sleuth.TraceKeys;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.autoconfig.SleuthProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.Message;
@@ -39,13 +41,15 @@ public class TraceSpanMessagingAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
-	public MessagingSpanTextMapExtractor messagingSpanExtractor() {
-		return new HeaderBasedMessagingExtractor();
+	public MessagingSpanTextMapExtractor messagingSpanExtractor(IdGenerator idGenerator) {
+		return new HeaderBasedMessagingExtractor(idGenerator);
 	}
 
 	@Bean
 	@ConditionalOnMissingBean
-	public MessagingSpanTextMapInjector messagingSpanInjector(TraceKeys traceKeys) {
-		return new HeaderBasedMessagingInjector(traceKeys);
+	public MessagingSpanTextMapInjector messagingSpanInjector(TraceKeys traceKeys,
+			SleuthProperties sleuthProperties) {
+		return new HeaderBasedMessagingInjector(traceKeys,
+				sleuthProperties.getPropagationType());
 	}
 }
@@ -16,8 +16,6 @@
 
 package org.springframework.cloud.sleuth.instrument.messaging;
 
-import java.util.Random;
-
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -52,7 +50,7 @@ public class TraceSpringIntegrationAutoConfiguration {
 	@Bean
 	@GlobalChannelInterceptor(patterns = "${spring.sleuth.integration.patterns:*}")
 	public TraceChannelInterceptor traceChannelInterceptor(Tracer tracer,
-			TraceKeys traceKeys, Random random, MessagingSpanTextMapExtractor spanExtractor,
+			TraceKeys traceKeys, MessagingSpanTextMapExtractor spanExtractor,
 			MessagingSpanTextMapInjector spanInjector) {
 		return new IntegrationTraceChannelInterceptor(tracer, traceKeys, spanExtractor,
 				spanInjector);
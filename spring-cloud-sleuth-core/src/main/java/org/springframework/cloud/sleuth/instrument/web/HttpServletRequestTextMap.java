@@ -17,30 +17,59 @@
 package org.springframework.cloud.sleuth.instrument.web;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
+import org.springframework.cloud.sleuth.LookupSpanTextMap;
 import org.springframework.cloud.sleuth.SpanTextMap;
 import org.springframework.web.util.UrlPathHelper;
 
 /**
- * A {@link SpanTextMap} abstraction over {@link HttpServletRequest}
+ * A {@link SpanTextMap} abstraction over {@link HttpServletRequest}. Lookups read
+ * single headers from the request without copying the others.
  *
  * @author Marcin Grzejszczak
  * @since 1.2.0
  */
-class HttpServletRequestTextMap implements SpanTextMap {
+class HttpServletRequestTextMap implements LookupSpanTextMap {
+
+	private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
 
 	private final HttpServletRequest delegate;
-	private final Map<String, String> additionalHeaders = new HashMap<>();
+	private final Map<String, String> additionalHeaders = new TreeMap<>(
+			String.CASE_INSENSITIVE_ORDER);
 
 	HttpServletRequestTextMap(HttpServletRequest delegate) {
+		this(delegate, URL_PATH_HELPER.getPathWithinApplication(delegate));
+	}
+
+	HttpServletRequestTextMap(HttpServletRequest delegate, String uri) {
 		this.delegate = delegate;
-		UrlPathHelper urlPathHelper = new UrlPathHelper();
-		this.additionalHeaders.put(ZipkinHttpSpanExtractor.URI_HEADER,
-				urlPathHelper.getPathWithinApplication(delegate));
+		this.additionalHeaders.put(ZipkinHttpSpanExtractor.URI_HEADER, uri);
+	}
+
+	@Override
+	public String get(String key) {
+		String value = this.additionalHeaders.get(key);
+		if (value != null) {
+			return value;
+		}
+		return this.delegate.getHeader(key);
+	}
+
+	@Override
+	public Iterable<String> keys() {
+		List<String> keys = new ArrayList<>(this.additionalHeaders.keySet());
+		Enumeration<String> headerNames = this.delegate.getHeaderNames();
+		while (headerNames != null && headerNames.hasMoreElements()) {
+			keys.add(headerNames.nextElement());
+		}
+		return keys;
 	}
 
 	@Override
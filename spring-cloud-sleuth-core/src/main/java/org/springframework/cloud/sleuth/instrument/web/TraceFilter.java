@@ -36,6 +36,7 @@ import org.springframework.cloud.sleuth.TraceKeys;
 import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.cloud.sleuth.sampler.AlwaysSampler;
 import org.springframework.cloud.sleuth.sampler.NeverSampler;
+import org.springframework.cloud.sleuth.util.B3SingleFormat;
 import org.springframework.cloud.sleuth.util.ExceptionUtils;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -129,7 +130,8 @@ public class TraceFilter extends GenericFilterBean {
 		HttpServletResponse response = (HttpServletResponse) servletResponse;
 		String uri = this.urlPathHelper.getPathWithinApplication(request);
 		boolean skip = this.skipPattern.matcher(uri).matches()
-				|| Span.SPAN_NOT_SAMPLED.equals(ServletUtils.getHeader(request, response, Span.SAMPLED_NAME));
+				|| Span.SPAN_NOT_SAMPLED.equals(ServletUtils.getHeader(request, response, Span.SAMPLED_NAME))
+				|| Span.SPAN_NOT_SAMPLED.equals(ServletUtils.getHeader(request, response, B3SingleFormat.HEADER_NAME));
 		Span spanFromRequest = getSpanFromAttribute(request);
 		if (spanFromRequest != null) {
 			continueSpan(request, spanFromRequest);
@@ -146,7 +148,7 @@ public class TraceFilter extends GenericFilterBean {
 		String name = HTTP_COMPONENT + ":" + uri;
 		Throwable exception = null;
 		try {
-			spanFromRequest = createSpan(request, skip, spanFromRequest, name);
+			spanFromRequest = createSpan(request, skip, spanFromRequest, name, uri);
 			filterChain.doFilter(request, new TraceHttpServletResponse(response, spanFromRequest));
 		} catch (Throwable e) {
 			exception = e;
@@ -305,14 +307,14 @@ public class TraceFilter extends GenericFilterBean {
 	 * Creates a span and appends it as the current request's attribute
 	 */
 	private Span createSpan(HttpServletRequest request,
-			boolean skip, Span spanFromRequest, String name) {
+			boolean skip, Span spanFromRequest, String name, String uri) {
 		if (spanFromRequest != null) {
 			if (log.isDebugEnabled()) {
 				log.debug("Span has already been created - continuing with the previous one");
 			}
 			return spanFromRequest;
 		}
-		Span parent = this.spanExtractor.joinTrace(new HttpServletRequestTextMap(request));
+		Span parent = this.spanExtractor.joinTrace(new HttpServletRequestTextMap(request, uri));
 		if (parent != null) {
 			if (log.isDebugEnabled()) {
 				log.debug("Found a parent span " + parent + " in the request");
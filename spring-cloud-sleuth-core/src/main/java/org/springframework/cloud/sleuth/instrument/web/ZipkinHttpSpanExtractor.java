@@ -1,18 +1,23 @@
 package org.springframework.cloud.sleuth.instrument.web;
 
 import java.lang.invoke.MethodHandles;
-import java.util.Map;
-import java.util.Random;
 import java.util.regex.Pattern;
 
 import org.apache.commons.logging.LogFactory;
+import org.springframework.cloud.sleuth.IdGenerator;
+import org.springframework.cloud.sleuth.LookupSpanTextMap;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.SpanTextMap;
+import org.springframework.cloud.sleuth.util.B3SingleFormat;
+import org.springframework.cloud.sleuth.util.RandomIdGenerator;
 import org.springframework.cloud.sleuth.util.TextMapUtil;
+import org.springframework.cloud.sleuth.util.TraceparentFormat;
 import org.springframework.util.StringUtils;
 
 /**
- * Default implementation, compatible with Zipkin propagation.
+ * Default implementation, compatible with Zipkin propagation. Accepts the single
+ * {@code b3} header, the W3C {@code traceparent} header and the separate B3 headers, in
+ * that order of precedence.
  *
  * @author Marcin Grzejszczak
  * @since 1.2.0
@@ -26,83 +31,97 @@ public class ZipkinHttpSpanExtractor implements HttpSpanExtractor {
 	private static final String HTTP_COMPONENT = "http";
 
 	private final Pattern skipPattern;
+	private final IdGenerator idGenerator;
 
 	public ZipkinHttpSpanExtractor(Pattern skipPattern) {
+		this(skipPattern, new RandomIdGenerator());
+	}
+
+	public ZipkinHttpSpanExtractor(Pattern skipPattern, IdGenerator idGenerator) {
 		this.skipPattern = skipPattern;
+		this.idGenerator = idGenerator;
 	}
 
 	@Override
 	public Span joinTrace(SpanTextMap textMap) {
-		Map<String, String> carrier = TextMapUtil.asMap(textMap);
-		boolean debug = Span.SPAN_SAMPLED.equals(carrier.get(Span.SPAN_FLAGS));
-		if (debug) {
-			// we're only generating Trace ID since if there's no Span ID will assume
-			// that it's equal to Trace ID
-			generateIdIfMissing(carrier, Span.TRACE_ID_NAME);
-		} else if (carrier.get(Span.TRACE_ID_NAME) == null) {
-			// can't build a Span without trace id
-			return null;
-		}
+		LookupSpanTextMap carrier = TextMapUtil.asLookup(textMap);
 		try {
-			String uri = carrier.get(URI_HEADER);
-			boolean skip = this.skipPattern.matcher(uri).matches()
-					|| Span.SPAN_NOT_SAMPLED.equals(carrier.get(Span.SAMPLED_NAME));
-			long spanId = spanId(carrier);
-			return buildParentSpan(carrier, uri, skip, spanId);
+			String b3 = carrier.get(B3SingleFormat.HEADER_NAME);
+			Span.SpanBuilder span = B3SingleFormat.parse(b3);
+			if (span != null) {
+				return buildParentSpan(carrier, span, false, B3SingleFormat.isDebug(b3));
+			}
+			span = TraceparentFormat.parse(carrier.get(TraceparentFormat.HEADER_NAME));
+			if (span != null) {
+				return buildParentSpan(carrier, span, false, false);
+			}
+			return joinMultiHeaderTrace(carrier);
 		} catch (Exception e) {
 			log.error("Exception occurred while trying to extract span from carrier", e);
 			return null;
 		}
 	}
 
-	private void generateIdIfMissing(Map<String, String> carrier, String key) {
-		if (!carrier.containsKey(key)) {
-			carrier.put(key, Span.idToHex(new Random().nextLong()));
+	private Span joinMultiHeaderTrace(LookupSpanTextMap carrier) {
+		boolean debug = Span.SPAN_SAMPLED.equals(carrier.get(Span.SPAN_FLAGS));
+		String traceId = carrier.get(Span.TRACE_ID_NAME);
+		if (traceId == null) {
+			if (!debug) {
+				// can't build a Span without trace id
+				return null;
+			}
+			// we're only generating Trace ID since if there's no Span ID will assume
+			// that it's equal to Trace ID
+			traceId = Span.idToHex(this.idGenerator.nextId());
 		}
+		boolean unsampled = Span.SPAN_NOT_SAMPLED.equals(carrier.get(Span.SAMPLED_NAME));
+		Span.SpanBuilder span = Span.builder()
+				.traceIdHigh(traceId.length() == 32 ? Span.hexToId(traceId, 0) : 0)
+				.traceId(Span.hexToId(traceId))
+				.spanId(spanId(carrier, traceId));
+		String processId = carrier.get(Span.PROCESS_ID_NAME);
+		if (StringUtils.hasText(processId)) {
+			span.processId(processId);
+		}
+		String parentId = carrier.get(Span.PARENT_ID_NAME);
+		if (parentId != null) {
+			span.parent(Span.hexToId(parentId));
+		}
+		return buildParentSpan(carrier, span, unsampled, debug);
 	}
 
-	private long spanId(Map<String, String> carrier) {
+	private long spanId(LookupSpanTextMap carrier, String traceId) {
 		String spanId = carrier.get(Span.SPAN_ID_NAME);
 		if (spanId == null) {
 			if (log.isDebugEnabled()) {
 				log.debug("Request is missing a span id but it has a trace id. We'll assume that this is "
 						+ "a root span with span id equal to the lower 64-bits of the trace id");
 			}
-			return Span.hexToId(carrier.get(Span.TRACE_ID_NAME));
+			return Span.hexToId(traceId);
 		} else {
 			return Span.hexToId(spanId);
 		}
 	}
 
-	private Span buildParentSpan(Map<String, String> carrier, String uri, boolean skip, long spanId) {
-		String traceId = carrier.get(Span.TRACE_ID_NAME);
-		Span.SpanBuilder span = Span.builder()
-				.traceIdHigh(traceId.length() == 32 ? Span.hexToId(traceId, 0) : 0)
-				.traceId(Span.hexToId(traceId))
-				.spanId(spanId);
-		String processId = carrier.get(Span.PROCESS_ID_NAME);
+	private Span buildParentSpan(LookupSpanTextMap carrier, Span.SpanBuilder span,
+			boolean unsampled, boolean debug) {
+		String uri = carrier.get(URI_HEADER);
+		boolean skip = unsampled || this.skipPattern.matcher(uri).matches();
 		String parentName = carrier.get(Span.SPAN_NAME_NAME);
 		if (StringUtils.hasText(parentName)) {
 			span.name(parentName);
 		}  else {
 			span.name(HTTP_COMPONENT + ":/parent" + uri);
 		}
-		if (StringUtils.hasText(processId)) {
-			span.processId(processId);
-		}
-		if (carrier.containsKey(Span.PARENT_ID_NAME)) {
-			span.parent(Span.hexToId(carrier.get(Span.PARENT_ID_NAME)));
-		}
 		span.remote(true);
-		boolean debug = Span.SPAN_SAMPLED.equals(carrier.get(Span.SPAN_FLAGS));
 		if (debug) {
 			span.exportable(true);
 		} else if (skip) {
 			span.exportable(false);
 		}
-		for (Map.Entry<String, String> entry : carrier.entrySet()) {
-			if (entry.getKey().startsWith(Span.SPAN_BAGGAGE_HEADER_PREFIX + HEADER_DELIMITER)) {
-				span.baggage(unprefixedKey(entry.getKey()), entry.getValue());
+		for (String key : carrier.keys()) {
+			if (key.startsWith(Span.SPAN_BAGGAGE_HEADER_PREFIX + HEADER_DELIMITER)) {
+				span.baggage(unprefixedKey(key), carrier.get(key));
 			}
 		}
 		return span.build();
@@ -1,13 +1,21 @@
 package org.springframework.cloud.sleuth.instrument.web;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
+import org.springframework.cloud.sleuth.PropagationType;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.SpanTextMap;
+import org.springframework.cloud.sleuth.util.B3SingleFormat;
+import org.springframework.cloud.sleuth.util.TraceparentFormat;
 import org.springframework.util.StringUtils;
 
 /**
  * Default implementation of {@link HttpSpanInjector}, compatible with Zipkin propagation.
+ * Writes the trace context in each of the given {@link PropagationType propagation
+ * types}, the separate B3 headers by default. Baggage is always written as separate
+ * headers.
  *
  * @author Marcin Grzejszczak
  * @since 1.2.0
@@ -16,14 +24,39 @@ public class ZipkinHttpSpanInjector implements HttpSpanInjector {
 
 	private static final String HEADER_DELIMITER = "-";
 
+	private final boolean b3Multi;
+	private final boolean b3Single;
+	private final boolean w3c;
+
+	public ZipkinHttpSpanInjector() {
+		this(Collections.singleton(PropagationType.B3_MULTI));
+	}
+
+	/**
+	 * @since 1.2.1
+	 */
+	public ZipkinHttpSpanInjector(Collection<PropagationType> propagationTypes) {
+		this.b3Multi = propagationTypes.contains(PropagationType.B3_MULTI);
+		this.b3Single = propagationTypes.contains(PropagationType.B3_SINGLE);
+		this.w3c = propagationTypes.contains(PropagationType.W3C);
+	}
+
 	@Override
 	public void inject(Span span, SpanTextMap carrier) {
-		setHeader(carrier, Span.TRACE_ID_NAME, span.traceIdString());
-		setIdHeader(carrier, Span.SPAN_ID_NAME, span.getSpanId());
-		setHeader(carrier, Span.SAMPLED_NAME, span.isExportable() ? Span.SPAN_SAMPLED : Span.SPAN_NOT_SAMPLED);
-		setHeader(carrier, Span.SPAN_NAME_NAME, span.getName());
-		setIdHeader(carrier, Span.PARENT_ID_NAME, getParentId(span));
-		setHeader(carrier, Span.PROCESS_ID_NAME, span.getProcessId());
+		if (this.b3Multi) {
+			setHeader(carrier, Span.TRACE_ID_NAME, span.traceIdString());
+			setHeader(carrier, Span.SPAN_ID_NAME, span.spanIdString());
+			setHeader(carrier, Span.SAMPLED_NAME, span.isExportable() ? Span.SPAN_SAMPLED : Span.SPAN_NOT_SAMPLED);
+			setHeader(carrier, Span.SPAN_NAME_NAME, span.getName());
+			setIdHeader(carrier, Span.PARENT_ID_NAME, getParentId(span));
+			setHeader(carrier, Span.PROCESS_ID_NAME, span.getProcessId());
+		}
+		if (this.b3Single) {
+			carrier.put(B3SingleFormat.HEADER_NAME, B3SingleFormat.write(span));
+		}
+		if (this.w3c) {
+			carrier.put(TraceparentFormat.HEADER_NAME, TraceparentFormat.write(span));
+		}
 		for (Map.Entry<String, String> entry : span.baggageItems()) {
 			carrier.put(prefixedKey(entry.getKey()), entry.getValue());
 		}
@@ -16,23 +16,19 @@
 
 package org.springframework.cloud.sleuth.instrument.web.client.feign;
 
-import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.SpanInjector;
-import org.springframework.util.StringUtils;
+import org.springframework.cloud.sleuth.instrument.web.HttpSpanInjector;
+import org.springframework.cloud.sleuth.instrument.web.ZipkinHttpSpanInjector;
 
 import feign.Request;
 
 /**
  * Span injector that injects tracing info to {@link Request} via {@link AtomicReference}
- * since {@link Request} is immutable.
+ * since {@link Request} is immutable. The headers are written by the given
+ * {@link HttpSpanInjector}, so that they follow the configured propagation types.
  *
  * @author Marcin Grzejszczak
  *
@@ -40,40 +36,23 @@ import feign.Request;
  */
 class FeignRequestInjector implements SpanInjector<AtomicReference<Request>> {
 
-	@Override
-	public void inject(Span span, AtomicReference<Request> carrier) {
-		String method = carrier.get().method();
-		String url = carrier.get().url();
-		Map<String, Collection<String>> headers = new HashMap<>(carrier.get().headers());
-		byte[] body = carrier.get().body();
-		Charset charset = carrier.get().charset();
-		if (span == null) {
-			setHeader(headers, Span.SAMPLED_NAME, Span.SPAN_NOT_SAMPLED);
-			carrier.set(Request.create(method, url, headers, body, charset));
-			return;
-		}
-		setHeader(headers, Span.TRACE_ID_NAME, Span.idToHex(span.getTraceId()));
-		setHeader(headers, Span.SPAN_NAME_NAME, span.getName());
-		setHeader(headers, Span.SPAN_ID_NAME, Span.idToHex(span.getSpanId()));
-		setHeader(headers, Span.SAMPLED_NAME, span.isExportable() ?
-				Span.SPAN_SAMPLED : Span.SPAN_NOT_SAMPLED);
-		Long parentId = getParentId(span);
-		if (parentId != null) {
-			setHeader(headers, Span.PARENT_ID_NAME, Span.idToHex(parentId));
-		}
-		setHeader(headers, Span.PROCESS_ID_NAME, span.getProcessId());
-		carrier.set(Request.create(method, url, headers, body, charset));
+	private final HttpSpanInjector spanInjector;
+
+	FeignRequestInjector() {
+		this(new ZipkinHttpSpanInjector());
 	}
 
-	private Long getParentId(Span span) {
-		return !span.getParents().isEmpty() ? span.getParents().get(0) : null;
+	FeignRequestInjector(HttpSpanInjector spanInjector) {
+		this.spanInjector = spanInjector;
 	}
 
-	protected void setHeader(Map<String, Collection<String>> headers, String name, String value) {
-		if (StringUtils.hasText(value) && !headers.containsKey(name)) {
-			List<String> list = new ArrayList<>();
-			list.add(value);
-			headers.put(name, list);
+	@Override
+	public void inject(Span span, AtomicReference<Request> carrier) {
+		FeignRequestTextMap textMap = new FeignRequestTextMap(carrier);
+		if (span == null) {
+			textMap.put(Span.SAMPLED_NAME, Span.SPAN_NOT_SAMPLED);
+			return;
 		}
+		this.spanInjector.inject(span, textMap);
 	}
 }
@@ -26,7 +26,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.springframework.cloud.sleuth.LookupSpanTextMap;
 import org.springframework.cloud.sleuth.SpanTextMap;
+import org.springframework.cloud.sleuth.util.TextMapUtil;
 import org.springframework.util.StringUtils;
 
 import feign.Request;
@@ -37,14 +39,29 @@ import feign.Request;
  * @author Marcin Grzejszczak
  * @since 1.2.0
  */
-class FeignRequestTextMap implements SpanTextMap {
+class FeignRequestTextMap implements LookupSpanTextMap {
 
 	private final AtomicReference<Request> delegate;
+	private TextMapUtil.IgnoreCaseLookup<Collection<String>> ignoreCase;
 
 	FeignRequestTextMap(AtomicReference<Request> delegate) {
 		this.delegate = delegate;
 	}
 
+	@Override
+	public String get(String key) {
+		Collection<String> values = ignoreCase().get(key);
+		if (values == null) {
+			return null;
+		}
+		return values.isEmpty() ? "" : values.iterator().next();
+	}
+
+	@Override
+	public Iterable<String> keys() {
+		return this.delegate.get().headers().keySet();
+	}
+
 	@Override
 	public Iterator<Map.Entry<String, String>> iterator() {
 		final Iterator<Map.Entry<String, Collection<String>>> iterator = this.delegate.get().headers().entrySet().iterator();
@@ -75,6 +92,18 @@ class FeignRequestTextMap implements SpanTextMap {
 		this.delegate.set(Request.create(method, url, headers, body, charset));
 	}
 
+	/**
+	 * The headers change with each {@link #put(String, String)}, so the view is created
+	 * again when the request got replaced.
+	 */
+	private TextMapUtil.IgnoreCaseLookup<Collection<String>> ignoreCase() {
+		Map<String, Collection<String>> headers = this.delegate.get().headers();
+		if (this.ignoreCase == null || !this.ignoreCase.isViewOf(headers)) {
+			this.ignoreCase = new TextMapUtil.IgnoreCaseLookup<>(headers);
+		}
+		return this.ignoreCase;
+	}
+
 	private void addHeader(String key, String value,
 			Map<String, Collection<String>> headers) {
 		if (!headers.containsKey(key)) {
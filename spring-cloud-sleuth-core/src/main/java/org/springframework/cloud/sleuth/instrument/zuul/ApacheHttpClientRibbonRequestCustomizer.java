@@ -24,6 +24,7 @@ import org.apache.http.Header;
 import org.apache.http.client.methods.RequestBuilder;
 import org.springframework.cloud.sleuth.SpanTextMap;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.instrument.web.HttpSpanInjector;
 
 /**
  * Customization of a Ribbon request for Apache HttpClient
@@ -33,8 +34,8 @@ import org.springframework.cloud.sleuth.Tracer;
  */
 class ApacheHttpClientRibbonRequestCustomizer extends SpanInjectingRibbonRequestCustomizer<RequestBuilder> {
 
-	ApacheHttpClientRibbonRequestCustomizer(Tracer tracer) {
-		super(tracer);
+	ApacheHttpClientRibbonRequestCustomizer(Tracer tracer, HttpSpanInjector spanInjector) {
+		super(tracer, spanInjector);
 	}
 
 	@Override
@@ -23,6 +23,7 @@ import java.util.Map;
 
 import org.springframework.cloud.sleuth.SpanTextMap;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.instrument.web.HttpSpanInjector;
 
 import okhttp3.Request;
 
@@ -34,8 +35,8 @@ import okhttp3.Request;
  */
 class OkHttpClientRibbonRequestCustomizer extends SpanInjectingRibbonRequestCustomizer<Request.Builder> {
 
-	OkHttpClientRibbonRequestCustomizer(Tracer tracer) {
-		super(tracer);
+	OkHttpClientRibbonRequestCustomizer(Tracer tracer, HttpSpanInjector spanInjector) {
+		super(tracer, spanInjector);
 	}
 
 	@Override
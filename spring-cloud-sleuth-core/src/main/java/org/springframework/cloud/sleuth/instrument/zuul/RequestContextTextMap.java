@@ -21,7 +21,9 @@ import java.util.Map;
 
 import com.netflix.zuul.context.RequestContext;
 
+import org.springframework.cloud.sleuth.LookupSpanTextMap;
 import org.springframework.cloud.sleuth.SpanTextMap;
+import org.springframework.cloud.sleuth.util.TextMapUtil;
 
 /**
  * A {@link SpanTextMap} abstraction over {@link RequestContext}
@@ -29,14 +31,29 @@ import org.springframework.cloud.sleuth.SpanTextMap;
  * @author Marcin Grzejszczak
  * @since 1.2.0
  */
-class RequestContextTextMap implements SpanTextMap {
+class RequestContextTextMap implements LookupSpanTextMap {
 
 	private final RequestContext carrier;
+	private TextMapUtil.IgnoreCaseLookup<String> ignoreCase;
 
 	RequestContextTextMap(RequestContext carrier) {
 		this.carrier = carrier;
 	}
 
+	@Override
+	public String get(String key) {
+		if (this.ignoreCase == null) {
+			this.ignoreCase = new TextMapUtil.IgnoreCaseLookup<>(
+					this.carrier.getZuulRequestHeaders());
+		}
+		return this.ignoreCase.get(key);
+	}
+
+	@Override
+	public Iterable<String> keys() {
+		return this.carrier.getZuulRequestHeaders().keySet();
+	}
+
 	@Override
 	public Iterator<Map.Entry<String, String>> iterator() {
 		return this.carrier.getZuulRequestHeaders().entrySet().iterator();
@@ -45,5 +62,6 @@ class RequestContextTextMap implements SpanTextMap {
 	@Override
 	public void put(String key, String value) {
 		this.carrier.getZuulRequestHeaders().put(key, value);
+		this.ignoreCase = null;
 	}
 }
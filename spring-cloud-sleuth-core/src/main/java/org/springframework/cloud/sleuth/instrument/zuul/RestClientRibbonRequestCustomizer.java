@@ -23,6 +23,7 @@ import com.netflix.client.http.HttpRequest;
 
 import org.springframework.cloud.sleuth.SpanTextMap;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.instrument.web.HttpSpanInjector;
 
 /**
  * Customization of a Ribbon request for Netflix HttpClient
@@ -32,8 +33,8 @@ import org.springframework.cloud.sleuth.Tracer;
  */
 class RestClientRibbonRequestCustomizer extends SpanInjectingRibbonRequestCustomizer<HttpRequest.Builder> {
 
-	RestClientRibbonRequestCustomizer(Tracer tracer) {
-		super(tracer);
+	RestClientRibbonRequestCustomizer(Tracer tracer, HttpSpanInjector spanInjector) {
+		super(tracer, spanInjector);
 	}
 
 	@Override
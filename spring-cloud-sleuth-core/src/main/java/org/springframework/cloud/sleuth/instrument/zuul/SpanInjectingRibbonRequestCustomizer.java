@@ -25,6 +25,7 @@ import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.SpanInjector;
 import org.springframework.cloud.sleuth.SpanTextMap;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.instrument.web.HttpSpanInjector;
 
 /**
  * Abstraction over customization of Ribbon Requests. All clients will inject the span
@@ -43,9 +44,11 @@ abstract class SpanInjectingRibbonRequestCustomizer<T> implements RibbonRequestC
 	private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
 
 	private final Tracer tracer;
+	private final HttpSpanInjector spanInjector;
 
-	SpanInjectingRibbonRequestCustomizer(Tracer tracer) {
+	SpanInjectingRibbonRequestCustomizer(Tracer tracer, HttpSpanInjector spanInjector) {
 		this.tracer = tracer;
+		this.spanInjector = spanInjector;
 	}
 
 	@Override
@@ -66,20 +69,7 @@ abstract class SpanInjectingRibbonRequestCustomizer<T> implements RibbonRequestC
 			carrier.put(Span.SAMPLED_NAME, Span.SPAN_NOT_SAMPLED);
 			return;
 		}
-		carrier.put(Span.SAMPLED_NAME, span.isExportable() ?
-				Span.SPAN_SAMPLED : Span.SPAN_NOT_SAMPLED);
-		carrier.put(Span.TRACE_ID_NAME, span.traceIdString());
-		carrier.put(Span.SPAN_ID_NAME, Span.idToHex(span.getSpanId()));
-		carrier.put(Span.SPAN_NAME_NAME, span.getName());
-		if (getParentId(span) != null) {
-			carrier.put(Span.PARENT_ID_NAME, Span.idToHex(getParentId(span)));
-		}
-		carrier.put(Span.PROCESS_ID_NAME, span.getProcessId());
-	}
-
-	private Long getParentId(Span span) {
-		return !span.getParents().isEmpty()
-				? span.getParents().get(0) : null;
+		this.spanInjector.inject(span, carrier);
 	}
 
 	private Span getCurrentSpan() {
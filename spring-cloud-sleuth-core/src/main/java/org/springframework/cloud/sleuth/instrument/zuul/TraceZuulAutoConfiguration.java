@@ -72,20 +72,23 @@ public class TraceZuulAutoConfiguration {
 
 	@Bean
 	@ConditionalOnClass(name = "com.netflix.client.http.HttpRequest.Builder")
-	public RibbonRequestCustomizer<HttpRequest.Builder> restClientRibbonRequestCustomizer(Tracer tracer) {
-		return new RestClientRibbonRequestCustomizer(tracer);
+	public RibbonRequestCustomizer<HttpRequest.Builder> restClientRibbonRequestCustomizer(Tracer tracer,
+			HttpSpanInjector spanInjector) {
+		return new RestClientRibbonRequestCustomizer(tracer, spanInjector);
 	}
 
 	@Bean
 	@ConditionalOnClass(name = "org.apache.http.client.methods.RequestBuilder")
-	public RibbonRequestCustomizer<RequestBuilder> apacheHttpRibbonRequestCustomizer(Tracer tracer) {
-		return new ApacheHttpClientRibbonRequestCustomizer(tracer);
+	public RibbonRequestCustomizer<RequestBuilder> apacheHttpRibbonRequestCustomizer(Tracer tracer,
+			HttpSpanInjector spanInjector) {
+		return new ApacheHttpClientRibbonRequestCustomizer(tracer, spanInjector);
 	}
 
 	@Bean
 	@ConditionalOnClass(name = "okhttp3.Request.Builder")
-	public RibbonRequestCustomizer<Request.Builder> okHttpRibbonRequestCustomizer(Tracer tracer) {
-		return new OkHttpClientRibbonRequestCustomizer(tracer);
+	public RibbonRequestCustomizer<Request.Builder> okHttpRibbonRequestCustomizer(Tracer tracer,
+			HttpSpanInjector spanInjector) {
+		return new OkHttpClientRibbonRequestCustomizer(tracer, spanInjector);
 	}
 
 	@Bean
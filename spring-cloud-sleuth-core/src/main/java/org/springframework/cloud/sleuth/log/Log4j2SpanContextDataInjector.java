@@ -0,0 +1,152 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.log;
+
+import java.util.List;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.ContextDataInjector;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.ThreadContextDataInjector;
+import org.apache.logging.log4j.spi.CopyOnWrite;
+import org.apache.logging.log4j.spi.ReadOnlyThreadContextMap;
+import org.apache.logging.log4j.spi.ThreadContextMap2;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.StringMap;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+
+/**
+ * Log4j2 {@link ContextDataInjector} that adds the ids of the current span of the
+ * {@link Tracer} to the context data of each log event, under the same keys as the SLF4J
+ * MDC entries. The rest of the context data is taken from the
+ * {@link ThreadContext} as Log4j2 would do by default.
+ * <p>
+ * Log4j2 instantiates the injector itself, so it has to be registered via the
+ * {@code log4j2.ContextDataInjector} system property (or in
+ * {@code log4j2.component.properties}) with the name of this class. The tracer is set
+ * via {@link #setTracer(Tracer)} by the auto-configuration.
+ * <p>
+ * The ids are the strings cached by the {@link Span} so that no garbage is produced per
+ * log event. The parent id is converted once per span and thread. They are immutable thus safe to be rendered by asynchronous loggers.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+public class Log4j2SpanContextDataInjector implements ContextDataInjector {
+
+	private static final String TRUE = "true";
+	private static final String FALSE = "false";
+
+	private static final ThreadLocal<String[]> PARENT_ID = new ThreadLocal<String[]>() {
+		@Override protected String[] initialValue() {
+			return new String[2];
+		}
+	};
+
+	private static volatile Tracer tracer;
+
+	private final ContextDataInjector delegate;
+
+	public Log4j2SpanContextDataInjector() {
+		this(defaultInjector());
+	}
+
+	Log4j2SpanContextDataInjector(ContextDataInjector delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public StringMap injectContextData(List<Property> properties, StringMap reusable) {
+		StringMap contextData = this.delegate.injectContextData(properties, reusable);
+		Tracer tracer = Log4j2SpanContextDataInjector.tracer;
+		Span span = tracer != null ? tracer.getCurrentSpan() : null;
+		if (span == null) {
+			return contextData;
+		}
+		contextData = writable(contextData, reusable);
+		contextData.putValue(Span.TRACE_ID_NAME, span.traceIdString());
+		contextData.putValue(Span.SPAN_ID_NAME, span.spanIdString());
+		contextData.putValue(Span.SPAN_EXPORT_NAME, span.isExportable() ? TRUE : FALSE);
+		String parentId = parentId(span);
+		if (parentId != null) {
+			contextData.putValue(Span.PARENT_ID_NAME, parentId);
+		}
+		return contextData;
+	}
+
+	/**
+	 * Sets the tracer whose current span gets to the logs, {@code null} to stop adding
+	 * the ids
+	 */
+	public static void setTracer(Tracer tracer) {
+		Log4j2SpanContextDataInjector.tracer = tracer;
+	}
+
+	@Override
+	public ReadOnlyStringMap rawContextData() {
+		return this.delegate.rawContextData();
+	}
+
+	/**
+	 * Only the id string of the last span is kept per thread, so that no span is kept
+	 * in memory after it got closed.
+	 */
+	private static String parentId(Span span) {
+		if (span.getParents().isEmpty()) {
+			return null;
+		}
+		String[] cached = PARENT_ID.get();
+		String spanId = span.spanIdString();
+		if (cached[0] != spanId) {
+			cached[0] = spanId;
+			cached[1] = Span.idToHex(span.getParents().get(0));
+		}
+		return cached[1];
+	}
+
+	/**
+	 * The default injectors return a frozen copy of the thread context when there are no
+	 * properties to add.
+	 */
+	private StringMap writable(StringMap contextData, StringMap reusable) {
+		if (!contextData.isFrozen()) {
+			return contextData;
+		}
+		StringMap result = reusable == null || reusable.isFrozen() ?
+				ContextDataFactory.createContextData() : reusable;
+		result.clear();
+		result.putAll(contextData);
+		return result;
+	}
+
+	/**
+	 * Picks the injector Log4j2 would use for the configured thread context map
+	 */
+	private static ContextDataInjector defaultInjector() {
+		ReadOnlyThreadContextMap threadContextMap = ThreadContext.getThreadContextMap();
+		if (threadContextMap instanceof CopyOnWrite
+				&& threadContextMap instanceof ThreadContextMap2) {
+			return new ThreadContextDataInjector.ForCopyOnWriteThreadContextMap();
+		}
+		if (threadContextMap instanceof ThreadContextMap2) {
+			return new ThreadContextDataInjector.ForGarbageFreeThreadContextMap();
+		}
+		return new ThreadContextDataInjector.ForDefaultThreadContextMap();
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.log;
+
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.cloud.sleuth.Span;
+
+/**
+ * Span logger for Log4j2 that doesn't maintain the MDC, so that span transitions don't
+ * allocate. The tracing ids of the tracer's current span get added to the context data
+ * of the log events by {@link Log4j2SpanContextDataInjector}.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+public class Log4j2SpanLogger implements SpanLogger {
+
+	private final Logger log;
+	private final Pattern nameSkipPattern;
+
+	public Log4j2SpanLogger(String nameSkipPattern) {
+		this(nameSkipPattern, LogManager.getLogger(Log4j2SpanLogger.class));
+	}
+
+	Log4j2SpanLogger(String nameSkipPattern, Logger log) {
+		this.nameSkipPattern = Pattern.compile(nameSkipPattern);
+		this.log = log;
+	}
+
+	@Override
+	public void logStartedSpan(Span parent, Span span) {
+		log("Starting span: {}", span);
+		log("With parent: {}", parent);
+	}
+
+	@Override
+	public void logContinuedSpan(Span span) {
+		log("Continued span: {}", span);
+	}
+
+	@Override
+	public void logStoppedSpan(Span parent, Span span) {
+		if (span != null) {
+			log("Stopped span: {}", span);
+		}
+		if (span != null && parent != null) {
+			log("With parent: {}", parent);
+		}
+	}
+
+	private void log(String text, Span span) {
+		if (span == null || !this.log.isTraceEnabled()) {
+			return;
+		}
+		if (this.nameSkipPattern.matcher(span.getName()).matches()) {
+			return;
+		}
+		this.log.trace(text, span);
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.log;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Logback {@link TurboFilter} that sets the tracing MDC entries from the current span
+ * only when an event is about to be logged. Used together with a {@link Slf4jSpanLogger}
+ * that doesn't populate the MDC, so that span transitions that don't result in a log
+ * line don't pay for the MDC maintenance. Patterns referring to the
+ * {@code X-B3-*} MDC entries keep working.
+ * <p>
+ * The filter never denies an event.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+public class LogbackSpanMdcTurboFilter extends TurboFilter {
+
+	private final Tracer tracer;
+
+	public LogbackSpanMdcTurboFilter(Tracer tracer) {
+		this.tracer = tracer;
+	}
+
+	@Override
+	public FilterReply decide(Marker marker, Logger logger, Level level, String format,
+			Object[] params, Throwable t) {
+		if (format == null && t == null) {
+			// level checks like isDebugEnabled()
+			return FilterReply.NEUTRAL;
+		}
+		if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+			return FilterReply.NEUTRAL;
+		}
+		updateMdc(this.tracer.getCurrentSpan());
+		return FilterReply.NEUTRAL;
+	}
+
+	@Override
+	public void stop() {
+		if (getContext() instanceof LoggerContext) {
+			((LoggerContext) getContext()).getTurboFilterList().remove(this);
+		}
+		super.stop();
+	}
+
+	/**
+	 * Compares the MDC with the span's cached id strings instead of remembering the last
+	 * span per thread, so that no span is kept in memory after it got closed. That also
+	 * covers an MDC that got cleared by the user in the meantime.
+	 */
+	private void updateMdc(Span span) {
+		if (span == null) {
+			if (MDC.get(Span.SPAN_ID_NAME) != null) {
+				MDC.remove(Span.SPAN_ID_NAME);
+				MDC.remove(Span.SPAN_EXPORT_NAME);
+				MDC.remove(Span.TRACE_ID_NAME);
+				MDC.remove(Span.PARENT_ID_NAME);
+			}
+			return;
+		}
+		String spanId = span.spanIdString();
+		String traceId = span.traceIdString();
+		String exportable = String.valueOf(span.isExportable());
+		if (spanId.equals(MDC.get(Span.SPAN_ID_NAME))
+				&& traceId.equals(MDC.get(Span.TRACE_ID_NAME))
+				&& exportable.equals(MDC.get(Span.SPAN_EXPORT_NAME))) {
+			return;
+		}
+		MDC.put(Span.SPAN_ID_NAME, spanId);
+		MDC.put(Span.SPAN_EXPORT_NAME, exportable);
+		MDC.put(Span.TRACE_ID_NAME, traceId);
+		if (!span.getParents().isEmpty()) {
+			MDC.put(Span.PARENT_ID_NAME, Span.idToHex(span.getParents().get(0)));
+		}
+		else {
+			MDC.remove(Span.PARENT_ID_NAME);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package org.springframework.cloud.sleuth.log;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for Log4j2
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+@ConfigurationProperties("spring.sleuth.log.log4j2")
+public class SleuthLog4j2Properties {
+
+	/**
+	 * Enable a {@link Log4j2SpanLogger} instead of the Slf4j one. The tracing ids get to the
+	 * logs only if {@link Log4j2SpanContextDataInjector} is set as the
+	 * log4j2.ContextDataInjector system property.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Name pattern for which span should not be printed in the logs.
+	 */
+	private String nameSkipPattern = "";
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public String getNameSkipPattern() {
+		return this.nameSkipPattern;
+	}
+
+	public void setNameSkipPattern(String nameSkipPattern) {
+		this.nameSkipPattern = nameSkipPattern;
+	}
+}
@@ -16,20 +16,30 @@
 
 package org.springframework.cloud.sleuth.log;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import ch.qos.logback.classic.LoggerContext;
+
 /**
  * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration Auto-configuration}
  * enables a {@link Slf4jSpanLogger} that prints tracing information in the logs.
  * <p>
- * Note: this is only available for Slf4j
+ * Note: this is only available for Slf4j. Log4j2 users can opt in for a
+ * {@link Log4j2SpanLogger} that doesn't allocate on span transitions.
  *
  * @author Spencer Gibb
  * @since 1.0.0
@@ -38,19 +48,88 @@ import org.springframework.context.annotation.Configuration;
 @ConditionalOnProperty(value="spring.sleuth.enabled", matchIfMissing=true)
 public class SleuthLogAutoConfiguration {
 
+	@Configuration
+	@ConditionalOnClass(name = "org.apache.logging.log4j.core.ContextDataInjector")
+	@ConditionalOnProperty(value = "spring.sleuth.log.log4j2.enabled", havingValue = "true")
+	@EnableConfigurationProperties(SleuthLog4j2Properties.class)
+	protected static class Log4j2Configuration {
+
+		private static final Log log = LogFactory.getLog(Log4j2Configuration.class);
+
+		@Bean
+		@ConditionalOnMissingBean
+		public SpanLogger log4j2SpanLogger(SleuthLog4j2Properties sleuthLog4j2Properties) {
+			if (!Log4j2SpanContextDataInjector.class.getName().equals(PropertiesUtil
+					.getProperties().getStringProperty("log4j2.ContextDataInjector"))) {
+				log.warn("Log4j2SpanContextDataInjector is not registered as the "
+						+ "log4j2.ContextDataInjector - the tracing ids won't be present in the logs");
+			}
+			return new Log4j2SpanLogger(sleuthLog4j2Properties.getNameSkipPattern());
+		}
+
+		@Bean
+		public Log4j2TracerRegistration log4j2TracerRegistration(Tracer tracer) {
+			return new Log4j2TracerRegistration(tracer);
+		}
+	}
+
+	/**
+	 * Log4j2 creates the {@link Log4j2SpanContextDataInjector} itself, so the tracer
+	 * whose current span gets to the logs is handed over statically.
+	 */
+	static class Log4j2TracerRegistration implements DisposableBean {
+
+		Log4j2TracerRegistration(Tracer tracer) {
+			Log4j2SpanContextDataInjector.setTracer(tracer);
+		}
+
+		@Override
+		public void destroy() {
+			Log4j2SpanContextDataInjector.setTracer(null);
+		}
+	}
+
 	@Configuration
 	@ConditionalOnClass(MDC.class)
 	@EnableConfigurationProperties(SleuthSlf4jProperties.class)
 	protected static class Slf4jConfiguration {
 
+		@Configuration
+		@ConditionalOnClass(name = "ch.qos.logback.classic.turbo.TurboFilter")
+		@ConditionalOnProperty(value = "spring.sleuth.log.slf4j.lazy-mdc", havingValue = "true")
+		protected static class LogbackLazyMdcConfiguration {
+
+			@Bean(destroyMethod = "stop")
+			@ConditionalOnMissingBean
+			public LogbackSpanMdcTurboFilter logbackSpanMdcTurboFilter(Tracer tracer) {
+				LogbackSpanMdcTurboFilter filter = new LogbackSpanMdcTurboFilter(tracer);
+				ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+				if (loggerFactory instanceof LoggerContext) {
+					filter.setContext((LoggerContext) loggerFactory);
+					((LoggerContext) loggerFactory).addTurboFilter(filter);
+				}
+				filter.start();
+				return filter;
+			}
+		}
+
 		@Bean
 		@ConditionalOnProperty(value = "spring.sleuth.log.slf4j.enabled", matchIfMissing = true)
 		@ConditionalOnMissingBean
 		public SpanLogger slf4jSpanLogger(SleuthSlf4jProperties sleuthSlf4jProperties) {
+			if (sleuthSlf4jProperties.isLazyMdc() && logbackInUse()) {
+				// MDC entries are set by the LogbackSpanMdcTurboFilter
+				return new Slf4jSpanLogger(sleuthSlf4jProperties.getNameSkipPattern(), false);
+			}
 			// Sets up MDC entries X-B3-TraceId and X-B3-SpanId
 			return new Slf4jSpanLogger(sleuthSlf4jProperties.getNameSkipPattern());
 		}
 
+		private static boolean logbackInUse() {
+			return "ch.qos.logback.classic.LoggerContext"
+					.equals(LoggerFactory.getILoggerFactory().getClass().getName());
+		}
+
 		@Bean
 		@ConditionalOnProperty(value = "spring.sleuth.log.slf4j.enabled", havingValue = "false")
 		@ConditionalOnMissingBean
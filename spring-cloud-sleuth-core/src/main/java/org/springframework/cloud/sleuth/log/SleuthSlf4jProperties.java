@@ -21,6 +21,12 @@ public class SleuthSlf4jProperties {
 	 */
 	private String nameSkipPattern = "";
 
+	/**
+	 * Set to true to put the tracing entries to the MDC only when an event gets logged
+	 * instead of on each span transition. Requires Logback.
+	 */
+	private boolean lazyMdc = false;
+
 	public boolean isEnabled() {
 		return this.enabled;
 	}
@@ -36,4 +42,12 @@ public class SleuthSlf4jProperties {
 	public void setNameSkipPattern(String nameSkipPattern) {
 		this.nameSkipPattern = nameSkipPattern;
 	}
+
+	public boolean isLazyMdc() {
+		return this.lazyMdc;
+	}
+
+	public void setLazyMdc(boolean lazyMdc) {
+		this.lazyMdc = lazyMdc;
+	}
 }
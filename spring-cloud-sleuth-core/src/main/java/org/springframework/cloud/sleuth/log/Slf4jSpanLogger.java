@@ -32,32 +32,57 @@ public class Slf4jSpanLogger implements SpanLogger {
 
 	private final Logger log;
 	private final Pattern nameSkipPattern;
+	private final boolean populateMdc;
 
 	public Slf4jSpanLogger(String nameSkipPattern) {
-		this.nameSkipPattern = Pattern.compile(nameSkipPattern);
-		this.log = org.slf4j.LoggerFactory.getLogger(Slf4jSpanLogger.class);
+		this(nameSkipPattern, true);
+	}
+
+	/**
+	 * @param populateMdc - if {@code false} the MDC entries are not maintained on span
+	 * transitions, e.g. because {@link LogbackSpanMdcTurboFilter} sets them when an event
+	 * gets logged
+	 * @since 1.2.1
+	 */
+	public Slf4jSpanLogger(String nameSkipPattern, boolean populateMdc) {
+		this(nameSkipPattern, org.slf4j.LoggerFactory.getLogger(Slf4jSpanLogger.class),
+				populateMdc);
 	}
 
 	Slf4jSpanLogger(String nameSkipPattern, Logger log) {
+		this(nameSkipPattern, log, true);
+	}
+
+	Slf4jSpanLogger(String nameSkipPattern, Logger log, boolean populateMdc) {
 		this.nameSkipPattern = Pattern.compile(nameSkipPattern);
 		this.log = log;
+		this.populateMdc = populateMdc;
 	}
 
 	@Override
 	public void logStartedSpan(Span parent, Span span) {
-		MDC.put(Span.SPAN_ID_NAME, Span.idToHex(span.getSpanId()));
+		if (!this.populateMdc) {
+			log("Starting span: {}", span);
+			log("With parent: {}", parent);
+			return;
+		}
+		MDC.put(Span.SPAN_ID_NAME, span.spanIdString());
 		MDC.put(Span.SPAN_EXPORT_NAME, String.valueOf(span.isExportable()));
 		MDC.put(Span.TRACE_ID_NAME, span.traceIdString());
 		log("Starting span: {}", span);
 		if (parent != null) {
 			log("With parent: {}", parent);
-			MDC.put(Span.PARENT_ID_NAME, Span.idToHex(parent.getSpanId()));
+			MDC.put(Span.PARENT_ID_NAME, parent.spanIdString());
 		}
 	}
 
 	@Override
 	public void logContinuedSpan(Span span) {
-		MDC.put(Span.SPAN_ID_NAME, Span.idToHex(span.getSpanId()));
+		if (!this.populateMdc) {
+			log("Continued span: {}", span);
+			return;
+		}
+		MDC.put(Span.SPAN_ID_NAME, span.spanIdString());
 		MDC.put(Span.TRACE_ID_NAME, span.traceIdString());
 		MDC.put(Span.SPAN_EXPORT_NAME, String.valueOf(span.isExportable()));
 		setParentIdIfPresent(span);
@@ -75,9 +100,15 @@ public class Slf4jSpanLogger implements SpanLogger {
 		if (span != null) {
 			log("Stopped span: {}", span);
 		}
+		if (!this.populateMdc) {
+			if (span != null) {
+				log("With parent: {}", parent);
+			}
+			return;
+		}
 		if (span != null && parent != null) {
 			log("With parent: {}", parent);
-			MDC.put(Span.SPAN_ID_NAME, Span.idToHex(parent.getSpanId()));
+			MDC.put(Span.SPAN_ID_NAME, parent.spanIdString());
 			MDC.put(Span.SPAN_EXPORT_NAME, String.valueOf(parent.isExportable()));
 			setParentIdIfPresent(parent);
 		}
@@ -90,12 +121,13 @@ public class Slf4jSpanLogger implements SpanLogger {
 	}
 
 	private void log(String text, Span span) {
-		if (span != null && this.nameSkipPattern.matcher(span.getName()).matches()) {
+		if (span == null || !this.log.isTraceEnabled()) {
 			return;
 		}
-		if (this.log.isTraceEnabled()) {
-			this.log.trace(text, span);
+		if (this.nameSkipPattern.matcher(span.getName()).matches()) {
+			return;
 		}
+		this.log.trace(text, span);
 	}
 
 }
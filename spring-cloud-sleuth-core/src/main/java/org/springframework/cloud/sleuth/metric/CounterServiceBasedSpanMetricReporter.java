@@ -1,10 +1,20 @@
 package org.springframework.cloud.sleuth.metric;
 
 import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.buffer.CounterBuffers;
+import org.springframework.boot.actuate.metrics.writer.CounterWriter;
+import org.springframework.boot.actuate.metrics.writer.Delta;
 
 /**
  * Service to operate on accepted and dropped spans statistics.
  * Operates on a {@link CounterService} underneath
+ * <p>
+ * Since a {@link CounterService} can only count one at a time, a batch of spans is
+ * written as a single delta to the {@link CounterBuffers} or the {@link CounterWriter}
+ * that backs it, when one is passed. Only otherwise does a batch result in as many
+ * increments. By default the {@link SpanReporterMetrics} is registered and passes the
+ * counts on to this reporter when there is a {@link CounterService}, so that they get
+ * exported.
  *
  * @author Marcin Grzejszczak
  * @since 1.0.0
@@ -13,25 +23,64 @@ public class CounterServiceBasedSpanMetricReporter implements SpanMetricReporter
 	private final String acceptedSpansMetricName;
 	private final String droppedSpansMetricName;
 	private final CounterService counterService;
+	private final CounterBuffers counterBuffers;
+	private final CounterWriter counterWriter;
 
 	public CounterServiceBasedSpanMetricReporter(String acceptedSpansMetricName,
 			String droppedSpansMetricName, CounterService counterService) {
+		this(acceptedSpansMetricName, droppedSpansMetricName, counterService, null, null);
+	}
+
+	/**
+	 * @param counterBuffers buffers backing the {@link CounterService}, may be {@code null}
+	 * @param counterWriter writer backing the {@link CounterService}, used when there are no
+	 * {@code counterBuffers}, may be {@code null}
+	 */
+	public CounterServiceBasedSpanMetricReporter(String acceptedSpansMetricName,
+			String droppedSpansMetricName, CounterService counterService,
+			CounterBuffers counterBuffers, CounterWriter counterWriter) {
 		this.acceptedSpansMetricName = acceptedSpansMetricName;
 		this.droppedSpansMetricName = droppedSpansMetricName;
 		this.counterService = counterService;
+		this.counterBuffers = counterBuffers;
+		this.counterWriter = counterWriter;
 	}
 
 	@Override
 	public void incrementAcceptedSpans(long quantity) {
-		for (int i = 0; i < quantity; i++) {
-			this.counterService.increment(this.acceptedSpansMetricName);
-		}
+		increment(this.acceptedSpansMetricName, quantity);
 	}
 
 	@Override
 	public void incrementDroppedSpans(long quantity) {
-		for (int i = 0; i < quantity; i++) {
-			this.counterService.increment(this.droppedSpansMetricName);
+		increment(this.droppedSpansMetricName, quantity);
+	}
+
+	private void increment(String metricName, long quantity) {
+		if (quantity <= 0) {
+			return;
+		}
+		if (this.counterBuffers != null) {
+			this.counterBuffers.increment(counterName(metricName), quantity);
+		}
+		else if (this.counterWriter != null) {
+			this.counterWriter.increment(new Delta<Long>(counterName(metricName), quantity));
+		}
+		else {
+			for (long i = 0; i < quantity; i++) {
+				this.counterService.increment(metricName);
+			}
+		}
+	}
+
+	/**
+	 * Applies the prefix that the {@link CounterService} implementations of Boot add
+	 * before writing to their buffers or writer.
+	 */
+	private String counterName(String metricName) {
+		if (metricName.startsWith("counter.") || metricName.startsWith("meter.")) {
+			return metricName;
 		}
+		return "counter." + metricName;
 	}
-}
\ No newline at end of file
+}
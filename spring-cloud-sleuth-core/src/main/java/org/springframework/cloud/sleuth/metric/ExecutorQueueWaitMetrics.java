@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.metric;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregates the time tasks spent waiting in the queue of an executor before they
+ * started running, per executor name.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+public class ExecutorQueueWaitMetrics {
+
+	private final ConcurrentMap<String, QueueWait> queueWaits = new ConcurrentHashMap<>();
+
+	/**
+	 * Records the time a task of the given executor spent waiting for a thread
+	 */
+	public void record(String executorName, long queueWaitNanos) {
+		QueueWait queueWait = this.queueWaits.get(executorName);
+		if (queueWait == null) {
+			QueueWait newQueueWait = new QueueWait();
+			queueWait = this.queueWaits.putIfAbsent(executorName, newQueueWait);
+			if (queueWait == null) {
+				queueWait = newQueueWait;
+			}
+		}
+		queueWait.record(Math.max(0, queueWaitNanos));
+	}
+
+	/**
+	 * Queue waits per executor name
+	 */
+	public Map<String, QueueWait> getQueueWaits() {
+		return Collections.unmodifiableMap(this.queueWaits);
+	}
+
+	/**
+	 * Aggregated queue wait of a single executor
+	 */
+	public static class QueueWait {
+
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong totalNanos = new AtomicLong();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		void record(long nanos) {
+			this.count.incrementAndGet();
+			this.totalNanos.addAndGet(nanos);
+			long max = this.maxNanos.get();
+			while (nanos > max && !this.maxNanos.compareAndSet(max, nanos)) {
+				max = this.maxNanos.get();
+			}
+		}
+
+		/**
+		 * Number of tasks that started running
+		 */
+		public long getCount() {
+			return this.count.get();
+		}
+
+		/**
+		 * Sum of the time the tasks waited in the queue
+		 */
+		public long getTotalNanos() {
+			return this.totalNanos.get();
+		}
+
+		/**
+		 * Longest time a task waited in the queue
+		 */
+		public long getMaxNanos() {
+			return this.maxNanos.get();
+		}
+	}
+}
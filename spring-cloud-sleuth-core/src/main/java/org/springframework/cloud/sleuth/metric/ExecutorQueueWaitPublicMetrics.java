@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.metric;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * Exposes the {@link ExecutorQueueWaitMetrics} of each executor. Times are in
+ * milliseconds.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+public class ExecutorQueueWaitPublicMetrics implements PublicMetrics {
+
+	private static final String PREFIX = "executor.";
+
+	private final ExecutorQueueWaitMetrics queueWaitMetrics;
+
+	public ExecutorQueueWaitPublicMetrics(ExecutorQueueWaitMetrics queueWaitMetrics) {
+		this.queueWaitMetrics = queueWaitMetrics;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		List<Metric<?>> metrics = new ArrayList<>();
+		for (Map.Entry<String, ExecutorQueueWaitMetrics.QueueWait> entry :
+				this.queueWaitMetrics.getQueueWaits().entrySet()) {
+			String name = entry.getKey();
+			ExecutorQueueWaitMetrics.QueueWait queueWait = entry.getValue();
+			metrics.add(new Metric<Long>("counter." + PREFIX + name + ".queued",
+					queueWait.getCount()));
+			metrics.add(new Metric<Long>("counter." + PREFIX + name + ".queue.wait.total",
+					TimeUnit.NANOSECONDS.toMillis(queueWait.getTotalNanos())));
+			metrics.add(new Metric<Long>("gauge." + PREFIX + name + ".queue.wait.max",
+					TimeUnit.NANOSECONDS.toMillis(queueWait.getMaxNanos())));
+		}
+		return metrics;
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.metric;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.SpanReporter;
+import org.springframework.cloud.sleuth.TraceKeys;
+
+/**
+ * {@link SpanReporter} that records each closed span in {@link SpanRedMetrics} before
+ * passing it to the delegate. The tracer reports all closed spans, so the unsampled
+ * ones are measured too. The tags the metrics are calculated from (see
+ * {@link #recordedTags(TraceKeys)}) need to be added to unsampled spans as well, so pass
+ * them to the tracer.
+ * <p>
+ * A span is counted as an error if it has the {@link Span#SPAN_ERROR_TAG_NAME} tag or a
+ * 5xx status code.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+public class RedMetricsSpanReporter implements SpanReporter {
+
+	private final SpanReporter delegate;
+	private final SpanRedMetrics redMetrics;
+	private final TraceKeys traceKeys;
+
+	public RedMetricsSpanReporter(SpanReporter delegate, SpanRedMetrics redMetrics,
+			TraceKeys traceKeys) {
+		this.delegate = delegate;
+		this.redMetrics = redMetrics;
+		this.traceKeys = traceKeys;
+	}
+
+	@Override
+	public void report(Span span) {
+		String statusCode = span.tags().get(this.traceKeys.getHttp().getStatusCode());
+		boolean error = span.tags().containsKey(Span.SPAN_ERROR_TAG_NAME)
+				|| (statusCode != null && statusCode.startsWith("5"));
+		this.redMetrics.record(span.getName(),
+				span.tags().get(Span.SPAN_LOCAL_COMPONENT_TAG_NAME), statusCode,
+				span.getAccumulatedMicros(), error);
+		this.delegate.report(span);
+	}
+
+	/**
+	 * Keys of the tags the metrics are calculated from, that the tracer has to add to
+	 * unsampled spans too
+	 */
+	public static Set<String> recordedTags(TraceKeys traceKeys) {
+		return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+				Span.SPAN_LOCAL_COMPONENT_TAG_NAME, Span.SPAN_ERROR_TAG_NAME,
+				traceKeys.getHttp().getStatusCode())));
+	}
+}
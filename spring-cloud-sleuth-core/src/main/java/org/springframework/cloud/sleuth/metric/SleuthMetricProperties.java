@@ -18,6 +18,8 @@ public class SleuthMetricProperties {
 
 	private Span span = new Span();
 
+	private Red red = new Red();
+
 	public boolean isEnabled() {
 		return this.enabled;
 	}
@@ -34,6 +36,14 @@ public class SleuthMetricProperties {
 		this.span = span;
 	}
 
+	public Red getRed() {
+		return this.red;
+	}
+
+	public void setRed(Red red) {
+		this.red = red;
+	}
+
 	public static class Span {
 
 		private String acceptedName = "counter.span.accepted";
@@ -56,4 +66,37 @@ public class SleuthMetricProperties {
 			this.droppedName = droppedName;
 		}
 	}
+
+	/**
+	 * Rate, errors and duration metrics calculated from the closed spans
+	 */
+	public static class Red {
+
+		/**
+		 * Enable the metrics calculated from the closed spans.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Max number of distinct span names to calculate the metrics for. Spans with
+		 * other names are aggregated under "other".
+		 */
+		private int maxSpanNames = 100;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaxSpanNames() {
+			return this.maxSpanNames;
+		}
+
+		public void setMaxSpanNames(int maxSpanNames) {
+			this.maxSpanNames = maxSpanNames;
+		}
+	}
 }
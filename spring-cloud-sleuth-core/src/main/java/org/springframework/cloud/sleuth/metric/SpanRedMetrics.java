@@ -0,0 +1,262 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.metric;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Aggregates the rate, errors and duration (RED) of closed spans per span name, local
+ * component and status code. Durations are kept in lock-free histograms with
+ * logarithmic buckets, so percentiles can be computed with a relative error of at most
+ * 12.5%.
+ * <p>
+ * The number of distinct span names is capped, spans with names above the cap are
+ * aggregated under {@link #OTHER}.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+public class SpanRedMetrics {
+
+	/**
+	 * Name used for the span names above the cap
+	 */
+	public static final String OTHER = "other";
+
+	/**
+	 * Value used when a span has no local component or status code
+	 */
+	public static final String NONE = "none";
+
+	private final int maxSpanNames;
+	private final Set<String> spanNames = new HashSet<>();
+	private final Set<String> knownSpanNames = Collections.newSetFromMap(
+			new ConcurrentHashMap<String, Boolean>());
+	private final ConcurrentMap<Key, Stats> stats = new ConcurrentHashMap<>();
+
+	public SpanRedMetrics(int maxSpanNames) {
+		this.maxSpanNames = maxSpanNames;
+	}
+
+	/**
+	 * Records a closed span
+	 *
+	 * @param localComponent - can be {@code null}
+	 * @param statusCode - can be {@code null}
+	 */
+	public void record(String spanName, String localComponent, String statusCode,
+			long durationMicros, boolean error) {
+		Key key = new Key(boundedName(spanName),
+				localComponent != null ? localComponent : NONE,
+				statusCode != null ? statusCode : NONE);
+		Stats stats = this.stats.get(key);
+		if (stats == null) {
+			Stats newStats = new Stats();
+			stats = this.stats.putIfAbsent(key, newStats);
+			if (stats == null) {
+				stats = newStats;
+			}
+		}
+		stats.record(durationMicros, error);
+	}
+
+	private String boundedName(String spanName) {
+		if (spanName == null) {
+			return NONE;
+		}
+		if (this.knownSpanNames.contains(spanName)) {
+			return spanName;
+		}
+		synchronized (this.spanNames) {
+			if (this.spanNames.size() >= this.maxSpanNames) {
+				return OTHER;
+			}
+			this.spanNames.add(spanName);
+			this.knownSpanNames.add(spanName);
+		}
+		return spanName;
+	}
+
+	/**
+	 * Statistics per span name, local component and status code
+	 */
+	public Map<Key, Stats> getStats() {
+		return Collections.unmodifiableMap(this.stats);
+	}
+
+	/**
+	 * Span name, local component and status code of the aggregated spans
+	 */
+	public static final class Key {
+
+		private final String spanName;
+		private final String localComponent;
+		private final String statusCode;
+		private final int hashCode;
+
+		Key(String spanName, String localComponent, String statusCode) {
+			this.spanName = spanName;
+			this.localComponent = localComponent;
+			this.statusCode = statusCode;
+			int h = spanName.hashCode();
+			h = 31 * h + localComponent.hashCode();
+			this.hashCode = 31 * h + statusCode.hashCode();
+		}
+
+		public String getSpanName() {
+			return this.spanName;
+		}
+
+		public String getLocalComponent() {
+			return this.localComponent;
+		}
+
+		public String getStatusCode() {
+			return this.statusCode;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key that = (Key) o;
+			return this.spanName.equals(that.spanName)
+					&& this.localComponent.equals(that.localComponent)
+					&& this.statusCode.equals(that.statusCode);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return this.spanName + "." + this.localComponent + "." + this.statusCode;
+		}
+	}
+
+	/**
+	 * Count, errors and duration histogram of spans with the same {@link Key}
+	 */
+	public static class Stats {
+
+		/**
+		 * Each power of two is split into 8 sub buckets
+		 */
+		static final int SUB_BUCKET_BITS = 3;
+		static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+		/**
+		 * Durations are capped at 2^36 micros (~19 hours)
+		 */
+		static final int MAX_EXPONENT = 36;
+		static final long MAX_MICROS = (1L << MAX_EXPONENT) - 1;
+		static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong errors = new AtomicLong();
+		private final AtomicLong totalMicros = new AtomicLong();
+		private final AtomicLong maxMicros = new AtomicLong();
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+		void record(long micros, boolean error) {
+			micros = Math.min(Math.max(0, micros), MAX_MICROS);
+			this.count.incrementAndGet();
+			if (error) {
+				this.errors.incrementAndGet();
+			}
+			this.totalMicros.addAndGet(micros);
+			long max = this.maxMicros.get();
+			while (micros > max && !this.maxMicros.compareAndSet(max, micros)) {
+				max = this.maxMicros.get();
+			}
+			this.buckets.incrementAndGet(bucketIndex(micros));
+		}
+
+		static int bucketIndex(long micros) {
+			if (micros < SUB_BUCKETS) {
+				return (int) micros;
+			}
+			int exponent = 63 - Long.numberOfLeadingZeros(micros);
+			int shift = exponent - SUB_BUCKET_BITS;
+			int subBucket = (int) (micros >>> shift) - SUB_BUCKETS;
+			return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+		}
+
+		static long bucketUpperBound(int index) {
+			if (index < SUB_BUCKETS) {
+				return index;
+			}
+			int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+			int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+			long lowerBound = (long) (SUB_BUCKETS + subBucket) << shift;
+			return lowerBound + (1L << shift) - 1;
+		}
+
+		public long getCount() {
+			return this.count.get();
+		}
+
+		public long getErrors() {
+			return this.errors.get();
+		}
+
+		public long getTotalMicros() {
+			return this.totalMicros.get();
+		}
+
+		public long getMaxMicros() {
+			return this.maxMicros.get();
+		}
+
+		/**
+		 * Duration in micros below which the given fraction (e.g. {@code 0.99}) of the
+		 * spans fall. Returns the upper bound of the matching histogram bucket.
+		 */
+		public long percentile(double fraction) {
+			long[] snapshot = new long[BUCKETS];
+			long total = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				snapshot[i] = this.buckets.get(i);
+				total += snapshot[i];
+			}
+			if (total == 0) {
+				return 0;
+			}
+			long rank = Math.max(1, (long) Math.ceil(fraction * total));
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += snapshot[i];
+				if (seen >= rank) {
+					return Math.min(bucketUpperBound(i), getMaxMicros());
+				}
+			}
+			return getMaxMicros();
+		}
+	}
+}
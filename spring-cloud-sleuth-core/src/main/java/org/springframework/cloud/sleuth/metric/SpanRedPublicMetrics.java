@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.metric;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * Exposes the {@link SpanRedMetrics} as
+ * {@code <type>.span.<span name>.<local component>.<status code>.<metric>}. Durations
+ * are in milliseconds. Characters other than letters, digits, {@code -} and {@code _}
+ * are replaced with {@code _} in the name parts.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+public class SpanRedPublicMetrics implements PublicMetrics {
+
+	private static final String PREFIX = "span.";
+
+	private final SpanRedMetrics redMetrics;
+
+	public SpanRedPublicMetrics(SpanRedMetrics redMetrics) {
+		this.redMetrics = redMetrics;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		List<Metric<?>> metrics = new ArrayList<>();
+		for (Map.Entry<SpanRedMetrics.Key, SpanRedMetrics.Stats> entry :
+				this.redMetrics.getStats().entrySet()) {
+			SpanRedMetrics.Key key = entry.getKey();
+			SpanRedMetrics.Stats stats = entry.getValue();
+			String name = PREFIX + sanitize(key.getSpanName()) + "."
+					+ sanitize(key.getLocalComponent()) + "." + sanitize(key.getStatusCode());
+			long count = stats.getCount();
+			metrics.add(new Metric<Long>("counter." + name + ".count", count));
+			metrics.add(new Metric<Long>("counter." + name + ".errors", stats.getErrors()));
+			metrics.add(new Metric<Double>("gauge." + name + ".duration.mean",
+					count == 0 ? 0d : millis(stats.getTotalMicros()) / count));
+			metrics.add(new Metric<Double>("gauge." + name + ".duration.max",
+					millis(stats.getMaxMicros())));
+			metrics.add(new Metric<Double>("gauge." + name + ".duration.p50",
+					millis(stats.percentile(0.5))));
+			metrics.add(new Metric<Double>("gauge." + name + ".duration.p95",
+					millis(stats.percentile(0.95))));
+			metrics.add(new Metric<Double>("gauge." + name + ".duration.p99",
+					millis(stats.percentile(0.99))));
+		}
+		return metrics;
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000d;
+	}
+
+	private static String sanitize(String part) {
+		StringBuilder sb = null;
+		for (int i = 0; i < part.length(); i++) {
+			char c = part.charAt(i);
+			if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+				if (sb == null) {
+					sb = new StringBuilder(part);
+				}
+				sb.setCharAt(i, '_');
+			}
+		}
+		return sb != null ? sb.toString() : part;
+	}
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.metric;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link SpanMetricReporter} that keeps the counts in memory, adding each quantity in a
+ * single atomic operation. Apart from the accepted and dropped spans it aggregates
+ * details of the span reporting like the queue depth, the sent bytes, the encoding
+ * time, the send latency and the reasons of dropped messages. The values can be exposed
+ * by any meter registry, e.g. via {@link SpanReporterPublicMetrics}. The accepted and
+ * dropped spans can be passed on to another {@link SpanMetricReporter} too.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+public class SpanReporterMetrics implements SpanMetricReporter {
+
+	/**
+	 * Drop reasons above that number are counted as {@link #OTHER_REASON}
+	 */
+	static final int MAX_DROP_REASONS = 32;
+	static final String OTHER_REASON = "other";
+
+	private final AtomicLong acceptedSpans = new AtomicLong();
+	private final AtomicLong droppedSpans = new AtomicLong();
+	private final AtomicLong messages = new AtomicLong();
+	private final AtomicLong messageBytes = new AtomicLong();
+	private final AtomicLong spanBytes = new AtomicLong();
+	private final ConcurrentMap<String, AtomicLong> droppedMessages = new ConcurrentHashMap<>();
+	private final Timer encodeTime = new Timer();
+	private final Timer sendLatency = new Timer();
+	private volatile int queuedSpans;
+	private volatile int queuedBytes;
+	private final SpanMetricReporter delegate;
+
+	public SpanReporterMetrics() {
+		this(null);
+	}
+
+	/**
+	 * @param delegate reporter that gets the accepted and dropped spans too, e.g. the
+	 * {@link CounterServiceBasedSpanMetricReporter} so that they get exported with the
+	 * other Boot metrics; can be {@code null}
+	 */
+	public SpanReporterMetrics(SpanMetricReporter delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void incrementAcceptedSpans(long quantity) {
+		this.acceptedSpans.addAndGet(quantity);
+		if (this.delegate != null) {
+			this.delegate.incrementAcceptedSpans(quantity);
+		}
+	}
+
+	@Override
+	public void incrementDroppedSpans(long quantity) {
+		this.droppedSpans.addAndGet(quantity);
+		if (this.delegate != null) {
+			this.delegate.incrementDroppedSpans(quantity);
+		}
+	}
+
+	/**
+	 * Called when a message with spans got sent
+	 */
+	public void incrementMessages() {
+		this.messages.incrementAndGet();
+	}
+
+	/**
+	 * Called when a message with spans got dropped. The reason is typically the simple
+	 * name of the exception that made the sending fail.
+	 */
+	public void incrementDroppedMessages(String reason) {
+		if (reason == null) {
+			reason = OTHER_REASON;
+		}
+		AtomicLong counter = this.droppedMessages.get(reason);
+		if (counter == null) {
+			if (this.droppedMessages.size() >= MAX_DROP_REASONS) {
+				reason = OTHER_REASON;
+			}
+			AtomicLong newCounter = new AtomicLong();
+			counter = this.droppedMessages.putIfAbsent(reason, newCounter);
+			if (counter == null) {
+				counter = newCounter;
+			}
+		}
+		counter.incrementAndGet();
+	}
+
+	public void incrementMessageBytes(long quantity) {
+		this.messageBytes.addAndGet(quantity);
+	}
+
+	public void incrementSpanBytes(long quantity) {
+		this.spanBytes.addAndGet(quantity);
+	}
+
+	public void updateQueuedSpans(int queuedSpans) {
+		this.queuedSpans = queuedSpans;
+	}
+
+	public void updateQueuedBytes(int queuedBytes) {
+		this.queuedBytes = queuedBytes;
+	}
+
+	/**
+	 * Records the time it took to encode a message with spans
+	 */
+	public void recordEncodeTime(long nanos) {
+		this.encodeTime.record(nanos);
+	}
+
+	/**
+	 * Records the time it took to send a message with spans
+	 */
+	public void recordSendLatency(long nanos) {
+		this.sendLatency.record(nanos);
+	}
+
+	public long getAcceptedSpans() {
+		return this.acceptedSpans.get();
+	}
+
+	public long getDroppedSpans() {
+		return this.droppedSpans.get();
+	}
+
+	public long getMessages() {
+		return this.messages.get();
+	}
+
+	public long getMessageBytes() {
+		return this.messageBytes.get();
+	}
+
+	public long getSpanBytes() {
+		return this.spanBytes.get();
+	}
+
+	/**
+	 * Number of dropped messages per reason
+	 */
+	public Map<String, AtomicLong> getDroppedMessages() {
+		return Collections.unmodifiableMap(this.droppedMessages);
+	}
+
+	public int getQueuedSpans() {
+		return this.queuedSpans;
+	}
+
+	public int getQueuedBytes() {
+		return this.queuedBytes;
+	}
+
+	public Timer getEncodeTime() {
+		return this.encodeTime;
+	}
+
+	public Timer getSendLatency() {
+		return this.sendLatency;
+	}
+
+	/**
+	 * Whether the accepted and dropped spans get passed on to another reporter
+	 */
+	boolean isDelegating() {
+		return this.delegate != null;
+	}
+
+	/**
+	 * Number, total and max duration of recorded events
+	 */
+	public static class Timer {
+
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong totalNanos = new AtomicLong();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		void record(long nanos) {
+			this.count.incrementAndGet();
+			this.totalNanos.addAndGet(nanos);
+			long max = this.maxNanos.get();
+			while (nanos > max && !this.maxNanos.compareAndSet(max, nanos)) {
+				max = this.maxNanos.get();
+			}
+		}
+
+		public long getCount() {
+			return this.count.get();
+		}
+
+		public long getTotalNanos() {
+			return this.totalNanos.get();
+		}
+
+		public long getMaxNanos() {
+			return this.maxNanos.get();
+		}
+	}
+}
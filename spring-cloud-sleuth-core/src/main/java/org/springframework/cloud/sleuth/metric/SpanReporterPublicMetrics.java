@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.metric;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * Exposes the {@link SpanReporterMetrics}. The accepted and dropped spans are published
+ * under the names from {@link SleuthMetricProperties}, unless they are passed on to a
+ * {@link org.springframework.boot.actuate.metrics.CounterService}. Times are in milliseconds.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.2.1
+ */
+public class SpanReporterPublicMetrics implements PublicMetrics {
+
+	private static final String PREFIX = "span.reporter.";
+
+	private final SpanReporterMetrics reporterMetrics;
+	private final SleuthMetricProperties sleuthMetricProperties;
+
+	public SpanReporterPublicMetrics(SpanReporterMetrics reporterMetrics,
+			SleuthMetricProperties sleuthMetricProperties) {
+		this.reporterMetrics = reporterMetrics;
+		this.sleuthMetricProperties = sleuthMetricProperties;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		List<Metric<?>> metrics = new ArrayList<>();
+		SpanReporterMetrics reporter = this.reporterMetrics;
+		if (!reporter.isDelegating()) {
+			// otherwise they're already published by the counter service
+			metrics.add(new Metric<Long>(this.sleuthMetricProperties.getSpan().getAcceptedName(),
+					reporter.getAcceptedSpans()));
+			metrics.add(new Metric<Long>(this.sleuthMetricProperties.getSpan().getDroppedName(),
+					reporter.getDroppedSpans()));
+		}
+		metrics.add(new Metric<Long>("counter." + PREFIX + "messages", reporter.getMessages()));
+		metrics.add(new Metric<Long>("counter." + PREFIX + "messages.bytes",
+				reporter.getMessageBytes()));
+		metrics.add(new Metric<Long>("counter." + PREFIX + "spans.bytes",
+				reporter.getSpanBytes()));
+		for (Map.Entry<String, AtomicLong> entry : reporter.getDroppedMessages().entrySet()) {
+			metrics.add(new Metric<Long>("counter." + PREFIX + "messages.dropped." + entry.getKey(),
+					entry.getValue().get()));
+		}
+		metrics.add(new Metric<Integer>("gauge." + PREFIX + "queue.spans",
+				reporter.getQueuedSpans()));
+		metrics.add(new Metric<Integer>("gauge." + PREFIX + "queue.bytes",
+				reporter.getQueuedBytes()));
+		addTimer(metrics, "encode", reporter.getEncodeTime());
+		addTimer(metrics, "send", reporter.getSendLatency());
+		return metrics;
+	}
+
+	private void addTimer(List<Metric<?>> metrics, String name, SpanReporterMetrics.Timer timer) {
+		metrics.add(new Metric<Long>("counter." + PREFIX + name + ".count", timer.getCount()));
+		metrics.add(new Metric<Long>("counter." + PREFIX + name + ".time.total",
+				TimeUnit.NANOSECONDS.toMillis(timer.getTotalNanos())));
+		metrics.add(new Metric<Long>("gauge." + PREFIX + name + ".time.max",
+				TimeUnit.NANOSECONDS.toMillis(timer.getMaxNanos())));
+	}
+}
@@ -17,15 +17,20 @@
 package org.springframework.cloud.sleuth.metric;
 
 import java.lang.invoke.MethodHandles;
+import java.util.List;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.buffer.CounterBuffers;
+import org.springframework.boot.actuate.metrics.writer.CounterWriter;
 import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -53,21 +58,77 @@ public class TraceMetricsAutoConfiguration {
 	}
 
 	@Configuration
-	@ConditionalOnClass(CounterService.class)
+	@ConditionalOnClass(PublicMetrics.class)
+	protected static class ExecutorQueueWaitPublicMetricsConfig {
+		@Bean
+		@ConditionalOnMissingBean
+		public ExecutorQueueWaitMetrics executorQueueWaitMetrics() {
+			return new ExecutorQueueWaitMetrics();
+		}
+
+		@Bean
+		public ExecutorQueueWaitPublicMetrics executorQueueWaitPublicMetrics(
+				ExecutorQueueWaitMetrics executorQueueWaitMetrics) {
+			return new ExecutorQueueWaitPublicMetrics(executorQueueWaitMetrics);
+		}
+	}
+
+	@Configuration
+	@ConditionalOnClass(PublicMetrics.class)
+	@ConditionalOnProperty(value = "spring.sleuth.metric.red.enabled", havingValue = "true")
+	protected static class SpanRedMetricsConfig {
+		@Bean
+		@ConditionalOnMissingBean
+		public SpanRedMetrics spanRedMetrics(SleuthMetricProperties sleuthMetricProperties) {
+			return new SpanRedMetrics(sleuthMetricProperties.getRed().getMaxSpanNames());
+		}
+
+		@Bean
+		public SpanRedPublicMetrics spanRedPublicMetrics(SpanRedMetrics spanRedMetrics) {
+			return new SpanRedPublicMetrics(spanRedMetrics);
+		}
+	}
+
+	@Configuration
+	@ConditionalOnClass(PublicMetrics.class)
 	@ConditionalOnMissingBean(SpanMetricReporter.class)
-	protected static class CounterServiceSpanReporterConfig {
+	protected static class SpanReporterMetricsConfig {
+		@Autowired(required = false)
+		CounterService counterService;
+		@Autowired(required = false)
+		CounterBuffers counterBuffers;
+		@Autowired(required = false)
+		List<CounterWriter> counterWriters;
+
 		@Bean
-		@ConditionalOnBean(CounterService.class)
-		public SpanMetricReporter spanReporterCounterService(CounterService counterService,
+		public SpanReporterMetrics spanReporterMetrics(
 				SleuthMetricProperties sleuthMetricProperties) {
-			return new CounterServiceBasedSpanMetricReporter(sleuthMetricProperties.getSpan().getAcceptedName(),
-					sleuthMetricProperties.getSpan().getDroppedName(), counterService);
+			if (this.counterService == null) {
+				return new SpanReporterMetrics();
+			}
+			// metric exporters only read what's written to the counter service
+			return new SpanReporterMetrics(new CounterServiceBasedSpanMetricReporter(
+					sleuthMetricProperties.getSpan().getAcceptedName(),
+					sleuthMetricProperties.getSpan().getDroppedName(), this.counterService,
+					this.counterBuffers, counterWriter()));
+		}
+
+		/**
+		 * A single writer is the repository backing the counter service. With more of
+		 * them we can't tell which one it reads from, so we count through the service.
+		 */
+		private CounterWriter counterWriter() {
+			if (this.counterWriters == null || this.counterWriters.size() != 1) {
+				return null;
+			}
+			return this.counterWriters.get(0);
 		}
 
 		@Bean
-		@ConditionalOnMissingBean(CounterService.class)
-		public SpanMetricReporter noOpSpanReporterCounterService() {
-			return new NoOpSpanMetricReporter();
+		public SpanReporterPublicMetrics spanReporterPublicMetrics(
+				SpanReporterMetrics spanReporterMetrics,
+				SleuthMetricProperties sleuthMetricProperties) {
+			return new SpanReporterPublicMetrics(spanReporterMetrics, sleuthMetricProperties);
 		}
 	}
 
@@ -18,6 +18,7 @@ package org.springframework.cloud.sleuth.sampler;
 
 import org.springframework.cloud.sleuth.Sampler;
 import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceIdSampler;
 
 /**
  * {@link Sampler} that traces each action
@@ -25,9 +26,14 @@ import org.springframework.cloud.sleuth.Span;
  * @author Spencer Gibb
  * @since 1.0.0
  */
-public class AlwaysSampler implements Sampler {
+public class AlwaysSampler implements TraceIdSampler {
 	@Override
 	public boolean isSampled(Span span) {
 		return true;
 	}
+
+	@Override
+	public boolean isSampled(long traceId, String spanName) {
+		return true;
+	}
 }
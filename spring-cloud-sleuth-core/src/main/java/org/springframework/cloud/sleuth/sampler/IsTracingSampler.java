@@ -18,6 +18,7 @@ package org.springframework.cloud.sleuth.sampler;
 
 import org.springframework.cloud.sleuth.Sampler;
 import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceIdSampler;
 import org.springframework.cloud.sleuth.SpanAccessor;
 
 /**
@@ -28,7 +29,7 @@ import org.springframework.cloud.sleuth.SpanAccessor;
  *
  * @see SpanAccessor#isTracing()
  */
-public class IsTracingSampler implements Sampler {
+public class IsTracingSampler implements TraceIdSampler {
 
 	private SpanAccessor accessor;
 
@@ -40,4 +41,9 @@ public class IsTracingSampler implements Sampler {
 	public boolean isSampled(Span span) {
 		return this.accessor.isTracing();
 	}
+
+	@Override
+	public boolean isSampled(long traceId, String spanName) {
+		return this.accessor.isTracing();
+	}
 }
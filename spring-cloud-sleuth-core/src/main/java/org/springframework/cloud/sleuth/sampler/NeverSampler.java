@@ -18,6 +18,7 @@ package org.springframework.cloud.sleuth.sampler;
 
 import org.springframework.cloud.sleuth.Sampler;
 import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceIdSampler;
 
 /**
  * {@link Sampler} that never traces
@@ -25,7 +26,7 @@ import org.springframework.cloud.sleuth.Span;
  * @author Spencer Gibb
  * @since 1.0.0
  */
-public class NeverSampler implements Sampler {
+public class NeverSampler implements TraceIdSampler {
 
 	public static final NeverSampler INSTANCE = new NeverSampler();
 
@@ -33,4 +34,9 @@ public class NeverSampler implements Sampler {
 	public boolean isSampled(Span span) {
 		return false;
 	}
+
+	@Override
+	public boolean isSampled(long traceId, String spanName) {
+		return false;
+	}
 }
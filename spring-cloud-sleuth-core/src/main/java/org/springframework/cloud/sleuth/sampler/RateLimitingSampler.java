@@ -0,0 +1,102 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.sampler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cloud.sleuth.Sampler;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceIdSampler;
+
+/**
+ * {@link Sampler} that samples at most {@link SamplerProperties#getRate()} traces per
+ * second. Only the spans accepted by the delegate sampler count towards the limit,
+ * which allows combining it with e.g. a {@link PercentageBasedSampler} ("10% but never
+ * more than 200 traces per second").
+ *
+ * <h3>Implementation</h3>
+ *
+ * <p>A token bucket holding up to one second worth of traces, implemented as a single
+ * {@link AtomicLong} keeping the time at which the next token becomes available (so
+ * called Generic Cell Rate Algorithm). Each decision is a read of the clock and a CAS,
+ * no locks are taken and nothing is allocated. If the rate is not set, the decision of
+ * the delegate is returned as is. The rate is read on each call, so it can be changed
+ * at runtime.
+ *
+ * @since 1.2.1
+ */
+public class RateLimitingSampler implements TraceIdSampler {
+
+	private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final SamplerProperties configuration;
+	private final Sampler delegate;
+	private final AtomicLong nextTokenAt = new AtomicLong(System.nanoTime());
+
+	public RateLimitingSampler(SamplerProperties configuration) {
+		this(configuration, new AlwaysSampler());
+	}
+
+	public RateLimitingSampler(SamplerProperties configuration, Sampler delegate) {
+		this.configuration = configuration;
+		this.delegate = delegate;
+	}
+
+	@Override
+	public boolean isSampled(Span span) {
+		if (span == null || !this.delegate.isSampled(span)) {
+			return false;
+		}
+		return acquire();
+	}
+
+	@Override
+	public boolean isSampled(long traceId, String spanName) {
+		if (this.delegate instanceof TraceIdSampler) {
+			if (!((TraceIdSampler) this.delegate).isSampled(traceId, spanName)) {
+				return false;
+			}
+		}
+		else if (!this.delegate.isSampled(Span.builder().traceId(traceId)
+				.name(spanName).build())) {
+			return false;
+		}
+		return acquire();
+	}
+
+	private boolean acquire() {
+		Integer rate = this.configuration.getRate();
+		if (rate == null) {
+			return true;
+		} else if (rate <= 0) {
+			return false;
+		}
+		long interval = NANOS_PER_SECOND / rate;
+		long now = System.nanoTime();
+		while (true) {
+			long tokenAt = this.nextTokenAt.get();
+			long next = (tokenAt - now < 0 ? now : tokenAt) + interval;
+			if (next - now > NANOS_PER_SECOND) {
+				return false;
+			}
+			if (this.nextTokenAt.compareAndSet(tokenAt, next)) {
+				return true;
+			}
+		}
+	}
+}
@@ -14,10 +14,17 @@ public class SamplerProperties {
 
 	/**
 	 * Percentage of requests that should be sampled. E.g. 1.0 - 100% requests should be
-	 * sampled. The precision is whole-numbers only (i.e. there's no support for 0.1% of
-	 * the traces).
+	 * sampled. Fractions of a percent are supported (e.g. 0.0005 - 0.05% of requests
+	 * should be sampled). Can be changed at runtime.
 	 */
-	private float percentage = 0.1f;
+	private volatile float percentage = 0.1f;
+
+	/**
+	 * Maximum number of traces per second that should be sampled. Applied on top of the
+	 * percentage. E.g. 200 - no more than 200 new traces per second will be sampled.
+	 * Not set by default, meaning there is no limit.
+	 */
+	private volatile Integer rate;
 
 	public float getPercentage() {
 		return this.percentage;
@@ -26,4 +33,12 @@ public class SamplerProperties {
 	public void setPercentage(float percentage) {
 		this.percentage = percentage;
 	}
+
+	public Integer getRate() {
+		return this.rate;
+	}
+
+	public void setRate(Integer rate) {
+		this.rate = rate;
+	}
 }
@@ -17,21 +17,28 @@
 package org.springframework.cloud.sleuth.trace;
 
 import java.lang.invoke.MethodHandles;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.Callable;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.cloud.sleuth.IdGenerator;
 import org.springframework.cloud.sleuth.Sampler;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.SpanNamer;
 import org.springframework.cloud.sleuth.SpanReporter;
+import org.springframework.cloud.sleuth.TraceIdSampler;
 import org.springframework.cloud.sleuth.TraceKeys;
 import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.cloud.sleuth.instrument.async.SpanContinuingTraceCallable;
 import org.springframework.cloud.sleuth.instrument.async.SpanContinuingTraceRunnable;
 import org.springframework.cloud.sleuth.log.SpanLogger;
 import org.springframework.cloud.sleuth.util.ExceptionUtils;
+import org.springframework.cloud.sleuth.util.RandomIdGenerator;
 import org.springframework.cloud.sleuth.util.SpanNameUtil;
 
 /**
@@ -48,7 +55,7 @@ public class DefaultTracer implements Tracer {
 
 	private final Sampler defaultSampler;
 
-	private final Random random;
+	private final IdGenerator idGenerator;
 
 	private final SpanNamer spanNamer;
 
@@ -60,6 +67,10 @@ public class DefaultTracer implements Tracer {
 
 	private final boolean traceId128;
 
+	private final SpanContextStorage spanContextStorage;
+
+	private final Set<String> recordedTags;
+
 	@Deprecated
 	public DefaultTracer(Sampler defaultSampler, Random random, SpanNamer spanNamer,
 			SpanLogger spanLogger, SpanReporter spanReporter) {
@@ -72,21 +83,58 @@ public class DefaultTracer implements Tracer {
 		this(defaultSampler, random, spanNamer, spanLogger, spanReporter, traceId128, null);
 	}
 
+	/**
+	 * @deprecated please use {@link #DefaultTracer(Sampler, IdGenerator, SpanNamer, SpanLogger, SpanReporter, boolean, TraceKeys)}
+	 */
+	@Deprecated
 	public DefaultTracer(Sampler defaultSampler, Random random, SpanNamer spanNamer,
 				SpanLogger spanLogger, SpanReporter spanReporter, TraceKeys traceKeys) {
 		this(defaultSampler, random, spanNamer, spanLogger, spanReporter, false, traceKeys);
 	}
 
+	/**
+	 * @deprecated please use {@link #DefaultTracer(Sampler, IdGenerator, SpanNamer, SpanLogger, SpanReporter, boolean, TraceKeys)}
+	 */
+	@Deprecated
 	public DefaultTracer(Sampler defaultSampler, Random random, SpanNamer spanNamer,
 				SpanLogger spanLogger, SpanReporter spanReporter, boolean traceId128,
 			TraceKeys traceKeys) {
+		this(defaultSampler, new RandomIdGenerator(random), spanNamer, spanLogger,
+				spanReporter, traceId128, traceKeys);
+	}
+
+	public DefaultTracer(Sampler defaultSampler, IdGenerator idGenerator, SpanNamer spanNamer,
+			SpanLogger spanLogger, SpanReporter spanReporter, boolean traceId128,
+			TraceKeys traceKeys) {
+		this(defaultSampler, idGenerator, spanNamer, spanLogger, spanReporter, traceId128,
+				traceKeys, new ThreadLocalSpanContextStorage());
+	}
+
+	public DefaultTracer(Sampler defaultSampler, IdGenerator idGenerator, SpanNamer spanNamer,
+			SpanLogger spanLogger, SpanReporter spanReporter, boolean traceId128,
+			TraceKeys traceKeys, SpanContextStorage spanContextStorage) {
+		this(defaultSampler, idGenerator, spanNamer, spanLogger, spanReporter, traceId128,
+				traceKeys, spanContextStorage, Collections.<String>emptySet());
+	}
+
+	/**
+	 * @param recordedTags keys of the tags that are added to unsampled spans too, e.g.
+	 * the ones a metric calculated from the reported spans depends on
+	 */
+	public DefaultTracer(Sampler defaultSampler, IdGenerator idGenerator, SpanNamer spanNamer,
+			SpanLogger spanLogger, SpanReporter spanReporter, boolean traceId128,
+			TraceKeys traceKeys, SpanContextStorage spanContextStorage,
+			Collection<String> recordedTags) {
 		this.defaultSampler = defaultSampler;
-		this.random = random;
+		this.idGenerator = idGenerator;
 		this.spanNamer = spanNamer;
 		this.spanLogger = spanLogger;
 		this.spanReporter = spanReporter;
 		this.traceId128 = traceId128;
 		this.traceKeys = traceKeys != null ? traceKeys : new TraceKeys();
+		this.spanContextStorage = spanContextStorage;
+		this.recordedTags = recordedTags.isEmpty() ? Collections.<String>emptySet()
+				: new HashSet<>(recordedTags);
 	}
 
 	@Override
@@ -94,7 +142,8 @@ public class DefaultTracer implements Tracer {
 		if (parent == null) {
 			return createSpan(name);
 		}
-		return continueSpan(createChild(parent, name));
+		SpanContextStack stack = this.spanContextStorage.getOrCreate();
+		return continueSpan(createChild(parent, name, stack), stack);
 	}
 
 	@Override
@@ -105,23 +154,17 @@ public class DefaultTracer implements Tracer {
 	@Override
 	public Span createSpan(String name, Sampler sampler) {
 		String shortenedName = SpanNameUtil.shorten(name);
+		SpanContextStack stack = this.spanContextStorage.getOrCreate();
+		Span current = stack.getCurrentSpan();
 		Span span;
-		if (isTracing()) {
-			span = createChild(getCurrentSpan(), shortenedName);
+		if (current != null) {
+			span = createChild(current, shortenedName, stack);
 		}
 		else {
-			long id = createId();
-			span = Span.builder().name(shortenedName)
-					.traceIdHigh(this.traceId128 ? createId() : 0L)
-					.traceId(id)
-					.spanId(id).build();
-			if (sampler == null) {
-				sampler = this.defaultSampler;
-			}
-			span = sampledSpan(span, sampler);
-			this.spanLogger.logStartedSpan(null, span);
+			span = createRootSpan(shortenedName,
+					sampler != null ? sampler : this.defaultSampler);
 		}
-		return continueSpan(span);
+		return continueSpan(span, stack);
 	}
 
 	@Override
@@ -129,22 +172,25 @@ public class DefaultTracer implements Tracer {
 		if (span == null) {
 			return null;
 		}
-		Span cur = SpanContextHolder.getCurrentSpan();
+		SpanContextStack stack = this.spanContextStorage.get();
+		Span cur = stack != null ? stack.getCurrentSpan() : null;
 		if (cur == null) {
 			if (log.isTraceEnabled()) {
 				log.trace("Span in the context is null so something has already detached the span. Won't do anything about it");
 			}
 			return null;
 		}
-		if (!span.equals(cur)) {
+		Span savedSpan = stack.getSavedSpan(span);
+		if (!isSameSpan(span, cur)) {
 			ExceptionUtils.warn("Tried to detach trace span but "
 					+ "it is not the current span: " + span
 					+ ". You may have forgotten to close or detach " + cur);
 		}
 		else {
-			SpanContextHolder.removeCurrentSpan();
+			stack.clear();
+			this.spanContextStorage.release(stack);
 		}
-		return span.getSavedSpan();
+		return savedSpan;
 	}
 
 	@Override
@@ -152,9 +198,10 @@ public class DefaultTracer implements Tracer {
 		if (span == null) {
 			return null;
 		}
-		Span cur = SpanContextHolder.getCurrentSpan();
-		final Span savedSpan = span.getSavedSpan();
-		if (!span.equals(cur)) {
+		final SpanContextStack stack = this.spanContextStorage.get();
+		Span cur = stack != null ? stack.getCurrentSpan() : null;
+		final Span savedSpan = stack != null ? stack.getSavedSpan(span) : span.getSavedSpan();
+		if (!isSameSpan(span, cur)) {
 			ExceptionUtils.warn(
 					"Tried to close span but it is not the current span: " + span
 							+ ".  You may have forgotten to close or detach " + cur);
@@ -171,30 +218,39 @@ public class DefaultTracer implements Tracer {
 					this.spanLogger.logStoppedSpan(null, span);
 				}
 			}
-			SpanContextHolder.close(new SpanContextHolder.SpanFunction() {
+			stack.close(new SpanContextHolder.SpanFunction() {
 				@Override public void apply(Span span) {
 					DefaultTracer.this.spanLogger.logStoppedSpan(savedSpan, span);
 				}
 			});
+			if (!stack.isTracing()) {
+				this.spanContextStorage.release(stack);
+			}
 		}
 		return savedSpan;
 	}
 
+	/**
+	 * Continued spans are not copied so the identity check is the common case. Equality
+	 * is checked for spans that were recreated from the same ids.
+	 */
+	private static boolean isSameSpan(Span span, Span current) {
+		return span == current || span.equals(current);
+	}
+
 	Span createChild(Span parent, String name) {
+		return createChild(parent, name, this.spanContextStorage.getOrCreate());
+	}
+
+	private Span createChild(Span parent, String name, SpanContextStack stack) {
 		String shortenedName = SpanNameUtil.shorten(name);
-		long id = createId();
 		if (parent == null) {
-			Span span = Span.builder().name(shortenedName)
-					.traceIdHigh(this.traceId128 ? createId() : 0L)
-					.traceId(id)
-					.spanId(id).build();
-			span = sampledSpan(span, this.defaultSampler);
-			this.spanLogger.logStartedSpan(null, span);
-			return span;
+			return createRootSpan(shortenedName, this.defaultSampler);
 		}
 		else {
-			if (!isTracing()) {
-				SpanContextHolder.push(parent, true);
+			long id = createId();
+			if (!stack.isTracing()) {
+				stack.push(parent, parent.getSavedSpan(), true);
 			}
 			Span span = Span.builder().name(shortenedName)
 					.traceIdHigh(parent.getTraceIdHigh())
@@ -208,6 +264,33 @@ public class DefaultTracer implements Tracer {
 		}
 	}
 
+	/**
+	 * Samplers that can decide from the trace id alone are asked before the span is
+	 * built, so that an unsampled root span is created only once.
+	 */
+	private Span createRootSpan(String shortenedName, Sampler sampler) {
+		long id = createId();
+		long traceIdHigh = this.traceId128 ? this.idGenerator.nextTraceIdHigh() : 0L;
+		Span span;
+		if (sampler instanceof TraceIdSampler) {
+			span = Span.builder().name(shortenedName)
+					.traceIdHigh(traceIdHigh)
+					.traceId(id)
+					.spanId(id)
+					.exportable(((TraceIdSampler) sampler).isSampled(id, shortenedName))
+					.build();
+		}
+		else {
+			span = Span.builder().name(shortenedName)
+					.traceIdHigh(traceIdHigh)
+					.traceId(id)
+					.spanId(id).build();
+			span = sampledSpan(span, sampler);
+		}
+		this.spanLogger.logStartedSpan(null, span);
+		return span;
+	}
+
 	private Span sampledSpan(Span span, Sampler sampler) {
 		if (!sampler.isSampled(span)) {
 			// Copy everything, except set exportable to false
@@ -223,42 +306,44 @@ public class DefaultTracer implements Tracer {
 	}
 
 	private long createId() {
-		return this.random.nextLong();
+		return this.idGenerator.nextId();
 	}
 
 	@Override
 	public Span continueSpan(Span span) {
+		return continueSpan(span, this.spanContextStorage.getOrCreate());
+	}
+
+	private Span continueSpan(Span span, SpanContextStack stack) {
 		if (span != null) {
 			this.spanLogger.logContinuedSpan(span);
 		} else {
 			return null;
 		}
-		Span newSpan = createContinuedSpan(span, SpanContextHolder.getCurrentSpan());
-		SpanContextHolder.setCurrentSpan(newSpan);
-		return newSpan;
-	}
-
-	private Span createContinuedSpan(Span span, Span saved) {
-		if (saved == null && span.getSavedSpan() != null) {
+		Span saved = stack.getCurrentSpan();
+		if (saved == null) {
 			saved = span.getSavedSpan();
 		}
-		return new Span(span, saved);
+		SpanContextHolder.setCurrentSpan(stack, span, saved);
+		return span;
 	}
 
 	@Override
 	public Span getCurrentSpan() {
-		return SpanContextHolder.getCurrentSpan();
+		SpanContextStack stack = this.spanContextStorage.get();
+		return stack != null ? stack.getCurrentSpan() : null;
 	}
 
 	@Override
 	public boolean isTracing() {
-		return SpanContextHolder.isTracing();
+		SpanContextStack stack = this.spanContextStorage.get();
+		return stack != null && stack.isTracing();
 	}
 
 	@Override
 	public void addTag(String key, String value) {
 		Span s = getCurrentSpan();
-		if (s != null && s.isExportable()) {
+		if (s != null && (s.isExportable() || this.recordedTags.contains(key))) {
 			s.tag(key, value);
 		}
 	}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.trace;
+
+import org.springframework.core.NamedInheritableThreadLocal;
+
+/**
+ * {@link SpanContextStorage} whose threads start with a copy of the context of the
+ * thread that created them. Useful when threads are started directly instead of
+ * through instrumented executors. Threads of a pool keep the context of the thread
+ * that created them, so prefer wrapping the tasks with
+ * {@link org.springframework.cloud.sleuth.TraceRunnable} there. All instances share
+ * the same thread local.
+ *
+ * @since 1.2.1
+ */
+public class InheritableThreadLocalSpanContextStorage implements SpanContextStorage {
+
+	private static final ThreadLocal<SpanContextStack> CURRENT_SPAN = new NamedInheritableThreadLocal<SpanContextStack>(
+			"Inheritable Trace Context") {
+		@Override protected SpanContextStack initialValue() {
+			return new SpanContextStack();
+		}
+
+		@Override protected SpanContextStack childValue(SpanContextStack parentValue) {
+			return parentValue.copy();
+		}
+	};
+
+	@Override
+	public SpanContextStack get() {
+		return CURRENT_SPAN.get();
+	}
+
+	@Override
+	public SpanContextStack getOrCreate() {
+		return CURRENT_SPAN.get();
+	}
+
+	@Override
+	public void release(SpanContextStack stack) {
+	}
+}
@@ -18,10 +18,10 @@ package org.springframework.cloud.sleuth.trace;
 
 import org.apache.commons.logging.Log;
 import org.springframework.cloud.sleuth.Span;
-import org.springframework.core.NamedThreadLocal;
 
 /**
- * Utility for managing the thread local state for the {@link DefaultTracer}.
+ * Utility for managing the thread local state kept by the default
+ * {@link ThreadLocalSpanContextStorage}. Every method reads the thread local once.
  *
  * @author Spencer Gibb
  * @author Dave Syer
@@ -30,24 +30,48 @@ class SpanContextHolder {
 
 	private static final Log log = org.apache.commons.logging.LogFactory
 			.getLog(SpanContextHolder.class);
-	private static final ThreadLocal<SpanContext> CURRENT_SPAN = new NamedThreadLocal<>(
-			"Trace Context");
+	private static final SpanContextStorage STORAGE = new ThreadLocalSpanContextStorage();
+
+	private static SpanContextStack stack() {
+		return STORAGE.getOrCreate();
+	}
 
 	/**
 	 * Get the current span out of the thread context
 	 */
 	static Span getCurrentSpan() {
-		return isTracing() ? CURRENT_SPAN.get().span : null;
+		return stack().getCurrentSpan();
+	}
+
+	/**
+	 * Get the span that was current before the given span got set in the thread context.
+	 * If the given span is not the current one its {@link Span#getSavedSpan() saved span}
+	 * is returned.
+	 */
+	static Span getSavedSpan(Span span) {
+		return stack().getSavedSpan(span);
 	}
 
 	/**
 	 * Set the current span in the thread context
 	 */
 	static void setCurrentSpan(Span span) {
+		setCurrentSpan(span, span != null ? span.getSavedSpan() : null);
+	}
+
+	/**
+	 * Set the current span in the thread context together with the span that should
+	 * be restored once it gets closed. No copy of the span is made.
+	 */
+	static void setCurrentSpan(Span span, Span savedSpan) {
+		setCurrentSpan(stack(), span, savedSpan);
+	}
+
+	static void setCurrentSpan(SpanContextStack stack, Span span, Span savedSpan) {
 		if (log.isTraceEnabled()) {
 			log.trace("Setting current span " + span);
 		}
-		push(span, false);
+		stack.push(span, savedSpan, false);
 	}
 
 	/**
@@ -56,14 +80,14 @@ class SpanContextHolder {
 	 * @see #close() for a better alternative in instrumetation
 	 */
 	static void removeCurrentSpan() {
-		CURRENT_SPAN.remove();
+		stack().clear();
 	}
 
 	/**
 	 * Check if there is already a span in the current thread
 	 */
 	static boolean isTracing() {
-		return CURRENT_SPAN.get() != null;
+		return stack().isTracing();
 	}
 
 	/**
@@ -71,25 +95,14 @@ class SpanContextHolder {
 	 * On every iteration a function will be applied on the closed Span.
 	 */
 	static void close(SpanFunction spanFunction) {
-		SpanContext current = CURRENT_SPAN.get();
-		CURRENT_SPAN.remove();
-		while (current != null) {
-			current = current.parent;
-			spanFunction.apply(current != null ? current.span : null);
-			if (current != null) {
-				if (!current.autoClose) {
-					CURRENT_SPAN.set(current);
-					current = null;
-				}
-			}
-		}
+		stack().close(spanFunction);
 	}
 
 	/**
 	 * Close the current span and all parents that can be auto closed.
 	 */
 	static void close() {
-		close(new NoOpFunction());
+		close(NoOpFunction.INSTANCE);
 	}
 
 	/**
@@ -98,29 +111,7 @@ class SpanContextHolder {
 	 * a parent that wasn't already in thread context.
 	 */
 	static void push(Span span, boolean autoClose) {
-		if (isCurrent(span)) {
-			return;
-		}
-		CURRENT_SPAN.set(new SpanContext(span, autoClose));
-	}
-
-	private static boolean isCurrent(Span span) {
-		if (span == null || CURRENT_SPAN.get() == null) {
-			return false;
-		}
-		return span.equals(CURRENT_SPAN.get().span);
-	}
-
-	private static class SpanContext {
-		Span span;
-		boolean autoClose;
-		SpanContext parent;
-
-		public SpanContext(Span span, boolean autoClose) {
-			this.span = span;
-			this.autoClose = autoClose;
-			this.parent = CURRENT_SPAN.get();
-		}
+		stack().push(span, span != null ? span.getSavedSpan() : null, autoClose);
 	}
 
 	interface SpanFunction {
@@ -128,6 +119,8 @@ class SpanContextHolder {
 	}
 
 	private static class NoOpFunction implements SpanFunction {
+		static final NoOpFunction INSTANCE = new NoOpFunction();
+
 		@Override public void apply(Span span) { }
 	}
 }
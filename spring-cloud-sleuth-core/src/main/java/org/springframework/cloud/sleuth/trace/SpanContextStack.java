@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.trace;
+
+import java.util.Arrays;
+
+import org.springframework.cloud.sleuth.Span;
+
+/**
+ * Stack of the spans put in the context of a thread. A single instance is created per
+ * thread and reused, so pushing a span doesn't allocate. The arrays grow when more
+ * spans are nested and shrink back once the stack gets cleared.
+ *
+ * <p>The operations are only accessible to the {@link DefaultTracer}. A
+ * {@link SpanContextStorage} only creates and holds instances.
+ *
+ * <p>Not thread safe, an instance must only be used by the thread that owns it.
+ *
+ * @since 1.2.1
+ */
+public final class SpanContextStack {
+
+	private static final int DEFAULT_CAPACITY = 8;
+	private static final int MAX_RETAINED_CAPACITY = 64;
+
+	private final int initialCapacity;
+	private Span[] spans;
+	private Span[] savedSpans;
+	private boolean[] autoClose;
+	private int size;
+
+	public SpanContextStack() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	SpanContextStack(int initialCapacity) {
+		this.initialCapacity = initialCapacity;
+		this.spans = new Span[initialCapacity];
+		this.savedSpans = new Span[initialCapacity];
+		this.autoClose = new boolean[initialCapacity];
+	}
+
+	private SpanContextStack(SpanContextStack stack) {
+		this.initialCapacity = stack.initialCapacity;
+		this.spans = stack.spans.clone();
+		this.savedSpans = stack.savedSpans.clone();
+		this.autoClose = stack.autoClose.clone();
+		this.size = stack.size;
+	}
+
+	/**
+	 * Copy of this stack, which can then be used by another thread.
+	 */
+	SpanContextStack copy() {
+		return new SpanContextStack(this);
+	}
+
+	Span getCurrentSpan() {
+		return this.size != 0 ? this.spans[this.size - 1] : null;
+	}
+
+	boolean isTracing() {
+		return this.size != 0;
+	}
+
+	/**
+	 * Get the span that was current before the given span got pushed. If the given span
+	 * is not the current one its {@link Span#getSavedSpan() saved span} is returned.
+	 */
+	Span getSavedSpan(Span span) {
+		if (this.size != 0 && this.spans[this.size - 1] == span) {
+			return this.savedSpans[this.size - 1];
+		}
+		return span.getSavedSpan();
+	}
+
+	/**
+	 * Pushes the span unless it's already the current one. Spans are compared by
+	 * identity first since the tracer doesn't copy continued spans.
+	 */
+	void push(Span span, Span savedSpan, boolean autoClose) {
+		if (isCurrent(span)) {
+			return;
+		}
+		if (this.size == this.spans.length) {
+			int capacity = Math.max(this.size * 2, 2);
+			this.spans = Arrays.copyOf(this.spans, capacity);
+			this.savedSpans = Arrays.copyOf(this.savedSpans, capacity);
+			this.autoClose = Arrays.copyOf(this.autoClose, capacity);
+		}
+		this.spans[this.size] = span;
+		this.savedSpans[this.size] = savedSpan;
+		this.autoClose[this.size] = autoClose;
+		this.size++;
+	}
+
+	boolean isCurrent(Span span) {
+		if (span == null || this.size == 0) {
+			return false;
+		}
+		Span current = this.spans[this.size - 1];
+		return current == span || span.equals(current);
+	}
+
+	/**
+	 * Removes the current span and all parents that can be auto closed. The function is
+	 * applied on each span that becomes current, ending with {@code null} if the stack
+	 * gets empty.
+	 */
+	void close(SpanContextHolder.SpanFunction spanFunction) {
+		if (this.size == 0) {
+			return;
+		}
+		pop();
+		while (true) {
+			Span current = getCurrentSpan();
+			spanFunction.apply(current);
+			if (current == null || !this.autoClose[this.size - 1]) {
+				return;
+			}
+			pop();
+		}
+	}
+
+	/**
+	 * Removes all the spans, releasing the references to them.
+	 */
+	void clear() {
+		if (this.spans.length > MAX_RETAINED_CAPACITY) {
+			this.spans = new Span[this.initialCapacity];
+			this.savedSpans = new Span[this.initialCapacity];
+			this.autoClose = new boolean[this.initialCapacity];
+		}
+		else {
+			Arrays.fill(this.spans, 0, this.size, null);
+			Arrays.fill(this.savedSpans, 0, this.size, null);
+		}
+		this.size = 0;
+	}
+
+	private void pop() {
+		this.size--;
+		this.spans[this.size] = null;
+		this.savedSpans[this.size] = null;
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.trace;
+
+/**
+ * Storage of the {@link SpanContextStack} of the current thread, used by the
+ * {@link DefaultTracer} to keep the current span.
+ *
+ * @since 1.2.1
+ * @see ThreadLocalSpanContextStorage
+ * @see InheritableThreadLocalSpanContextStorage
+ * @see VirtualThreadSpanContextStorage
+ */
+public interface SpanContextStorage {
+
+	/**
+	 * @return the stack of the current thread or {@code null} if there is none
+	 */
+	SpanContextStack get();
+
+	/**
+	 * @return the stack of the current thread, created if there is none
+	 */
+	SpanContextStack getOrCreate();
+
+	/**
+	 * Called once the given stack of the current thread got empty. Implementations may
+	 * drop it, in which case the next call to {@link #get()} needs to return a new one.
+	 */
+	void release(SpanContextStack stack);
+}
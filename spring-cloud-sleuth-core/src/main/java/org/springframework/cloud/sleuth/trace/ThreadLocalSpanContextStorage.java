@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.trace;
+
+import org.springframework.core.NamedThreadLocal;
+
+/**
+ * Default {@link SpanContextStorage} keeping a stack per thread in a thread local.
+ * The stack is kept for the lifetime of the thread and reused, which suits pooled
+ * threads. All instances share the same thread local.
+ *
+ * @since 1.2.1
+ */
+public class ThreadLocalSpanContextStorage implements SpanContextStorage {
+
+	private static final ThreadLocal<SpanContextStack> CURRENT_SPAN = new NamedThreadLocal<SpanContextStack>(
+			"Trace Context") {
+		@Override protected SpanContextStack initialValue() {
+			return new SpanContextStack();
+		}
+	};
+
+	@Override
+	public SpanContextStack get() {
+		return CURRENT_SPAN.get();
+	}
+
+	@Override
+	public SpanContextStack getOrCreate() {
+		return CURRENT_SPAN.get();
+	}
+
+	@Override
+	public void release(SpanContextStack stack) {
+	}
+}
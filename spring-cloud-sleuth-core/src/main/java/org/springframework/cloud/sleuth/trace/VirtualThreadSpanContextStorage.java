@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.trace;
+
+import org.springframework.core.NamedThreadLocal;
+
+/**
+ * {@link SpanContextStorage} suited to a large number of short lived threads, like
+ * virtual threads. The stack starts small and the thread local entry is removed as
+ * soon as no span is in the context, so threads that are done with tracing don't
+ * retain any state. All instances share the same thread local.
+ *
+ * <p>Scoped values are not used since they bind a value for the duration of a call,
+ * while spans are continued and detached independently of the call stack.
+ *
+ * @since 1.2.1
+ */
+public class VirtualThreadSpanContextStorage implements SpanContextStorage {
+
+	private static final int INITIAL_CAPACITY = 2;
+
+	private static final ThreadLocal<SpanContextStack> CURRENT_SPAN = new NamedThreadLocal<>(
+			"Virtual Thread Trace Context");
+
+	@Override
+	public SpanContextStack get() {
+		return CURRENT_SPAN.get();
+	}
+
+	@Override
+	public SpanContextStack getOrCreate() {
+		SpanContextStack stack = CURRENT_SPAN.get();
+		if (stack == null) {
+			stack = new SpanContextStack(INITIAL_CAPACITY);
+			CURRENT_SPAN.set(stack);
+		}
+		return stack;
+	}
+
+	@Override
+	public void release(SpanContextStack stack) {
+		if (CURRENT_SPAN.get() == stack) {
+			CURRENT_SPAN.remove();
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.util;
+
+import org.springframework.cloud.sleuth.Span;
+
+/**
+ * Writes and reads the single {@code b3} header, which carries the whole trace context
+ * as {@code {traceId}-{spanId}-{sampled}-{parentSpanId}}. The sampled flag and the parent
+ * span id are optional. A value of just the sampled flag (e.g. {@code 0}) carries a
+ * sampling decision without any ids.
+ *
+ * @since 1.2.1
+ */
+public final class B3SingleFormat {
+
+	public static final String HEADER_NAME = "b3";
+
+	private static final char DEBUG = 'd';
+
+	private B3SingleFormat() {}
+
+	/**
+	 * Writes the trace context of the span. The sampled flag is always set, since the
+	 * receiver can't tell otherwise whether the span is exportable.
+	 */
+	public static String write(Span span) {
+		String traceId = span.traceIdString();
+		boolean hasParent = !span.getParents().isEmpty();
+		char[] data = new char[traceId.length() + 19 + (hasParent ? 17 : 0)];
+		int pos = 0;
+		traceId.getChars(0, traceId.length(), data, pos);
+		pos += traceId.length();
+		data[pos++] = '-';
+		HexCodec.writeHexLong(data, pos, span.getSpanId());
+		pos += 16;
+		data[pos++] = '-';
+		data[pos++] = span.isExportable() ? '1' : '0';
+		if (hasParent) {
+			data[pos++] = '-';
+			HexCodec.writeHexLong(data, pos, span.getParents().get(0));
+		}
+		return new String(data);
+	}
+
+	/**
+	 * Parses the value of a {@code b3} header into a builder of the remote span, or returns
+	 * {@code null} when the value carries no ids or is malformed. An unsampled flag makes
+	 * the span not exportable.
+	 */
+	public static Span.SpanBuilder parse(CharSequence b3) {
+		int length = b3 != null ? b3.length() : 0;
+		int traceIdLength = indexOf(b3, '-', 0);
+		if (traceIdLength != 16 && traceIdLength != 32) {
+			return null;
+		}
+		int spanIdEnd = traceIdLength + 17;
+		if (spanIdEnd > length || (spanIdEnd < length && b3.charAt(spanIdEnd) != '-')) {
+			return null;
+		}
+		try {
+			Span.SpanBuilder span = Span.builder()
+					.traceIdHigh(traceIdLength == 32 ?
+							HexCodec.lowerHexToUnsignedLong(b3, 0, 16) : 0)
+					.traceId(HexCodec.lowerHexToUnsignedLong(b3, traceIdLength - 16,
+							traceIdLength))
+					.spanId(HexCodec.lowerHexToUnsignedLong(b3, traceIdLength + 1, spanIdEnd));
+			int pos = spanIdEnd + 1;
+			if (pos >= length) {
+				return span;
+			}
+			if (pos + 1 < length && b3.charAt(pos + 1) != '-') {
+				return null;
+			}
+			char sampled = b3.charAt(pos);
+			if (sampled == '0') {
+				span.exportable(false);
+			}
+			else if (sampled != '1' && sampled != DEBUG) {
+				return null;
+			}
+			pos += 2;
+			if (pos <= length) {
+				if (length - pos != 16) {
+					return null;
+				}
+				span.parent(HexCodec.lowerHexToUnsignedLong(b3, pos, length));
+			}
+			return span;
+		}
+		catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the value of a {@code b3} header carries the debug flag
+	 */
+	public static boolean isDebug(CharSequence b3) {
+		if (b3 == null) {
+			return false;
+		}
+		if (b3.length() == 1) {
+			return b3.charAt(0) == DEBUG;
+		}
+		int traceIdEnd = indexOf(b3, '-', 0);
+		int flag = traceIdEnd + 18;
+		return traceIdEnd != -1 && flag < b3.length() && b3.charAt(flag) == DEBUG;
+	}
+
+	private static int indexOf(CharSequence value, char c, int from) {
+		if (value == null) {
+			return -1;
+		}
+		for (int i = from; i < value.length(); i++) {
+			if (value.charAt(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.util;
+
+/**
+ * Encodes and decodes ids as lower-hex. Decoding uses a lookup table and reads directly
+ * from any {@link CharSequence} range, so a part of a header doesn't need to be
+ * extracted as a substring first.
+ *
+ * @since 1.2.1
+ */
+public final class HexCodec {
+
+	private static final char[] HEX_DIGITS =
+			{'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+	/**
+	 * Value of each lower-hex character, -1 for all the other characters below 128.
+	 */
+	private static final byte[] HEX_VALUES = new byte[128];
+
+	static {
+		for (int i = 0; i < HEX_VALUES.length; i++) {
+			HEX_VALUES[i] = -1;
+		}
+		for (int i = 0; i < HEX_DIGITS.length; i++) {
+			HEX_VALUES[HEX_DIGITS[i]] = (byte) i;
+		}
+	}
+
+	private HexCodec() {}
+
+	/**
+	 * Parses a 1 to 32 character lower-hex string with no prefix into an unsigned long,
+	 * tossing any bits higher than 64.
+	 */
+	public static long lowerHexToUnsignedLong(CharSequence lowerHex) {
+		int length = lowerHex != null ? lowerHex.length() : 0;
+		if (length < 1 || length > 32) {
+			throw malformed(lowerHex);
+		}
+		// trim off any high bits
+		int beginIndex = length > 16 ? length - 16 : 0;
+		return lowerHexToUnsignedLong(lowerHex, beginIndex, length);
+	}
+
+	/**
+	 * Parses up to 16 lower-hex characters from {@code beginIndex} (inclusive) to
+	 * {@code endIndex} (exclusive) into an unsigned long.
+	 */
+	public static long lowerHexToUnsignedLong(CharSequence lowerHex, int beginIndex,
+			int endIndex) {
+		if (endIndex - beginIndex > 16) {
+			endIndex = beginIndex + 16;
+		}
+		long result = 0;
+		for (int i = beginIndex; i < endIndex; i++) {
+			char c = lowerHex.charAt(i);
+			int value = c < 128 ? HEX_VALUES[c] : -1;
+			if (value == -1) {
+				throw malformed(lowerHex);
+			}
+			result = (result << 4) | value;
+		}
+		return result;
+	}
+
+	/**
+	 * Represents the given id as a 16 character lower-hex string
+	 */
+	public static String toLowerHex(long id) {
+		char[] data = new char[16];
+		writeHexLong(data, 0, id);
+		return new String(data);
+	}
+
+	/**
+	 * Represents the given 128-bit id as a 32 character lower-hex string, or as a 16
+	 * character one if the high bits are not set
+	 */
+	public static String toLowerHex(long high, long low) {
+		if (high == 0) {
+			return toLowerHex(low);
+		}
+		char[] data = new char[32];
+		writeHexLong(data, 0, high);
+		writeHexLong(data, 16, low);
+		return new String(data);
+	}
+
+	/**
+	 * Writes the 16 character lower-hex representation of the value at the given position
+	 */
+	public static void writeHexLong(char[] data, int pos, long v) {
+		for (int i = 15; i >= 0; i--) {
+			data[pos + i] = HEX_DIGITS[(int) (v & 0xf)];
+			v >>>= 4;
+		}
+	}
+
+	private static IllegalArgumentException malformed(CharSequence lowerHex) {
+		return new IllegalArgumentException("Malformed id: " + lowerHex);
+	}
+}
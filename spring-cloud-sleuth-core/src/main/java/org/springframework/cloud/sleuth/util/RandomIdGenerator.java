@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.util;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.cloud.sleuth.IdGenerator;
+
+/**
+ * {@link IdGenerator} that returns random, non-zero IDs. By default uses
+ * {@link ThreadLocalRandom} so that threads creating spans don't contend on a
+ * shared seed.
+ *
+ * @since 1.2.1
+ */
+public class RandomIdGenerator implements IdGenerator {
+
+	private final Random random;
+
+	public RandomIdGenerator() {
+		this(null);
+	}
+
+	/**
+	 * @param random source of IDs, when {@code null} the {@link ThreadLocalRandom} is used.
+	 * Mind that a shared {@link Random} is a point of contention between threads.
+	 */
+	public RandomIdGenerator(Random random) {
+		this.random = random;
+	}
+
+	@Override
+	public long nextId() {
+		Random random = random();
+		long id = random.nextLong();
+		while (id == 0L) {
+			id = random.nextLong();
+		}
+		return id;
+	}
+
+	@Override
+	public long nextTraceIdHigh() {
+		return nextId();
+	}
+
+	Random random() {
+		return this.random != null ? this.random : ThreadLocalRandom.current();
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.util;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.sleuth.Span;
+
+/**
+ * Writes and reads the trace context as a single {@code byte[]}, for transports that
+ * carry binary headers. The layout is big-endian:
+ *
+ * <ul>
+ *     <li>1 byte version, currently {@code 0}</li>
+ *     <li>8 bytes each for the higher and lower bits of the trace id and the span id</li>
+ *     <li>1 byte of flags: {@code 1} when sampled, {@code 2} when a parent id follows</li>
+ *     <li>8 bytes of parent id, when present</li>
+ *     <li>any number of baggage items, each a 2 byte length followed by the UTF-8 key,
+ *     then a 2 byte length followed by the UTF-8 value</li>
+ * </ul>
+ *
+ * @since 1.2.1
+ */
+public final class SpanContextBinaryFormat {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final byte VERSION = 0;
+	private static final int FLAG_SAMPLED = 1;
+	private static final int FLAG_PARENT = 2;
+	private static final int IDS_LENGTH = 1 + 8 + 8 + 8 + 1;
+	private static final int MAX_ITEM_LENGTH = 0xffff;
+
+	private SpanContextBinaryFormat() {}
+
+	public static byte[] write(Span span) {
+		List<Long> parents = span.getParents();
+		boolean hasParent = !parents.isEmpty();
+		List<byte[]> baggage = encodedBaggage(span);
+		int length = IDS_LENGTH + (hasParent ? 8 : 0);
+		for (byte[] item : baggage) {
+			length += 2 + item.length;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		buffer.put(VERSION);
+		buffer.putLong(span.getTraceIdHigh());
+		buffer.putLong(span.getTraceId());
+		buffer.putLong(span.getSpanId());
+		buffer.put((byte) ((span.isExportable() ? FLAG_SAMPLED : 0)
+				| (hasParent ? FLAG_PARENT : 0)));
+		if (hasParent) {
+			buffer.putLong(parents.get(0));
+		}
+		for (byte[] item : baggage) {
+			buffer.putShort((short) item.length);
+			buffer.put(item);
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * Parses the trace context into a builder of the remote span, or returns {@code null}
+	 * when the bytes are of an unknown version or malformed.
+	 */
+	public static Span.SpanBuilder parse(byte[] bytes) {
+		if (bytes == null || bytes.length < IDS_LENGTH || bytes[0] != VERSION) {
+			return null;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+		try {
+			Span.SpanBuilder span = Span.builder()
+					.traceIdHigh(buffer.getLong())
+					.traceId(buffer.getLong())
+					.spanId(buffer.getLong());
+			int flags = buffer.get();
+			span.exportable((flags & FLAG_SAMPLED) != 0);
+			if ((flags & FLAG_PARENT) != 0) {
+				span.parent(buffer.getLong());
+			}
+			while (buffer.hasRemaining()) {
+				String key = readString(buffer);
+				String value = readString(buffer);
+				span.baggage(key, value);
+			}
+			return span;
+		}
+		catch (BufferUnderflowException e) {
+			return null;
+		}
+	}
+
+	private static List<byte[]> encodedBaggage(Span span) {
+		List<byte[]> items = new ArrayList<>();
+		for (Map.Entry<String, String> entry : span.baggageItems()) {
+			byte[] key = entry.getKey().getBytes(UTF_8);
+			byte[] value = entry.getValue() != null ?
+					entry.getValue().getBytes(UTF_8) : new byte[0];
+			if (key.length > MAX_ITEM_LENGTH || value.length > MAX_ITEM_LENGTH) {
+				continue;
+			}
+			items.add(key);
+			items.add(value);
+		}
+		return items;
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getShort() & MAX_ITEM_LENGTH;
+		if (length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(),
+				length, UTF_8);
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+}
@@ -1,9 +1,13 @@
 package org.springframework.cloud.sleuth.util;
 
-import java.util.Comparator;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.SortedMap;
 import java.util.TreeMap;
 
+import org.springframework.cloud.sleuth.LookupSpanTextMap;
+import org.springframework.cloud.sleuth.SpanTextMap;
+
 /**
  * Utility class related to {@link org.springframework.cloud.sleuth.SpanTextMap}
  *
@@ -15,14 +19,92 @@ public final class TextMapUtil {
 	private TextMapUtil() {}
 
 	public static Map<String, String> asMap(Iterable<Map.Entry<String, String>> iterable) {
-		Map<String, String> map = new TreeMap<>(new Comparator<String>() {
-			@Override public int compare(String o1, String o2) {
-				return o1.toLowerCase().compareTo(o2.toLowerCase());
-			}
-		});
+		Map<String, String> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
 		for (Map.Entry<String, String> entry : iterable) {
 			map.put(entry.getKey(), entry.getValue());
 		}
 		return map;
 	}
+
+	/**
+	 * Returns the text map itself if it supports lookups, otherwise a view over a case
+	 * insensitive copy of its entries.
+	 */
+	public static LookupSpanTextMap asLookup(SpanTextMap textMap) {
+		if (textMap instanceof LookupSpanTextMap) {
+			return (LookupSpanTextMap) textMap;
+		}
+		return new MapSpanTextMap(asMap(textMap));
+	}
+
+	/**
+	 * Case insensitive lookups over a map whose keys are case sensitive, e.g. the headers
+	 * of a carrier. A key is looked up by its exact spelling first. Only when that
+	 * misses, a copy of the map ordered by {@link String#CASE_INSENSITIVE_ORDER} is built
+	 * and reused for all the following lookups, so the map is copied at most once per
+	 * view instead of being scanned per missing key. The copy doesn't see entries added
+	 * to the map afterwards, so create a new view after writing to the map.
+	 */
+	public static final class IgnoreCaseLookup<T> {
+
+		private final Map<String, T> map;
+		private Map<String, T> ignoreCase;
+
+		public IgnoreCaseLookup(Map<String, T> map) {
+			this.map = map;
+			if (map instanceof SortedMap
+					&& ((SortedMap<String, T>) map).comparator() == String.CASE_INSENSITIVE_ORDER) {
+				this.ignoreCase = map;
+			}
+		}
+
+		public T get(String key) {
+			T value = this.map.get(key);
+			if (value != null || this.ignoreCase == this.map) {
+				return value;
+			}
+			if (this.ignoreCase == null) {
+				Map<String, T> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+				copy.putAll(this.map);
+				this.ignoreCase = copy;
+			}
+			return this.ignoreCase.get(key);
+		}
+
+		/**
+		 * Whether this is a view of the given map, i.e. it can be reused for it.
+		 */
+		public boolean isViewOf(Map<String, T> map) {
+			return this.map == map;
+		}
+	}
+
+	private static class MapSpanTextMap implements LookupSpanTextMap {
+
+		private final Map<String, String> map;
+
+		MapSpanTextMap(Map<String, String> map) {
+			this.map = map;
+		}
+
+		@Override
+		public String get(String key) {
+			return this.map.get(key);
+		}
+
+		@Override
+		public Iterable<String> keys() {
+			return this.map.keySet();
+		}
+
+		@Override
+		public Iterator<Map.Entry<String, String>> iterator() {
+			return this.map.entrySet().iterator();
+		}
+
+		@Override
+		public void put(String key, String value) {
+			this.map.put(key, value);
+		}
+	}
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.util;
+
+import java.util.Random;
+
+/**
+ * {@link RandomIdGenerator} whose higher 64 bits of a 128-bit trace ID start with the
+ * epoch seconds, followed by 32 random bits. Such trace IDs are roughly ordered by time
+ * and can be converted to the format used by e.g. AWS X-Ray.
+ *
+ * @since 1.2.1
+ */
+public class TimePrefixedIdGenerator extends RandomIdGenerator {
+
+	public TimePrefixedIdGenerator() {
+		this(null);
+	}
+
+	/**
+	 * @param random source of the random bits, when {@code null} the
+	 * {@link java.util.concurrent.ThreadLocalRandom} is used.
+	 */
+	public TimePrefixedIdGenerator(Random random) {
+		super(random);
+	}
+
+	@Override
+	public long nextTraceIdHigh() {
+		long epochSeconds = System.currentTimeMillis() / 1000;
+		long randomBits = random().nextInt() & 0xffffffffL;
+		return (epochSeconds & 0xffffffffL) << 32 | randomBits;
+	}
+}
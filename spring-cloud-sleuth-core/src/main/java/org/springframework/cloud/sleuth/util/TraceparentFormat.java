@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.util;
+
+import org.springframework.cloud.sleuth.Span;
+
+/**
+ * Writes and reads the W3C Trace Context {@code traceparent} header, which carries the
+ * trace context as {@code {version}-{traceId}-{parentId}-{flags}}, e.g.
+ * {@code 00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01}. The trace id is
+ * always 128-bit, so 64-bit trace ids are written with the higher bits set to zero.
+ * The {@code parentId} of the header is the id of the span sending it.
+ *
+ * @since 1.2.1
+ */
+public final class TraceparentFormat {
+
+	public static final String HEADER_NAME = "traceparent";
+
+	private static final String VERSION = "00";
+	private static final int LENGTH = 55;
+	private static final int TRACE_ID_OFFSET = 3;
+	private static final int SPAN_ID_OFFSET = 36;
+	private static final int FLAGS_OFFSET = 53;
+
+	private TraceparentFormat() {}
+
+	public static String write(Span span) {
+		char[] data = new char[LENGTH];
+		VERSION.getChars(0, 2, data, 0);
+		data[2] = '-';
+		HexCodec.writeHexLong(data, TRACE_ID_OFFSET, span.getTraceIdHigh());
+		HexCodec.writeHexLong(data, TRACE_ID_OFFSET + 16, span.getTraceId());
+		data[SPAN_ID_OFFSET - 1] = '-';
+		HexCodec.writeHexLong(data, SPAN_ID_OFFSET, span.getSpanId());
+		data[FLAGS_OFFSET - 1] = '-';
+		data[FLAGS_OFFSET] = '0';
+		data[FLAGS_OFFSET + 1] = span.isExportable() ? '1' : '0';
+		return new String(data);
+	}
+
+	/**
+	 * Parses the value of a {@code traceparent} header into a builder of the remote span,
+	 * or returns {@code null} when the value is malformed. Values of later versions are
+	 * read as far as the fields of version {@code 00} go.
+	 */
+	public static Span.SpanBuilder parse(CharSequence traceparent) {
+		int length = traceparent != null ? traceparent.length() : 0;
+		if (length < LENGTH || (length > LENGTH && traceparent.charAt(LENGTH) != '-')
+				|| traceparent.charAt(2) != '-'
+				|| traceparent.charAt(SPAN_ID_OFFSET - 1) != '-'
+				|| traceparent.charAt(FLAGS_OFFSET - 1) != '-') {
+			return null;
+		}
+		try {
+			long version = HexCodec.lowerHexToUnsignedLong(traceparent, 0, 2);
+			if (version == 0xff || (version == 0 && length != LENGTH)) {
+				return null;
+			}
+			long traceIdHigh = HexCodec.lowerHexToUnsignedLong(traceparent,
+					TRACE_ID_OFFSET, TRACE_ID_OFFSET + 16);
+			long traceId = HexCodec.lowerHexToUnsignedLong(traceparent,
+					TRACE_ID_OFFSET + 16, SPAN_ID_OFFSET - 1);
+			long spanId = HexCodec.lowerHexToUnsignedLong(traceparent, SPAN_ID_OFFSET,
+					FLAGS_OFFSET - 1);
+			long flags = HexCodec.lowerHexToUnsignedLong(traceparent, FLAGS_OFFSET,
+					LENGTH);
+			if ((traceIdHigh == 0 && traceId == 0) || spanId == 0) {
+				return null;
+			}
+			return Span.builder().traceIdHigh(traceIdHigh).traceId(traceId)
+					.spanId(spanId).exportable((flags & 1) == 1);
+		}
+		catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
@@ -146,6 +146,41 @@ public class SpanTests {
 		span.logs().add(new Log(1, "1"));
 	}
 
+	@Test
+	public void should_share_tags_logs_and_baggage_with_continued_span() {
+		Span continued = new Span(span, null);
+
+		continued.tag("foo", "bar");
+		continued.logEvent(1L, "event");
+		continued.setBaggageItem("baz", "qux");
+
+		then(span.tags()).containsEntry("foo", "bar");
+		then(span.logs()).containsExactly(new Log(1L, "event"));
+		then(span.getBaggageItem("baz")).isEqualTo("qux");
+	}
+
+	@Test
+	public void should_return_empty_collections_when_nothing_was_recorded() {
+		Span span = Span.builder().traceId(1L).spanId(2L).build();
+
+		then(span.tags()).isEmpty();
+		then(span.logs()).isEmpty();
+		then(span.getBaggage()).isEmpty();
+		then(span.baggageItems()).isEmpty();
+		then(span.getParents()).isEmpty();
+	}
+
+	@Test
+	public void should_keep_tags_in_insertion_order_beyond_initial_capacity() {
+		for (int i = 0; i < 20; i++) {
+			span.tag("key" + i, "value" + i);
+		}
+		span.tag("key3", "overridden");
+
+		then(span.tags()).hasSize(20).containsEntry("key3", "overridden");
+		then(span.tags().keySet().iterator().next()).isEqualTo("key0");
+	}
+
 	@Test public void should_properly_serialize_object() throws JsonProcessingException {
 		ObjectMapper objectMapper = new ObjectMapper();
 
@@ -192,6 +227,15 @@ public class SpanTests {
 				.isEqualTo(span.tags());
 	}
 
+	@Test public void should_cache_hex_representations_of_ids() {
+		Span span = Span.builder().traceIdHigh(1L).traceId(2L).spanId(3L).build();
+
+		then(span.traceIdString()).isEqualTo("00000000000000010000000000000002")
+				.isSameAs(span.traceIdString());
+		then(span.spanIdString()).isEqualTo("0000000000000003")
+				.isSameAs(span.spanIdString());
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void should_throw_exception_when_converting_invalid_hex_value() {
 		Span.hexToId("invalid");
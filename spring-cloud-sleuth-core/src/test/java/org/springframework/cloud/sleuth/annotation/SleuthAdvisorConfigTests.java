@@ -0,0 +1,98 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.annotation;
+
+import java.lang.reflect.Method;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+public class SleuthAdvisorConfigTests {
+
+	Pointcut pointcut;
+
+	@Before
+	public void setup() {
+		SleuthAdvisorConfig advisorConfig = new SleuthAdvisorConfig();
+		advisorConfig.init();
+		this.pointcut = advisorConfig.getPointcut();
+	}
+
+	@Test
+	public void should_match_methods_statically() throws Exception {
+		MethodMatcher methodMatcher = this.pointcut.getMethodMatcher();
+
+		then(methodMatcher.isRuntime()).isFalse();
+		then(methodMatcher.matches(method(AnnotatedClass.class, "newSpan"),
+				AnnotatedClass.class)).isTrue();
+		then(methodMatcher.matches(method(AnnotatedClass.class, "continueSpan"),
+				AnnotatedClass.class)).isTrue();
+		then(methodMatcher.matches(method(AnnotatedClass.class, "notAnnotated"),
+				AnnotatedClass.class)).isFalse();
+	}
+
+	@Test
+	public void should_match_interface_method_annotated_on_the_implementation()
+			throws Exception {
+		then(this.pointcut.getMethodMatcher().matches(
+				method(NotAnnotatedInterface.class, "newSpan"),
+				AnnotatedImplementation.class)).isTrue();
+	}
+
+	@Test
+	public void should_match_classes_with_annotated_methods_only() {
+		then(this.pointcut.getClassFilter().matches(AnnotatedClass.class)).isTrue();
+		then(this.pointcut.getClassFilter().matches(AnnotatedImplementation.class)).isTrue();
+		then(this.pointcut.getClassFilter().matches(NotAnnotatedClass.class)).isFalse();
+	}
+
+	private Method method(Class<?> clazz, String name) throws NoSuchMethodException {
+		return clazz.getMethod(name);
+	}
+
+	static class AnnotatedClass {
+		@NewSpan
+		public void newSpan() {
+		}
+
+		@ContinueSpan
+		public void continueSpan() {
+		}
+
+		public void notAnnotated() {
+		}
+	}
+
+	interface NotAnnotatedInterface {
+		void newSpan();
+	}
+
+	static class AnnotatedImplementation implements NotAnnotatedInterface {
+		@NewSpan
+		@Override public void newSpan() {
+		}
+	}
+
+	static class NotAnnotatedClass {
+		public void notAnnotated() {
+		}
+	}
+}
@@ -87,6 +87,43 @@ public class SpanTagAnnotationHandlerTests {
 		}
 	}
 	
+	@Test
+	public void shouldMergeSpanTagsOfImplementationAndInterface() throws NoSuchMethodException, SecurityException {
+		Method method = TaggedInterface.class.getMethod("tagged", String.class, String.class, String.class);
+		Method mostSpecificMethod = TaggedImplementation.class.getMethod("tagged", String.class, String.class, String.class);
+
+		SpanTag[] spanTags = SpanTagAnnotationHandler.findSpanTags(method, mostSpecificMethod,
+				TaggedImplementation.class);
+
+		assertThat(spanTags).hasSize(3);
+		assertThat(spanTags[0].value()).isEqualTo("fromImplementation");
+		assertThat(spanTags[1].value()).isEqualTo("fromInterface");
+		assertThat(spanTags[2]).isNull();
+	}
+
+	@Test
+	public void shouldReturnNullWhenNoParameterIsTagged() throws NoSuchMethodException, SecurityException {
+		Method method = TaggedImplementation.class.getMethod("untagged", String.class);
+
+		assertThat(SpanTagAnnotationHandler.findSpanTags(method, method,
+				TaggedImplementation.class)).isNull();
+	}
+
+	protected interface TaggedInterface {
+		@NewSpan
+		void tagged(@SpanTag("fromInterface") String first, @SpanTag("fromInterface") String second, String third);
+	}
+
+	protected static class TaggedImplementation implements TaggedInterface {
+		@Override
+		public void tagged(@SpanTag("fromImplementation") String first, String second, String third) {
+		}
+
+		@NewSpan
+		public void untagged(String param) {
+		}
+	}
+
 	protected class AnnotationMockClass {
 
 		// tag::resolver_bean[]
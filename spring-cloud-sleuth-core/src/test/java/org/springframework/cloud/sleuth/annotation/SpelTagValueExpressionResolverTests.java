@@ -17,8 +17,10 @@
 package org.springframework.cloud.sleuth.annotation;
 
 import org.junit.Test;
+import org.springframework.expression.spel.SpelCompilerMode;
 
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.groups.Tuple.tuple;
 
 /**
  * @author Marcin Grzejszczak
@@ -41,6 +43,87 @@ public class SpelTagValueExpressionResolverTests {
 
 		then(resolved).isEqualTo("BAR");
 	}
+
+	@Test
+	public void should_parse_an_expression_once() throws Exception {
+		SpelTagValueExpressionResolver resolver = new SpelTagValueExpressionResolver();
+
+		resolver.resolve("length() + 1", "foo");
+		String resolved = resolver.resolve("length() + 1", "bazz");
+
+		then(resolved).isEqualTo("5");
+		then(resolver.getCacheMisses()).isEqualTo(1);
+		then(resolver.getCacheHits()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_evict_the_least_recently_used_expression() throws Exception {
+		SpelTagValueExpressionResolver resolver = new SpelTagValueExpressionResolver(2,
+				SpelCompilerMode.OFF);
+
+		resolver.resolve("length() + 1", "foo");
+		resolver.resolve("length() + 2", "foo");
+		resolver.resolve("length() + 1", "foo");
+		resolver.resolve("length() + 3", "foo");
+		String resolved = resolver.resolve("length() + 1", "foo");
+
+		then(resolved).isEqualTo("4");
+		then(resolver.getCacheMisses()).isEqualTo(3);
+		then(resolver.getCacheHits()).isEqualTo(2);
+		resolver.resolve("length() + 2", "foo");
+		then(resolver.getCacheMisses()).isEqualTo(4);
+	}
+
+	@Test
+	public void should_count_compiled_expressions_of_each_type_against_the_cache_size() throws Exception {
+		SpelTagValueExpressionResolver resolver = new SpelTagValueExpressionResolver(1,
+				SpelCompilerMode.IMMEDIATE);
+
+		resolver.resolve("length()", "foo");
+		resolver.resolve("length()", new StringBuilder("foobar"));
+		resolver.resolve("length()", "foo");
+
+		then(resolver.getCacheMisses()).isEqualTo(3);
+		then(resolver.getCacheHits()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_resolve_a_value_with_compiled_expression() throws Exception {
+		SpelTagValueExpressionResolver resolver = new SpelTagValueExpressionResolver(
+				SpelTagValueExpressionResolver.DEFAULT_CACHE_SIZE, SpelCompilerMode.IMMEDIATE);
+
+		for (int i = 0; i < 3; i++) {
+			then(resolver.resolve("length() + 1", "foo")).isEqualTo("4");
+		}
+	}
+
+	@Test
+	public void should_not_reuse_compiled_expression_for_other_parameter_types() throws Exception {
+		SpelTagValueExpressionResolver resolver = new SpelTagValueExpressionResolver(
+				SpelTagValueExpressionResolver.DEFAULT_CACHE_SIZE, SpelCompilerMode.IMMEDIATE);
+
+		for (int i = 0; i < 3; i++) {
+			then(resolver.resolve("length()", "foo")).isEqualTo("3");
+		}
+		for (int i = 0; i < 3; i++) {
+			then(resolver.resolve("length()", new StringBuilder("foobar"))).isEqualTo("6");
+		}
+
+		then(resolver.getCacheMisses()).isEqualTo(2);
+	}
+
+	@Test
+	public void should_report_cache_metrics() throws Exception {
+		SpelTagValueExpressionResolver resolver = new SpelTagValueExpressionResolver();
+		resolver.resolve("length() + 1", "foo");
+		resolver.resolve("length() + 1", "foo");
+
+		then(new SpelTagValueExpressionResolverPublicMetrics(resolver).metrics())
+				.extracting("name", "value")
+				.containsOnly(
+						tuple(SpelTagValueExpressionResolverPublicMetrics.HITS_METRIC_NAME, 1L),
+						tuple(SpelTagValueExpressionResolverPublicMetrics.MISSES_METRIC_NAME, 1L));
+	}
 }
 
 class Foo {
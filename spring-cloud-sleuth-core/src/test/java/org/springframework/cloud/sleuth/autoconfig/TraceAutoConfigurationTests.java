@@ -15,6 +15,8 @@ package org.springframework.cloud.sleuth.autoconfig;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Random;
+
 import org.junit.After;
 import org.junit.Test;
 import org.springframework.boot.autoconfigure.PropertyPlaceholderAutoConfiguration;
@@ -24,6 +26,8 @@ import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.cloud.sleuth.log.SleuthLogAutoConfiguration;
 import org.springframework.cloud.sleuth.sampler.NeverSampler;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 public class TraceAutoConfigurationTests {
 
@@ -75,4 +79,37 @@ public class TraceAutoConfigurationTests {
 			}
 		}
 	}
+
+	@Test
+	public void usesUserDefinedRandomForIds() {
+		context.register(PropertyPlaceholderAutoConfiguration.class,
+				SleuthLogAutoConfiguration.class, CustomRandomConfig.class,
+				TraceAutoConfiguration.class);
+		context.refresh();
+		Tracer tracer = context.getBean(Tracer.class);
+
+		Span span = null;
+		try {
+			span = tracer.createSpan("foo", NeverSampler.INSTANCE);
+			assertThat(span.getTraceId()).isEqualTo(42L);
+		}
+		finally {
+			if (span != null) {
+				tracer.close(span);
+			}
+		}
+	}
+
+	@Configuration
+	static class CustomRandomConfig {
+
+		@Bean
+		Random random() {
+			return new Random() {
+				@Override public long nextLong() {
+					return 42L;
+				}
+			};
+		}
+	}
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.instrument.async;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.cloud.sleuth.DefaultSpanNamer;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceKeys;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.log.NoOpSpanLogger;
+import org.springframework.cloud.sleuth.sampler.AlwaysSampler;
+import org.springframework.cloud.sleuth.trace.DefaultTracer;
+import org.springframework.cloud.sleuth.trace.TestSpanContextHolder;
+import org.springframework.cloud.sleuth.util.ArrayListSpanAccumulator;
+
+import static org.springframework.cloud.sleuth.assertions.SleuthAssertions.then;
+
+public class ContextPropagatingTraceRunnableTests {
+
+	ExecutorService executor = Executors.newSingleThreadExecutor();
+	ArrayListSpanAccumulator accumulator = new ArrayListSpanAccumulator();
+	Tracer tracer = new DefaultTracer(new AlwaysSampler(),
+			new Random(), new DefaultSpanNamer(),
+			new NoOpSpanLogger(), this.accumulator, new TraceKeys());
+
+	@After
+	public void cleanup() {
+		TestSpanContextHolder.removeCurrentSpan();
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	public void should_continue_the_parent_span_without_creating_a_new_one()
+			throws Exception {
+		AtomicReference<Span> spanInTask = new AtomicReference<>();
+		Span parent = this.tracer.createSpan("parent");
+
+		this.executor.submit(contextPropagating(spanKeeping(spanInTask), 1000)).get();
+
+		then(spanInTask.get()).isEqualTo(parent);
+		then(this.accumulator.getSpans()).isEmpty();
+		this.tracer.close(parent);
+	}
+
+	@Test
+	public void should_report_a_span_for_a_task_exceeding_the_threshold()
+			throws Exception {
+		AtomicReference<Span> spanInTask = new AtomicReference<>();
+		Span parent = this.tracer.createSpan("parent");
+
+		this.executor.submit(contextPropagating(spanKeeping(spanInTask), 0)).get();
+
+		then(spanInTask.get()).isEqualTo(parent);
+		then(this.accumulator.getSpans()).hasSize(1);
+		Span slowTaskSpan = this.accumulator.getSpans().get(0);
+		then(slowTaskSpan).hasNameEqualTo("slow-task")
+				.hasATag(Span.SPAN_LOCAL_COMPONENT_TAG_NAME, "async");
+		then(slowTaskSpan.getTraceId()).isEqualTo(parent.getTraceId());
+		then(slowTaskSpan.getParents()).containsExactly(parent.getSpanId());
+		this.tracer.close(parent);
+	}
+
+	@Test
+	public void should_leave_no_span_in_the_thread_after_the_task_is_done()
+			throws Exception {
+		AtomicReference<Span> spanInTask = new AtomicReference<>();
+		Span parent = this.tracer.createSpan("parent");
+		this.executor.submit(contextPropagating(spanKeeping(spanInTask), 0)).get();
+		this.tracer.close(parent);
+
+		this.executor.submit(spanKeeping(spanInTask)).get();
+
+		then(spanInTask.get()).isNull();
+	}
+
+	@Test
+	public void should_run_a_task_submitted_outside_of_a_trace_without_a_span()
+			throws Exception {
+		AtomicReference<Span> spanInTask = new AtomicReference<>();
+
+		this.executor.submit(contextPropagating(spanKeeping(spanInTask), -1)).get();
+
+		then(spanInTask.get()).isNull();
+		then(this.accumulator.getSpans()).isEmpty();
+	}
+
+	private Runnable contextPropagating(Runnable runnable, long slowTaskThreshold) {
+		return new ContextPropagatingTraceRunnable(this.tracer, new TraceKeys(),
+				new DefaultSpanNamer(), runnable, "slow-task", slowTaskThreshold);
+	}
+
+	private Runnable spanKeeping(final AtomicReference<Span> span) {
+		return new Runnable() {
+			@Override public void run() {
+				span.set(TestSpanContextHolder.getCurrentSpan());
+			}
+		};
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.instrument.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.cloud.sleuth.DefaultSpanNamer;
+import org.springframework.cloud.sleuth.SpanNamer;
+import org.springframework.cloud.sleuth.TraceKeys;
+import org.springframework.cloud.sleuth.Tracer;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExecutorBeanPostProcessorTest {
+
+	@Mock BeanFactory beanFactory;
+	@Mock Tracer tracer;
+
+	@Test
+	public void should_wrap_runnables_passed_to_a_proxied_executor() throws Exception {
+		given(this.beanFactory.getBean(Tracer.class)).willReturn(this.tracer);
+		given(this.beanFactory.getBean(TraceKeys.class)).willReturn(new TraceKeys());
+		given(this.beanFactory.getBean(SpanNamer.class)).willReturn(new DefaultSpanNamer());
+		given(this.beanFactory.getBean(SleuthAsyncProperties.class)).willReturn(new SleuthAsyncProperties());
+		RecordingExecutor executor = new RecordingExecutor();
+
+		Executor proxy = (Executor) new ExecutorBeanPostProcessor(this.beanFactory)
+				.postProcessAfterInitialization(executor, "executor");
+		proxy.execute(aRunnable());
+		proxy.execute(aRunnable());
+
+		then(executor.commands).hasSize(2);
+		then(executor.commands.get(0)).isInstanceOf(SpanContinuingTraceRunnable.class);
+		then(executor.commands.get(1)).isInstanceOf(SpanContinuingTraceRunnable.class);
+		verify(this.beanFactory, times(1)).getBean(Tracer.class);
+	}
+
+	@Test
+	public void should_only_propagate_the_context_for_a_context_only_executor() throws Exception {
+		SleuthAsyncProperties asyncProperties = new SleuthAsyncProperties();
+		asyncProperties.getContextOnlyExecutors().add("executor");
+		given(this.beanFactory.getBean(Tracer.class)).willReturn(this.tracer);
+		given(this.beanFactory.getBean(TraceKeys.class)).willReturn(new TraceKeys());
+		given(this.beanFactory.getBean(SpanNamer.class)).willReturn(new DefaultSpanNamer());
+		given(this.beanFactory.getBean(SleuthAsyncProperties.class)).willReturn(asyncProperties);
+		RecordingExecutor executor = new RecordingExecutor();
+
+		Executor proxy = (Executor) new ExecutorBeanPostProcessor(this.beanFactory)
+				.postProcessAfterInitialization(executor, "executor");
+		proxy.execute(aRunnable());
+
+		then(executor.commands).hasSize(1);
+		then(executor.commands.get(0)).isInstanceOf(ContextPropagatingTraceRunnable.class);
+	}
+
+	@Test
+	public void should_call_other_methods_on_the_target() throws Exception {
+		RecordingExecutor executor = new RecordingExecutor();
+
+		RecordingExecutor proxy = (RecordingExecutor) new ExecutorBeanPostProcessor(this.beanFactory)
+				.postProcessAfterInitialization(executor, "executor");
+
+		then(proxy.name()).isEqualTo("recording");
+	}
+
+	private Runnable aRunnable() {
+		return new Runnable() {
+			@Override public void run() {
+			}
+		};
+	}
+
+	static class RecordingExecutor implements Executor {
+
+		final List<Runnable> commands = new ArrayList<>();
+
+		@Override public void execute(Runnable command) {
+			this.commands.add(command);
+		}
+
+		public String name() {
+			return "recording";
+		}
+	}
+}
@@ -20,6 +20,7 @@ import java.util.Random;
 
 import org.junit.Test;
 import org.springframework.cloud.sleuth.DefaultSpanNamer;
+import org.springframework.cloud.sleuth.Log;
 import org.springframework.cloud.sleuth.NoOpSpanReporter;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.TraceKeys;
@@ -56,4 +57,56 @@ public class LocalComponentTraceCallableTest {
 		then(this.closedSpan).isALocalComponentSpan();
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void should_tag_the_span_with_the_time_the_callable_waited_in_the_queue() throws Exception {
+		SpanContinuingTraceCallable<String> callable = new SpanContinuingTraceCallable<>(this.tracer, new TraceKeys(), new DefaultSpanNamer(),
+				() -> "hello");
+		Thread.sleep(5);
+
+		callable.call();
+
+		then(Long.valueOf(this.closedSpan.tags().get("queue.wait"))).isGreaterThanOrEqualTo(5000L);
+	}
+
+	@Test
+	public void should_not_log_queue_events_on_the_continued_span_by_default() throws Exception {
+		Span parent = this.tracer.createSpan("parent");
+		SpanContinuingTraceCallable<String> callable = new SpanContinuingTraceCallable<>(this.tracer, new TraceKeys(), new DefaultSpanNamer(),
+				() -> "hello");
+
+		callable.call();
+
+		then(parent.logs()).isEmpty();
+		then(parent.tags()).doesNotContainKey("queue.wait");
+		this.tracer.close(parent);
+	}
+
+	@Test
+	public void should_log_queue_events_on_the_continued_span_when_enabled() throws Exception {
+		TraceKeys traceKeys = new TraceKeys();
+		traceKeys.getAsync().setQueuedEvent("queued");
+		traceKeys.getAsync().setDequeuedEvent("dequeued");
+		Span parent = this.tracer.createSpan("parent");
+		SpanContinuingTraceCallable<String> callable = new SpanContinuingTraceCallable<>(this.tracer, traceKeys, new DefaultSpanNamer(),
+				() -> "hello");
+		Thread.sleep(5);
+
+		callable.call();
+
+		then(parent).hasLoggedAnEvent("queued").hasLoggedAnEvent("dequeued");
+		then(parent.tags()).doesNotContainKey("queue.wait");
+		then(timestamp(parent, "dequeued") - timestamp(parent, "queued"))
+				.isGreaterThanOrEqualTo(5L);
+		this.tracer.close(parent);
+	}
+
+	private long timestamp(Span span, String event) {
+		for (Log log : span.logs()) {
+			if (event.equals(log.getEvent())) {
+				return log.getTimestamp();
+			}
+		}
+		throw new AssertionError("No event " + event);
+	}
+
+}
@@ -24,6 +24,7 @@ import org.junit.Test;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.util.StringUtils;
 
 import static org.assertj.core.api.Assertions.fail;
@@ -36,17 +37,17 @@ public class MessagingSpanExtractorTests {
 	@Test
 	public void should_return_null_if_trace_or_span_is_missing() {
 		then(this.extractor.joinTrace(
-				new MessagingTextMap(MessageBuilder.withPayload("")))).isNull();
+				textMap(MessageBuilder.withPayload("")))).isNull();
 
 		then(this.extractor.joinTrace(
-				new MessagingTextMap(MessageBuilder.withPayload("").copyHeaders(headers("trace"))))).isNull();
+				textMap(MessageBuilder.withPayload("").copyHeaders(headers("trace"))))).isNull();
 	}
 
 	@Test
 	public void should_set_random_traceid_if_header_value_is_invalid() {
 		try {
 			this.extractor.joinTrace(
-					new MessagingTextMap(MessageBuilder.withPayload("")
+					textMap(MessageBuilder.withPayload("")
 							.copyHeaders(headers("invalid", randomId()))));
 			fail("should throw an exception");
 		} catch (IllegalArgumentException e) {
@@ -59,7 +60,7 @@ public class MessagingSpanExtractorTests {
 		String traceId128 = "463ac35c9f6413ad48485a3953bb6124";
 
 		Span span = this.extractor.joinTrace(
-				new MessagingTextMap(MessageBuilder.withPayload("")
+				textMap(MessageBuilder.withPayload("")
 						.copyHeaders(headers(traceId128, randomId()))));
 
 		then(span.traceIdString()).isEqualTo(traceId128);
@@ -69,7 +70,7 @@ public class MessagingSpanExtractorTests {
 	public void should_set_random_spanid_if_header_value_is_invalid() {
 		try {
 			this.extractor.joinTrace(
-					new MessagingTextMap(MessageBuilder.withPayload("")
+					textMap(MessageBuilder.withPayload("")
 							.copyHeaders(headers(randomId(), "invalid"))));
 			fail("should throw an exception");
 		} catch (IllegalArgumentException e) {
@@ -81,7 +82,7 @@ public class MessagingSpanExtractorTests {
 	public void should_not_throw_exception_if_parent_id_is_invalid() {
 		try {
 			this.extractor.joinTrace(
-					new MessagingTextMap(MessageBuilder.withPayload("")
+					textMap(MessageBuilder.withPayload("")
 							.copyHeaders(headers(randomId(), randomId(), "invalid"))));
 			fail("should throw an exception");
 		} catch (IllegalArgumentException e) {
@@ -89,6 +90,10 @@ public class MessagingSpanExtractorTests {
 		}
 	}
 
+	private MessagingTextMap textMap(MessageBuilder<?> builder) {
+		return new MessagingTextMap(MessageHeaderAccessor.getMutableAccessor(builder.build()));
+	}
+
 	private MessageHeaders headers(String traceId) {
 		return headers(traceId, null, null);
 	}
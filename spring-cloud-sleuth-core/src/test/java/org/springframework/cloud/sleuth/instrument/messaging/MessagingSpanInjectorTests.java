@@ -16,7 +16,10 @@
 
 package org.springframework.cloud.sleuth.instrument.messaging;
 
+import java.util.Arrays;
+
 import org.junit.Test;
+import org.springframework.cloud.sleuth.PropagationType;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.TraceKeys;
 import org.springframework.messaging.Message;
@@ -41,21 +44,21 @@ public class MessagingSpanInjectorTests {
 	public void spanHeadersAdded() {
 		Span span = Span.builder().name("http:foo").spanId(1L).traceId(2L).build();
 		Message<?> message = new GenericMessage<>("Hello World");
-		MessageBuilder<?> messageBuilder = MessageBuilder.fromMessage(message);
+		MessageHeaderAccessor headers = MessageHeaderAccessor.getMutableAccessor(message);
 
-		this.spanInjector.inject(span, new MessagingTextMap(messageBuilder));
+		this.spanInjector.inject(span, new MessagingTextMap(headers));
 
-		assertThat(messageBuilder.build().getHeaders()).containsKey(TraceMessageHeaders.SPAN_ID_NAME);
+		assertThat(headers.getMessageHeaders()).containsKey(TraceMessageHeaders.SPAN_ID_NAME);
 	}
 
 	@Test
 	public void shouldNotOverrideSpanTags() {
 		Span span = spanWithStringPayloadType();
-		MessageBuilder<?> messageBuilder = messageWithIntegerPayloadType();
+		MessageHeaderAccessor headers = messageWithIntegerPayloadType();
 
-		this.spanInjector.inject(span, new MessagingTextMap(messageBuilder));
+		this.spanInjector.inject(span, new MessagingTextMap(headers));
 
-		assertThat(messageBuilder.build().getHeaders()).containsKeys(TraceMessageHeaders.SPAN_ID_NAME,
+		assertThat(headers.getMessageHeaders()).containsKeys(TraceMessageHeaders.SPAN_ID_NAME,
 				"message/payload-type");
 		assertThat(span).hasATag("message/payload-type", "java.lang.String");
 	}
@@ -66,10 +69,10 @@ public class MessagingSpanInjectorTests {
 		return span;
 	}
 
-	private MessageBuilder<?> messageWithIntegerPayloadType() {
+	private MessageHeaderAccessor messageWithIntegerPayloadType() {
 		MessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
 		accessor.setHeader("message/payload-type", "java.lang.Integer");
-		return MessageBuilder.withPayload("Hello World").setHeaders(accessor);
+		return accessor;
 	}
 
 	@Test
@@ -78,12 +81,13 @@ public class MessagingSpanInjectorTests {
 		MessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
 		Message<String> messageToBuild = MessageBuilder.createMessage("Hello World",
 				accessor.getMessageHeaders());
-		MessageBuilder<String> messageBuilder = MessageBuilder
-				.fromMessage(messageToBuild);
+		MessageHeaderAccessor headers = MessageHeaderAccessor
+				.getMutableAccessor(messageToBuild);
 
-		this.spanInjector.inject(span, new MessagingTextMap(messageBuilder));
+		this.spanInjector.inject(span, new MessagingTextMap(headers));
 
-		Message<String> message = messageBuilder.build();
+		Message<String> message = MessageBuilder.createMessage("Hello World",
+				headers.getMessageHeaders());
 		assertThat(message.getHeaders())
 				.containsKey(NativeMessageHeaderAccessor.NATIVE_HEADERS);
 		MessageHeaderAccessor natives = NativeMessageHeaderAccessor
@@ -91,4 +95,149 @@ public class MessagingSpanInjectorTests {
 		assertThat(natives.getMessageHeaders()).containsKey(TraceMessageHeaders.SPAN_ID_NAME);
 	}
 
+	@Test
+	public void singleHeadersAddedInsteadOfSeparateOnes() {
+		HeaderBasedMessagingInjector injector = new HeaderBasedMessagingInjector(
+				new TraceKeys(), Arrays.asList(PropagationType.B3_SINGLE, PropagationType.W3C));
+		Span span = Span.builder().name("http:foo").spanId(1L).traceId(2L).build();
+		MessageHeaderAccessor headers = new MessageHeaderAccessor();
+
+		injector.inject(span, new MessagingTextMap(headers));
+
+		assertThat(headers.getMessageHeaders())
+				.containsEntry("b3", "0000000000000002-0000000000000001-1")
+				.containsEntry("traceparent",
+						"00-00000000000000000000000000000002-0000000000000001-01")
+				.doesNotContainKeys(TraceMessageHeaders.TRACE_ID_NAME,
+						TraceMessageHeaders.SPAN_ID_NAME);
+	}
+
+	@Test
+	public void singleHeaderIsReadBack() {
+		HeaderBasedMessagingInjector injector = new HeaderBasedMessagingInjector(
+				new TraceKeys(), Arrays.asList(PropagationType.B3_SINGLE));
+		Span span = Span.builder().name("http:foo").spanId(1L).traceId(2L).parent(3L)
+				.baggage("foo", "bar").build();
+		MessageHeaderAccessor headers = new MessageHeaderAccessor();
+
+		injector.inject(span, new MessagingTextMap(headers));
+		Span extracted = new HeaderBasedMessagingExtractor()
+				.joinTrace(new MessagingTextMap(headers));
+
+		assertThat(extracted.getTraceId()).isEqualTo(2L);
+		assertThat(extracted.getSpanId()).isEqualTo(1L);
+		assertThat(extracted.getParents()).containsExactly(3L);
+		assertThat(extracted.getBaggageItem("foo")).isEqualTo("bar");
+	}
+
+	@Test
+	public void binaryHeaderCarriesTraceContextAndBaggage() {
+		HeaderBasedMessagingInjector injector = new HeaderBasedMessagingInjector(
+				new TraceKeys(), Arrays.asList(PropagationType.BINARY));
+		Span span = Span.builder().name("http:foo").spanId(1L).traceId(2L).parent(3L)
+				.baggage("foo", "bar").build();
+		MessageHeaderAccessor headers = new MessageHeaderAccessor();
+
+		injector.inject(span, new MessagingTextMap(headers));
+		Message<?> message = MessageBuilder.createMessage("Hello World",
+				headers.getMessageHeaders());
+		Span extracted = new HeaderBasedMessagingExtractor().joinTrace(new MessagingTextMap(
+				MessageHeaderAccessor.getMutableAccessor(message), message.getHeaders()));
+
+		assertThat(message.getHeaders().get(TraceMessageHeaders.SPAN_CONTEXT_NAME))
+				.isInstanceOf(byte[].class);
+		assertThat(message.getHeaders()).doesNotContainKeys(
+				TraceMessageHeaders.TRACE_ID_NAME, "baggage_foo");
+		assertThat(extracted.getTraceId()).isEqualTo(2L);
+		assertThat(extracted.getSpanId()).isEqualTo(1L);
+		assertThat(extracted.getParents()).containsExactly(3L);
+		assertThat(extracted.getBaggageItem("foo")).isEqualTo("bar");
+		assertThat(extracted.isRemote()).isTrue();
+	}
+
+	@Test
+	public void staleHeadersOfOtherFormatsAreRemovedWhenMessageIsForwarded() {
+		Span upstream = Span.builder().name("http:foo").spanId(1L).traceId(2L).parent(3L)
+				.build();
+		MessageHeaderAccessor upstreamHeaders = new MessageHeaderAccessor();
+		new HeaderBasedMessagingInjector(new TraceKeys(),
+				Arrays.asList(PropagationType.B3_SINGLE, PropagationType.W3C))
+				.inject(upstream, new MessagingTextMap(upstreamHeaders));
+		Message<?> received = MessageBuilder.createMessage("Hello World",
+				upstreamHeaders.getMessageHeaders());
+		Span span = Span.builder().name("http:foo").spanId(4L).traceId(2L).parent(1L)
+				.build();
+		MessageHeaderAccessor headers = MessageHeaderAccessor.getMutableAccessor(received);
+
+		this.spanInjector.inject(span, new MessagingTextMap(headers, received.getHeaders()));
+		Message<?> forwarded = MessageBuilder.createMessage("Hello World",
+				headers.getMessageHeaders());
+		Span extracted = new HeaderBasedMessagingExtractor().joinTrace(new MessagingTextMap(
+				MessageHeaderAccessor.getMutableAccessor(forwarded), forwarded.getHeaders()));
+
+		assertThat(forwarded.getHeaders()).doesNotContainKeys("b3", "traceparent");
+		assertThat(extracted.getSpanId()).isEqualTo(4L);
+		assertThat(extracted.getParents()).containsExactly(1L);
+	}
+
+	@Test
+	public void staleHeadersAreRemovedFromMessageWithMutableAccessor() {
+		Span upstream = Span.builder().name("http:foo").spanId(1L).traceId(2L).parent(3L)
+				.build();
+		MessageHeaderAccessor upstreamHeaders = new MessageHeaderAccessor();
+		upstreamHeaders.setLeaveMutable(true);
+		new HeaderBasedMessagingInjector(new TraceKeys(),
+				Arrays.asList(PropagationType.B3_SINGLE, PropagationType.W3C))
+				.inject(upstream, new MessagingTextMap(upstreamHeaders));
+		Message<?> received = MessageBuilder.createMessage("Hello World",
+				upstreamHeaders.getMessageHeaders());
+		Span span = Span.builder().name("http:foo").spanId(4L).traceId(2L).parent(1L)
+				.build();
+		MessageHeaderAccessor headers = MessageHeaderAccessor.getMutableAccessor(received);
+
+		this.spanInjector.inject(span, new MessagingTextMap(headers, received.getHeaders()));
+
+		assertThat(headers).isSameAs(upstreamHeaders);
+		assertThat(headers.getMessageHeaders()).doesNotContainKeys("b3", "traceparent")
+				.containsEntry(TraceMessageHeaders.SPAN_ID_NAME, "0000000000000004");
+	}
+
+	@Test
+	public void staleParentIsRemovedForNotSampledSpan() {
+		MessageHeaderAccessor headers = new MessageHeaderAccessor();
+		headers.setHeader(TraceMessageHeaders.PARENT_ID_NAME, "0000000000000003");
+		Span span = Span.builder().name("http:foo").spanId(4L).traceId(2L).parent(1L)
+				.exportable(false).build();
+
+		this.spanInjector.inject(span, new MessagingTextMap(headers));
+
+		assertThat(headers.getMessageHeaders())
+				.containsEntry(TraceMessageHeaders.SPAN_ID_NAME, "0000000000000004")
+				.doesNotContainKey(TraceMessageHeaders.PARENT_ID_NAME);
+	}
+
+	@Test
+	public void staleBinaryHeaderIsRemovedWhenBinaryFormatIsOff() {
+		Span upstream = Span.builder().name("http:foo").spanId(1L).traceId(2L).build();
+		MessageHeaderAccessor upstreamHeaders = new MessageHeaderAccessor();
+		new HeaderBasedMessagingInjector(new TraceKeys(),
+				Arrays.asList(PropagationType.BINARY))
+				.inject(upstream, new MessagingTextMap(upstreamHeaders));
+		Message<?> received = MessageBuilder.createMessage("Hello World",
+				upstreamHeaders.getMessageHeaders());
+		Span span = Span.builder().name("http:foo").spanId(4L).traceId(2L).parent(1L)
+				.build();
+		MessageHeaderAccessor headers = MessageHeaderAccessor.getMutableAccessor(received);
+
+		this.spanInjector.inject(span, new MessagingTextMap(headers, received.getHeaders()));
+		Message<?> forwarded = MessageBuilder.createMessage("Hello World",
+				headers.getMessageHeaders());
+		Span extracted = new HeaderBasedMessagingExtractor().joinTrace(new MessagingTextMap(
+				MessageHeaderAccessor.getMutableAccessor(forwarded), forwarded.getHeaders()));
+
+		assertThat(forwarded.getHeaders())
+				.doesNotContainKey(TraceMessageHeaders.SPAN_CONTEXT_NAME);
+		assertThat(extracted.getSpanId()).isEqualTo(4L);
+	}
+
 }
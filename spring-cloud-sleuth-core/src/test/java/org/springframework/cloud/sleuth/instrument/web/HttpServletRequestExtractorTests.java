@@ -96,4 +96,79 @@ public class HttpServletRequestExtractorTests {
 
 		then(span.traceIdString()).isEqualTo(hex128Bits);
 	}
+
+	@Test
+	public void should_look_up_tracing_headers_without_copying_all_headers() {
+		BDDMockito.given(this.request.getHeader(Span.TRACE_ID_NAME))
+				.willReturn("48485a3953bb6124");
+		BDDMockito.given(this.request.getHeader(Span.SPAN_ID_NAME))
+				.willReturn("48485a3953bb6125");
+
+		Span span = this.extractor.joinTrace(new HttpServletRequestTextMap(this.request));
+
+		then(span.traceIdString()).isEqualTo("48485a3953bb6124");
+		then(span.getSpanId()).isEqualTo(Span.hexToId("48485a3953bb6125"));
+		BDDMockito.then(this.request).should(BDDMockito.never()).getHeaders(BDDMockito.anyString());
+	}
+
+	@Test
+	public void should_extract_baggage_from_headers() {
+		BDDMockito.given(this.request.getHeaderNames())
+				.willReturn(new Vector<>(Arrays.asList(Span.TRACE_ID_NAME, "baggage-foo")).elements());
+		BDDMockito.given(this.request.getHeader(Span.TRACE_ID_NAME))
+				.willReturn("48485a3953bb6124");
+		BDDMockito.given(this.request.getHeader("baggage-foo")).willReturn("bar");
+
+		Span span = this.extractor.joinTrace(new HttpServletRequestTextMap(this.request));
+
+		then(span.getBaggageItem("foo")).isEqualTo("bar");
+	}
+
+	@Test
+	public void should_prefer_single_b3_header() {
+		BDDMockito.given(this.request.getHeader("b3"))
+				.willReturn("463ac35c9f6413ad-a2fb4a1d1a96d312-0-0020000000000001");
+		BDDMockito.given(this.request.getHeader(Span.TRACE_ID_NAME))
+				.willReturn("48485a3953bb6124");
+
+		Span span = this.extractor.joinTrace(new HttpServletRequestTextMap(this.request));
+
+		then(span.traceIdString()).isEqualTo("463ac35c9f6413ad");
+		then(span.spanIdString()).isEqualTo("a2fb4a1d1a96d312");
+		then(span.getParents()).containsExactly(0x20000000000001L);
+		then(span.isExportable()).isFalse();
+		then(span.isRemote()).isTrue();
+	}
+
+	@Test
+	public void should_extract_w3c_traceparent_header() {
+		BDDMockito.given(this.request.getHeader("traceparent"))
+				.willReturn("00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01");
+
+		Span span = this.extractor.joinTrace(new HttpServletRequestTextMap(this.request));
+
+		then(span.traceIdString()).isEqualTo("0af7651916cd43dd8448eb211c80319c");
+		then(span.spanIdString()).isEqualTo("b7ad6b7169203331");
+		then(span.isExportable()).isTrue();
+	}
+
+	@Test
+	public void should_fall_back_to_b3_headers_when_single_header_is_malformed() {
+		BDDMockito.given(this.request.getHeader("b3")).willReturn("0");
+		BDDMockito.given(this.request.getHeader(Span.TRACE_ID_NAME))
+				.willReturn("48485a3953bb6124");
+
+		Span span = this.extractor.joinTrace(new HttpServletRequestTextMap(this.request));
+
+		then(span.traceIdString()).isEqualTo("48485a3953bb6124");
+	}
+
+	@Test
+	public void should_look_up_additional_headers_ignoring_case() {
+		HttpServletRequestTextMap textMap = new HttpServletRequestTextMap(this.request);
+
+		textMap.put("X-Custom-Header", "foo");
+
+		then(textMap.get("x-custom-header")).isEqualTo("foo");
+	}
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.instrument.web.client.feign;
+
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.springframework.cloud.sleuth.PropagationType;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.instrument.web.ZipkinHttpSpanInjector;
+
+import feign.Request;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+public class FeignRequestInjectorTests {
+
+	FeignRequestInjector injector = new FeignRequestInjector();
+
+	@Test
+	public void should_inject_128_bit_trace_id() {
+		Span span = Span.builder().traceIdHigh(1L).traceId(2L).spanId(3L).name("foo")
+				.build();
+		AtomicReference<Request> request = new AtomicReference<>(Request.create("GET",
+				"http://foo", new HashMap<>(), "".getBytes(), Charset.defaultCharset()));
+
+		this.injector.inject(span, request);
+
+		then(request.get().headers().get(Span.TRACE_ID_NAME))
+				.containsExactly("00000000000000010000000000000002");
+		then(request.get().headers().get(Span.SPAN_ID_NAME))
+				.containsExactly("0000000000000003");
+	}
+
+	@Test
+	public void should_inject_headers_of_the_configured_propagation_type() {
+		FeignRequestInjector injector = new FeignRequestInjector(new ZipkinHttpSpanInjector(
+				Collections.singleton(PropagationType.W3C)));
+		Span span = Span.builder().traceIdHigh(1L).traceId(2L).spanId(3L).name("foo")
+				.build();
+		AtomicReference<Request> request = new AtomicReference<>(Request.create("GET",
+				"http://foo", new HashMap<>(), "".getBytes(), Charset.defaultCharset()));
+
+		injector.inject(span, request);
+
+		then(request.get().headers().get("traceparent")).containsExactly(
+				"00-00000000000000010000000000000002-0000000000000003-01");
+		then(request.get().headers()).doesNotContainKey(Span.TRACE_ID_NAME);
+	}
+}
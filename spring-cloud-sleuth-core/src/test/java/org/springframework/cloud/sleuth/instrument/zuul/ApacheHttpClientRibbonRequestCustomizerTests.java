@@ -16,16 +16,20 @@
 
 package org.springframework.cloud.sleuth.instrument.zuul;
 
+import java.util.Collections;
+
 import org.apache.http.Header;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.cloud.sleuth.PropagationType;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.instrument.web.ZipkinHttpSpanInjector;
 
 import static org.assertj.core.api.BDDAssertions.then;
 
@@ -36,10 +40,16 @@ import static org.assertj.core.api.BDDAssertions.then;
 public class ApacheHttpClientRibbonRequestCustomizerTests {
 
 	@Mock Tracer tracer;
-	@InjectMocks ApacheHttpClientRibbonRequestCustomizer customizer;
+	ApacheHttpClientRibbonRequestCustomizer customizer;
 	Span span = Span.builder().name("name").spanId(1L).traceId(2L).parent(3L)
 			.processId("processId").build();
 
+	@Before
+	public void setup() {
+		this.customizer = new ApacheHttpClientRibbonRequestCustomizer(this.tracer,
+				new ZipkinHttpSpanInjector());
+	}
+
 	@Test
 	public void should_accept_customizer_when_apache_http_client_is_passed() throws Exception {
 		then(this.customizer.accepts(String.class)).isFalse();
@@ -71,6 +81,19 @@ public class ApacheHttpClientRibbonRequestCustomizerTests {
 		thenThereIsAHeaderWithNameAndValue(request, Span.PROCESS_ID_NAME, "processId");
 	}
 
+	@Test
+	public void should_set_headers_of_the_configured_propagation_type() throws Exception {
+		this.customizer = new ApacheHttpClientRibbonRequestCustomizer(this.tracer,
+				new ZipkinHttpSpanInjector(Collections.singleton(PropagationType.B3_SINGLE)));
+		RequestBuilder requestBuilder = RequestBuilder.create("GET");
+
+		this.customizer.inject(this.span, this.customizer.toSpanTextMap(requestBuilder));
+
+		HttpUriRequest request = requestBuilder.build();
+		then(request.getFirstHeader("b3").getValue()).isEqualTo("0000000000000002-0000000000000001-1-0000000000000003");
+		then(request.getFirstHeader(Span.TRACE_ID_NAME)).isNull();
+	}
+
 	private void thenThereIsAHeaderWithNameAndValue(HttpUriRequest request, String name, String value) {
 		Header header = request.getFirstHeader(name);
 		then(header.getName()).isEqualTo(name);
@@ -16,15 +16,19 @@
 
 package org.springframework.cloud.sleuth.instrument.zuul;
 
+import java.util.Collections;
+
 import com.netflix.client.http.HttpRequest;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.cloud.sleuth.PropagationType;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.instrument.web.ZipkinHttpSpanInjector;
 
 import static org.assertj.core.api.BDDAssertions.then;
 
@@ -35,10 +39,16 @@ import static org.assertj.core.api.BDDAssertions.then;
 public class RestClientRibbonRequestCustomizerTests {
 
 	@Mock Tracer tracer;
-	@InjectMocks RestClientRibbonRequestCustomizer customizer;
+	RestClientRibbonRequestCustomizer customizer;
 	Span span = Span.builder().name("name").spanId(1L).traceId(2L).parent(3L)
 			.processId("processId").build();
 
+	@Before
+	public void setup() {
+		this.customizer = new RestClientRibbonRequestCustomizer(this.tracer,
+				new ZipkinHttpSpanInjector());
+	}
+
 	@Test
 	public void should_accept_customizer_when_apache_http_client_is_passed() throws Exception {
 		then(this.customizer.accepts(String.class)).isFalse();
@@ -68,6 +78,19 @@ public class RestClientRibbonRequestCustomizerTests {
 		thenThereIsAHeaderWithNameAndValue(request, Span.PROCESS_ID_NAME, "processId");
 	}
 
+	@Test
+	public void should_set_headers_of_the_configured_propagation_type() throws Exception {
+		this.customizer = new RestClientRibbonRequestCustomizer(this.tracer,
+				new ZipkinHttpSpanInjector(Collections.singleton(PropagationType.B3_SINGLE)));
+		HttpRequest.Builder requestBuilder = requestBuilder();
+
+		this.customizer.inject(this.span, this.customizer.toSpanTextMap(requestBuilder));
+
+		HttpRequest request = requestBuilder.build();
+		then(request.getHttpHeaders().getFirstValue("b3")).isEqualTo("0000000000000002-0000000000000001-1-0000000000000003");
+		then(request.getHttpHeaders().getFirstValue(Span.TRACE_ID_NAME)).isNull();
+	}
+
 	private void thenThereIsAHeaderWithNameAndValue(HttpRequest request, String name, String value) {
 		then(request.getHttpHeaders().getFirstValue(name)).isEqualTo(value);
 	}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.log;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Random;
+
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.util.StringMap;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.sleuth.DefaultSpanNamer;
+import org.springframework.cloud.sleuth.NoOpSpanReporter;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceKeys;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.sampler.AlwaysSampler;
+import org.springframework.cloud.sleuth.trace.DefaultTracer;
+import org.springframework.cloud.sleuth.trace.TestSpanContextHolder;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class Log4j2SpanLoggerTests {
+
+	Log4j2SpanLogger spanLogger = new Log4j2SpanLogger("");
+	Tracer tracer = new DefaultTracer(new AlwaysSampler(), new Random(),
+			new DefaultSpanNamer(), this.spanLogger, new NoOpSpanReporter(), new TraceKeys());
+	Log4j2SpanContextDataInjector injector = new Log4j2SpanContextDataInjector();
+	Span parent = Span.builder().name("parent").traceId(1L).spanId(2L).build();
+	Span child = Span.builder().name("child").traceId(1L).spanId(3L).parent(2L).build();
+
+	@Before
+	public void setup() {
+		Log4j2SpanContextDataInjector.setTracer(this.tracer);
+	}
+
+	@After
+	public void cleanup() {
+		TestSpanContextHolder.removeCurrentSpan();
+		Log4j2SpanContextDataInjector.setTracer(null);
+	}
+
+	@Test
+	public void should_inject_ids_of_the_current_span_into_context_data() {
+		Span parent = this.tracer.createSpan("parent");
+		Span child = this.tracer.createSpan("child");
+
+		StringMap contextData = inject();
+
+		then((String) contextData.getValue(Span.TRACE_ID_NAME)).isEqualTo(child.traceIdString());
+		then((String) contextData.getValue(Span.SPAN_ID_NAME)).isEqualTo(child.spanIdString());
+		then((String) contextData.getValue(Span.PARENT_ID_NAME)).isEqualTo(parent.spanIdString());
+		then((String) contextData.getValue(Span.SPAN_EXPORT_NAME)).isEqualTo("true");
+		this.tracer.close(child);
+		this.tracer.close(parent);
+	}
+
+	@Test
+	public void should_inject_ids_of_the_parent_once_the_span_got_stopped() {
+		Span parent = this.tracer.createSpan("parent");
+		Span child = this.tracer.createSpan("child");
+
+		this.tracer.close(child);
+
+		StringMap contextData = inject();
+		then((String) contextData.getValue(Span.SPAN_ID_NAME)).isEqualTo(parent.spanIdString());
+		then((String) contextData.getValue(Span.PARENT_ID_NAME)).isNull();
+		this.tracer.close(parent);
+	}
+
+	@Test
+	public void should_not_inject_ids_when_there_is_no_span() {
+		Span span = this.tracer.createSpan("parent");
+
+		this.tracer.close(span);
+
+		then((String) inject().getValue(Span.TRACE_ID_NAME)).isNull();
+	}
+
+	@Test
+	public void should_not_inject_ids_once_the_span_got_detached() {
+		Span span = this.tracer.createSpan("parent");
+		then((String) inject().getValue(Span.TRACE_ID_NAME)).isEqualTo(span.traceIdString());
+
+		this.tracer.detach(span);
+
+		then((String) inject().getValue(Span.TRACE_ID_NAME)).isNull();
+		then((String) inject().getValue(Span.SPAN_ID_NAME)).isNull();
+	}
+
+	@Test
+	public void should_not_inject_ids_when_no_tracer_is_set() {
+		Span span = this.tracer.createSpan("parent");
+		Log4j2SpanContextDataInjector.setTracer(null);
+
+		then((String) inject().getValue(Span.TRACE_ID_NAME)).isNull();
+		this.tracer.close(span);
+	}
+
+	@Test
+	public void should_not_allocate_on_span_transitions() {
+		Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threadMXBean =
+				(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+		threadMXBean.setThreadAllocatedMemoryEnabled(true);
+		int iterations = 100_000;
+		startAndStopSpans(iterations);
+		long threadId = Thread.currentThread().getId();
+
+		long before = threadMXBean.getThreadAllocatedBytes(threadId);
+		startAndStopSpans(iterations);
+		long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+		then(allocated / iterations).as("bytes allocated per span start and stop").isEqualTo(0);
+	}
+
+	private void startAndStopSpans(int iterations) {
+		for (int i = 0; i < iterations; i++) {
+			this.spanLogger.logStartedSpan(this.parent, this.child);
+			this.spanLogger.logStoppedSpan(this.parent, this.child);
+		}
+	}
+
+	private StringMap inject() {
+		return this.injector.injectContextData(Collections.<Property>emptyList(),
+				ContextDataFactory.createContextData());
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.log;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class LogbackSpanMdcTurboFilterTests {
+
+	Tracer tracer = mock(Tracer.class);
+	LoggerContext loggerContext = new LoggerContext();
+	Logger logger = this.loggerContext.getLogger("foo");
+	LogbackSpanMdcTurboFilter filter = new LogbackSpanMdcTurboFilter(this.tracer);
+	Span span = Span.builder().traceId(1L).spanId(2L).parent(3L).build();
+
+	@Before
+	public void setup() {
+		MDC.clear();
+		this.logger.setLevel(Level.INFO);
+		given(this.tracer.getCurrentSpan()).willReturn(this.span);
+	}
+
+	@After
+	public void cleanup() {
+		MDC.clear();
+	}
+
+	@Test
+	public void should_set_mdc_entries_from_current_span_when_event_gets_logged() {
+		FilterReply reply = this.filter.decide(null, this.logger, Level.INFO, "hello", null, null);
+
+		then(reply).isEqualTo(FilterReply.NEUTRAL);
+		then(MDC.get(Span.TRACE_ID_NAME)).isEqualTo("0000000000000001");
+		then(MDC.get(Span.SPAN_ID_NAME)).isEqualTo("0000000000000002");
+		then(MDC.get(Span.PARENT_ID_NAME)).isEqualTo("0000000000000003");
+		then(MDC.get(Span.SPAN_EXPORT_NAME)).isEqualTo("true");
+	}
+
+	@Test
+	public void should_not_set_mdc_entries_for_disabled_levels() {
+		this.filter.decide(null, this.logger, Level.DEBUG, "hello", null, null);
+
+		then(MDC.get(Span.TRACE_ID_NAME)).isNull();
+	}
+
+	@Test
+	public void should_not_set_mdc_entries_for_level_checks() {
+		this.filter.decide(null, this.logger, Level.INFO, null, null, null);
+
+		then(MDC.get(Span.TRACE_ID_NAME)).isNull();
+	}
+
+	@Test
+	public void should_remove_mdc_entries_when_there_is_no_current_span_anymore() {
+		this.filter.decide(null, this.logger, Level.INFO, "hello", null, null);
+		given(this.tracer.getCurrentSpan()).willReturn(null);
+
+		this.filter.decide(null, this.logger, Level.INFO, "hello", null, null);
+
+		then(MDC.get(Span.TRACE_ID_NAME)).isNull();
+		then(MDC.get(Span.SPAN_ID_NAME)).isNull();
+	}
+
+	@Test
+	public void should_set_mdc_entries_again_when_they_got_cleared() {
+		this.filter.decide(null, this.logger, Level.INFO, "hello", null, null);
+		MDC.clear();
+
+		this.filter.decide(null, this.logger, Level.INFO, "hello", null, null);
+
+		then(MDC.get(Span.TRACE_ID_NAME)).isEqualTo("0000000000000001");
+	}
+
+	@Test
+	public void should_update_mdc_entries_when_current_span_changes() {
+		this.filter.decide(null, this.logger, Level.INFO, "hello", null, null);
+		Span root = Span.builder().traceId(1L).spanId(3L).exportable(false).build();
+		given(this.tracer.getCurrentSpan()).willReturn(root);
+
+		this.filter.decide(null, this.logger, Level.INFO, "hello", null, null);
+
+		then(MDC.get(Span.SPAN_ID_NAME)).isEqualTo("0000000000000003");
+		then(MDC.get(Span.PARENT_ID_NAME)).isNull();
+		then(MDC.get(Span.SPAN_EXPORT_NAME)).isEqualTo("false");
+	}
+}
@@ -176,4 +176,24 @@ public class Slf4JSpanLoggerTest {
 
 		assertThat(MDC.get(Span.PARENT_ID_NAME)).isEqualTo(Span.idToHex(3L));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void should_not_touch_mdc_when_mdc_population_is_disabled() throws Exception {
+		Slf4jSpanLogger logger = new Slf4jSpanLogger(this.nameExcludingPattern, this.log, false);
+
+		logger.logStartedSpan(this.spanWithNameNotToBeExcluded, this.spanWithNameNotToBeExcluded);
+		logger.logContinuedSpan(this.spanWithNameNotToBeExcluded);
+
+		assertThat(MDC.get(Span.TRACE_ID_NAME)).isNull();
+		then(this.log).should(times(3)).trace(anyString(), anyList());
+	}
+
+	@Test
+	public void should_not_match_name_pattern_when_trace_logging_is_disabled() throws Exception {
+		given(this.log.isTraceEnabled()).willReturn(false);
+
+		this.slf4JSpanLogger.logContinuedSpan(this.spanWithNameNotToBeExcluded);
+
+		then(this.log).should(never()).trace(anyString(), anyList());
+	}
+}
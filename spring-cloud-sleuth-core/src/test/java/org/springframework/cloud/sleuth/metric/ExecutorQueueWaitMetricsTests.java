@@ -0,0 +1,49 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.metric;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class ExecutorQueueWaitMetricsTests {
+
+	ExecutorQueueWaitMetrics metrics = new ExecutorQueueWaitMetrics();
+
+	@Test
+	public void should_aggregate_queue_waits_per_executor() {
+		this.metrics.record("foo", 10);
+		this.metrics.record("foo", 30);
+		this.metrics.record("bar", 5);
+
+		then(this.metrics.getQueueWaits()).containsOnlyKeys("foo", "bar");
+		ExecutorQueueWaitMetrics.QueueWait foo = this.metrics.getQueueWaits().get("foo");
+		then(foo.getCount()).isEqualTo(2);
+		then(foo.getTotalNanos()).isEqualTo(40);
+		then(foo.getMaxNanos()).isEqualTo(30);
+	}
+
+	@Test
+	public void should_not_record_negative_queue_waits() {
+		this.metrics.record("foo", -10);
+
+		then(this.metrics.getQueueWaits().get("foo").getTotalNanos()).isEqualTo(0);
+	}
+}
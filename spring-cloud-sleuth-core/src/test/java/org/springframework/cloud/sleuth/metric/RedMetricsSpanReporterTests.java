@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.metric;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.cloud.sleuth.DefaultSpanNamer;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.SpanReporter;
+import org.springframework.cloud.sleuth.TraceKeys;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.log.NoOpSpanLogger;
+import org.springframework.cloud.sleuth.sampler.NeverSampler;
+import org.springframework.cloud.sleuth.trace.DefaultTracer;
+import org.springframework.cloud.sleuth.trace.ThreadLocalSpanContextStorage;
+import org.springframework.cloud.sleuth.util.RandomIdGenerator;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class RedMetricsSpanReporterTests {
+
+	List<Span> reported = new ArrayList<>();
+	SpanRedMetrics redMetrics = new SpanRedMetrics(10);
+	SpanReporter reporter = new RedMetricsSpanReporter(new SpanReporter() {
+		@Override public void report(Span span) {
+			RedMetricsSpanReporterTests.this.reported.add(span);
+		}
+	}, this.redMetrics, new TraceKeys());
+
+	@Test
+	public void should_measure_unsampled_spans_and_pass_them_to_the_delegate() {
+		Tracer tracer = tracer(this.reporter);
+
+		Span span = tracer.createSpan("foo");
+		tracer.addTag(Span.SPAN_LOCAL_COMPONENT_TAG_NAME, "bar");
+		tracer.close(span);
+
+		then(this.reported).hasSize(1);
+		then(this.redMetrics.getStats().get(new SpanRedMetrics.Key("foo", "bar",
+				SpanRedMetrics.NONE)).getCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_record_status_and_errors_of_unsampled_spans() {
+		Tracer tracer = tracer(this.reporter);
+
+		Span span = tracer.createSpan("foo");
+		tracer.addTag("http.status_code", "404");
+		tracer.addTag(Span.SPAN_ERROR_TAG_NAME, "boom");
+		tracer.addTag("http.url", "http://foo");
+		tracer.close(span);
+
+		then(span.tags()).doesNotContainKey("http.url");
+		then(this.redMetrics.getStats().get(new SpanRedMetrics.Key("foo",
+				SpanRedMetrics.NONE, "404")).getErrors()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_count_spans_with_server_error_status_as_errors() {
+		Span span = Span.builder().name("foo").tag("http.status_code", "503").build();
+		span.stop();
+
+		this.reporter.report(span);
+
+		then(this.redMetrics.getStats().get(new SpanRedMetrics.Key("foo",
+				SpanRedMetrics.NONE, "503")).getErrors()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_record_status_and_errors_when_the_reporter_is_wrapped() {
+		Tracer tracer = tracer(new SpanReporter() {
+			@Override public void report(Span span) {
+				RedMetricsSpanReporterTests.this.reporter.report(span);
+			}
+		});
+
+		Span span = tracer.createSpan("foo");
+		tracer.addTag("http.status_code", "500");
+		tracer.close(span);
+
+		then(this.redMetrics.getStats().get(new SpanRedMetrics.Key("foo",
+				SpanRedMetrics.NONE, "500")).getErrors()).isEqualTo(1);
+	}
+
+	private Tracer tracer(SpanReporter spanReporter) {
+		return new DefaultTracer(NeverSampler.INSTANCE, new RandomIdGenerator(),
+				new DefaultSpanNamer(), new NoOpSpanLogger(), spanReporter, false,
+				new TraceKeys(), new ThreadLocalSpanContextStorage(),
+				RedMetricsSpanReporter.recordedTags(new TraceKeys()));
+	}
+}
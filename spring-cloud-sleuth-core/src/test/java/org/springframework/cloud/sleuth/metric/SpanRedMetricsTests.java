@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.metric;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class SpanRedMetricsTests {
+
+	SpanRedMetrics metrics = new SpanRedMetrics(2);
+
+	@Test
+	public void should_aggregate_spans_per_name_local_component_and_status_code() {
+		this.metrics.record("foo", "async", null, 100, false);
+		this.metrics.record("foo", "async", null, 300, true);
+		this.metrics.record("foo", null, "500", 10, true);
+
+		then(this.metrics.getStats()).hasSize(2);
+		SpanRedMetrics.Stats stats = this.metrics.getStats()
+				.get(new SpanRedMetrics.Key("foo", "async", SpanRedMetrics.NONE));
+		then(stats.getCount()).isEqualTo(2);
+		then(stats.getErrors()).isEqualTo(1);
+		then(stats.getTotalMicros()).isEqualTo(400);
+		then(stats.getMaxMicros()).isEqualTo(300);
+	}
+
+	@Test
+	public void should_aggregate_span_names_above_the_cap_as_other() {
+		this.metrics.record("foo", null, null, 1, false);
+		this.metrics.record("bar", null, null, 1, false);
+		this.metrics.record("baz", null, null, 1, false);
+		this.metrics.record("qux", null, null, 1, false);
+
+		then(this.metrics.getStats()).containsOnlyKeys(
+				new SpanRedMetrics.Key("foo", SpanRedMetrics.NONE, SpanRedMetrics.NONE),
+				new SpanRedMetrics.Key("bar", SpanRedMetrics.NONE, SpanRedMetrics.NONE),
+				new SpanRedMetrics.Key(SpanRedMetrics.OTHER, SpanRedMetrics.NONE, SpanRedMetrics.NONE));
+	}
+
+	@Test
+	public void should_calculate_percentiles_with_bounded_relative_error() {
+		for (int i = 1; i <= 1000; i++) {
+			this.metrics.record("foo", null, null, i * 1000, false);
+		}
+		SpanRedMetrics.Stats stats = this.metrics.getStats().values().iterator().next();
+
+		then(stats.percentile(0.5)).isBetween(500_000L, 562_500L);
+		then(stats.percentile(0.99)).isBetween(990_000L, 1_000_000L);
+		then(stats.percentile(1.0)).isEqualTo(1_000_000L);
+	}
+
+	@Test
+	public void should_map_each_value_to_a_bucket_containing_it() {
+		for (long micros = 0; micros < 100_000; micros += 7) {
+			int index = SpanRedMetrics.Stats.bucketIndex(micros);
+			then(SpanRedMetrics.Stats.bucketUpperBound(index)).isGreaterThanOrEqualTo(micros);
+			if (index > 0) {
+				then(SpanRedMetrics.Stats.bucketUpperBound(index - 1)).isLessThan(micros);
+			}
+		}
+		then(SpanRedMetrics.Stats.bucketIndex(SpanRedMetrics.Stats.MAX_MICROS))
+				.isEqualTo(SpanRedMetrics.Stats.BUCKETS - 1);
+	}
+}
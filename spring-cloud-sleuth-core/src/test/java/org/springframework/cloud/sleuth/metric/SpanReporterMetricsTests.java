@@ -0,0 +1,125 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.metric;
+
+import java.util.Collection;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.buffer.CounterBuffers;
+import org.springframework.boot.actuate.metrics.writer.CounterWriter;
+import org.springframework.boot.actuate.metrics.writer.Delta;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.groups.Tuple.tuple;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class SpanReporterMetricsTests {
+
+	SpanReporterMetrics metrics = new SpanReporterMetrics();
+
+	@Test
+	public void should_add_the_whole_quantity_of_spans_at_once() {
+		this.metrics.incrementAcceptedSpans(1000);
+		this.metrics.incrementDroppedSpans(3);
+
+		then(this.metrics.getAcceptedSpans()).isEqualTo(1000);
+		then(this.metrics.getDroppedSpans()).isEqualTo(3);
+	}
+
+	@Test
+	public void should_bound_the_number_of_drop_reasons() {
+		for (int i = 0; i < SpanReporterMetrics.MAX_DROP_REASONS + 10; i++) {
+			this.metrics.incrementDroppedMessages("reason" + i);
+		}
+
+		then(this.metrics.getDroppedMessages()).hasSize(SpanReporterMetrics.MAX_DROP_REASONS + 1);
+		then(this.metrics.getDroppedMessages().get(SpanReporterMetrics.OTHER_REASON).get())
+				.isEqualTo(10);
+	}
+
+	@Test
+	public void should_publish_accepted_spans_under_the_configured_name() {
+		this.metrics.incrementAcceptedSpans(5);
+		this.metrics.recordSendLatency(3_000_000);
+
+		Collection<Metric<?>> published = new SpanReporterPublicMetrics(this.metrics,
+				new SleuthMetricProperties()).metrics();
+
+		then(published).extracting("name", "value").contains(
+				tuple("counter.span.accepted", 5L),
+				tuple("gauge.span.reporter.send.time.max", 3L));
+	}
+
+	@Test
+	public void should_pass_accepted_and_dropped_spans_on_to_the_counter_service() {
+		CounterService counterService = Mockito.mock(CounterService.class);
+		SpanReporterMetrics metrics = new SpanReporterMetrics(
+				new CounterServiceBasedSpanMetricReporter("counter.span.accepted",
+						"counter.span.dropped", counterService));
+
+		metrics.incrementAcceptedSpans(2);
+		metrics.incrementDroppedSpans(1);
+		Collection<Metric<?>> published = new SpanReporterPublicMetrics(metrics,
+				new SleuthMetricProperties()).metrics();
+
+		Mockito.verify(counterService, Mockito.times(2)).increment("counter.span.accepted");
+		Mockito.verify(counterService).increment("counter.span.dropped");
+		then(metrics.getAcceptedSpans()).isEqualTo(2);
+		then(published).extracting("name")
+				.doesNotContain("counter.span.accepted", "counter.span.dropped");
+	}
+
+	@Test
+	public void should_write_a_batch_of_spans_to_the_counter_buffers_as_a_single_delta() {
+		CounterService counterService = Mockito.mock(CounterService.class);
+		CounterBuffers counterBuffers = new CounterBuffers();
+		SpanReporterMetrics metrics = new SpanReporterMetrics(
+				new CounterServiceBasedSpanMetricReporter("counter.span.accepted",
+						"span.dropped", counterService, counterBuffers, null));
+
+		metrics.incrementAcceptedSpans(1000);
+		metrics.incrementDroppedSpans(3);
+
+		then(counterBuffers.find("counter.span.accepted").getValue()).isEqualTo(1000L);
+		then(counterBuffers.find("counter.span.dropped").getValue()).isEqualTo(3L);
+		Mockito.verifyZeroInteractions(counterService);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void should_write_a_batch_of_spans_to_the_counter_writer_as_a_single_delta() {
+		CounterService counterService = Mockito.mock(CounterService.class);
+		CounterWriter counterWriter = Mockito.mock(CounterWriter.class);
+		SpanReporterMetrics metrics = new SpanReporterMetrics(
+				new CounterServiceBasedSpanMetricReporter("counter.span.accepted",
+						"counter.span.dropped", counterService, null, counterWriter));
+
+		metrics.incrementAcceptedSpans(1000);
+
+		ArgumentCaptor<Delta> delta = ArgumentCaptor.forClass(Delta.class);
+		Mockito.verify(counterWriter).increment(delta.capture());
+		then(delta.getValue().getName()).isEqualTo("counter.span.accepted");
+		then(delta.getValue().getValue()).isEqualTo(1000L);
+		Mockito.verifyZeroInteractions(counterService);
+	}
+}
@@ -50,14 +50,58 @@ public class PercentageBasedSamplerTests {
 
 	@Test
 	public void should_pass_given_percent_of_samples_with_fractional_element() throws Exception {
-		int numberOfIterations = 1000;
+		int numberOfIterations = 10000;
 		float percentage = 0.35f;
 		this.samplerConfiguration.setPercentage(percentage);
 
 		int numberOfSampledElements = countNumberOfSampledElements(numberOfIterations);
 
 		int threshold = (int) (numberOfIterations * percentage);
-		then(numberOfSampledElements).isEqualTo(threshold);
+		then(numberOfSampledElements).isBetween(threshold - 300, threshold + 300);
+	}
+
+	@Test
+	public void should_pass_given_fraction_of_a_percent_of_samples() throws Exception {
+		int numberOfIterations = 1000000;
+		float percentage = 0.0005f;
+		this.samplerConfiguration.setPercentage(percentage);
+
+		int numberOfSampledElements = countNumberOfSampledElements(numberOfIterations);
+
+		int threshold = (int) (numberOfIterations * percentage);
+		then(numberOfSampledElements).isBetween(threshold - 150, threshold + 150);
+	}
+
+	@Test
+	public void should_take_the_same_decision_for_the_same_trace_id() throws Exception {
+		this.samplerConfiguration.setPercentage(0.5f);
+		Sampler sampler = new PercentageBasedSampler(this.samplerConfiguration);
+		Sampler otherSampler = new PercentageBasedSampler(this.samplerConfiguration);
+
+		for (int i = 0; i < 100; i++) {
+			Span span = newSpan();
+			Span child = Span.builder().traceId(span.getTraceId()).spanId(RANDOM.nextLong()).build();
+			then(otherSampler.isSampled(child)).isEqualTo(sampler.isSampled(span));
+		}
+	}
+
+	@Test
+	public void should_pick_up_percentage_changed_at_runtime() throws Exception {
+		this.samplerConfiguration.setPercentage(0f);
+		Sampler sampler = new PercentageBasedSampler(this.samplerConfiguration);
+		then(sampler.isSampled(this.span)).isFalse();
+
+		this.samplerConfiguration.setPercentage(1f);
+
+		then(sampler.isSampled(this.span)).isTrue();
+	}
+
+	@Test
+	public void should_compare_trace_id_against_threshold() throws Exception {
+		then(PercentageBasedSampler.isSampled(0L, 0.5f)).isTrue();
+		then(PercentageBasedSampler.isSampled(Long.MAX_VALUE, 0.5f)).isFalse();
+		then(PercentageBasedSampler.isSampled(Long.MIN_VALUE, 0.5f)).isTrue();
+		then(PercentageBasedSampler.isSampled(-1L, 0.5f)).isFalse();
 	}
 
 	private int countNumberOfSampledElements(int numberOfIterations) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.sampler;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.springframework.cloud.sleuth.Sampler;
+import org.springframework.cloud.sleuth.Span;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+public class RateLimitingSamplerTests {
+
+	SamplerProperties samplerConfiguration = new SamplerProperties();
+	private static Random RANDOM = new Random();
+
+	@Test
+	public void should_pass_all_samples_when_rate_is_not_set() throws Exception {
+		Sampler sampler = new RateLimitingSampler(this.samplerConfiguration);
+
+		then(countNumberOfSampledElements(sampler, 1000)).isEqualTo(1000);
+	}
+
+	@Test
+	public void should_reject_all_samples_when_rate_is_0() throws Exception {
+		this.samplerConfiguration.setRate(0);
+		Sampler sampler = new RateLimitingSampler(this.samplerConfiguration);
+
+		then(countNumberOfSampledElements(sampler, 1000)).isZero();
+	}
+
+	@Test
+	public void should_pass_at_most_rate_samples_per_second() throws Exception {
+		this.samplerConfiguration.setRate(10);
+		Sampler sampler = new RateLimitingSampler(this.samplerConfiguration);
+
+		then(countNumberOfSampledElements(sampler, 1000)).isBetween(10, 11);
+	}
+
+	@Test
+	public void should_pass_samples_again_once_tokens_are_refilled() throws Exception {
+		this.samplerConfiguration.setRate(100);
+		Sampler sampler = new RateLimitingSampler(this.samplerConfiguration);
+		countNumberOfSampledElements(sampler, 1000);
+
+		Thread.sleep(50);
+
+		then(sampler.isSampled(newSpan())).isTrue();
+	}
+
+	@Test
+	public void should_count_only_samples_accepted_by_delegate() throws Exception {
+		this.samplerConfiguration.setRate(10);
+		Sampler sampler = new RateLimitingSampler(this.samplerConfiguration, NeverSampler.INSTANCE);
+
+		then(countNumberOfSampledElements(sampler, 1000)).isZero();
+	}
+
+	@Test
+	public void should_reject_null_span() throws Exception {
+		then(new RateLimitingSampler(this.samplerConfiguration).isSampled(null)).isFalse();
+	}
+
+	private int countNumberOfSampledElements(Sampler sampler, int numberOfIterations) {
+		int passedCounter = 0;
+		for (int i = 0; i < numberOfIterations; i++) {
+			boolean passed = sampler.isSampled(newSpan());
+			passedCounter = passedCounter + (passed ? 1 : 0);
+		}
+		return passedCounter;
+	}
+
+	Span newSpan() {
+		return Span.builder().traceId(RANDOM.nextLong()).build();
+	}
+
+}
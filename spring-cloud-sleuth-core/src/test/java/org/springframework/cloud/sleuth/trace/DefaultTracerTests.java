@@ -28,9 +28,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.boot.test.rule.OutputCapture;
 import org.springframework.cloud.sleuth.DefaultSpanNamer;
+import org.springframework.cloud.sleuth.Sampler;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.SpanNamer;
 import org.springframework.cloud.sleuth.SpanReporter;
+import org.springframework.cloud.sleuth.TraceIdSampler;
 import org.springframework.cloud.sleuth.TraceKeys;
 import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.cloud.sleuth.log.SpanLogger;
@@ -172,6 +174,39 @@ public class DefaultTracerTests {
 		assertThat(span.isExportable()).isFalse();
 	}
 
+	@Test
+	public void samplingIsDecidedFromTraceIdBeforeRootSpanIsCreated() {
+		TraceIdSampler sampler = Mockito.mock(TraceIdSampler.class);
+		DefaultTracer tracer = new DefaultTracer(sampler, new Random(),
+				this.spanNamer, this.spanLogger, this.spanReporter, new TraceKeys());
+
+		Span span = tracer.createSpan(CREATE_SIMPLE_TRACE);
+
+		verify(sampler).isSampled(span.getTraceId(), CREATE_SIMPLE_TRACE);
+		verify(sampler, Mockito.never()).isSampled(Mockito.any(Span.class));
+		assertThat(span.isExportable()).isFalse();
+		assertThat(span.getSpanId()).isEqualTo(span.getTraceId());
+		assertThat(span.getName()).isEqualTo(CREATE_SIMPLE_TRACE);
+	}
+
+	@Test
+	public void samplingIsRanAgainstSpanForSamplersNotSupportingTraceIds() {
+		final List<Span> sampledSpans = new ArrayList<>();
+		DefaultTracer tracer = new DefaultTracer(new Sampler() {
+			@Override public boolean isSampled(Span span) {
+				sampledSpans.add(span);
+				return false;
+			}
+		}, new Random(), this.spanNamer, this.spanLogger, this.spanReporter,
+				new TraceKeys());
+
+		Span span = tracer.createSpan(CREATE_SIMPLE_TRACE);
+
+		assertThat(sampledSpans).hasSize(1);
+		assertThat(sampledSpans.get(0).getTraceId()).isEqualTo(span.getTraceId());
+		assertThat(span.isExportable()).isFalse();
+	}
+
 	@Test
 	public void shouldUpdateLogsInSpanWhenItGetsContinued() {
 		DefaultTracer tracer = new DefaultTracer(new AlwaysSampler(), new Random(),
@@ -189,6 +224,88 @@ public class DefaultTracerTests {
 		tracer.close(span);
 	}
 
+	@Test
+	public void shouldReturnTheSameInstanceWhenContinuingASpan() {
+		DefaultTracer tracer = new DefaultTracer(new AlwaysSampler(), new Random(),
+				this.spanNamer, this.spanLogger, this.spanReporter, new TraceKeys());
+		Span span = Span.builder().name(IMPORTANT_WORK_1).traceId(1L).spanId(1L)
+				.build();
+
+		Span continuedSpan = tracer.continueSpan(span);
+
+		then(continuedSpan).isSameAs(span);
+		then(tracer.getCurrentSpan()).isSameAs(span);
+		tracer.close(span);
+	}
+
+	@Test
+	public void shouldRestoreTheSavedSpanWhenClosingAContinuedSpan() {
+		DefaultTracer tracer = new DefaultTracer(new AlwaysSampler(), new Random(),
+				this.spanNamer, this.spanLogger, this.spanReporter, new TraceKeys());
+		Span parent = tracer.createSpan(CREATE_SIMPLE_TRACE);
+		Span span = Span.builder().name(IMPORTANT_WORK_1).traceId(1L).spanId(1L)
+				.build();
+		tracer.continueSpan(span);
+
+		Span savedSpan = tracer.close(span);
+
+		then(savedSpan).isSameAs(parent);
+		then(tracer.getCurrentSpan()).isSameAs(parent);
+		tracer.close(parent);
+	}
+
+	@Test
+	public void shouldReturnTheSavedSpanWhenDetachingAContinuedSpan() {
+		DefaultTracer tracer = new DefaultTracer(new AlwaysSampler(), new Random(),
+				this.spanNamer, this.spanLogger, this.spanReporter, new TraceKeys());
+		Span parent = tracer.createSpan(CREATE_SIMPLE_TRACE);
+		Span span = Span.builder().name(IMPORTANT_WORK_1).traceId(1L).spanId(1L)
+				.build();
+		tracer.continueSpan(span);
+
+		Span savedSpan = tracer.detach(span);
+
+		then(savedSpan).isSameAs(parent);
+		then(tracer.getCurrentSpan()).isNull();
+	}
+
+	@Test
+	public void shouldRestoreSavedSpansWhenClosingNestedContinuedSpans() {
+		DefaultTracer tracer = new DefaultTracer(new AlwaysSampler(), new Random(),
+				this.spanNamer, this.spanLogger, this.spanReporter, new TraceKeys());
+		Span parent = tracer.createSpan(CREATE_SIMPLE_TRACE);
+		Span first = Span.builder().name(IMPORTANT_WORK_1).traceId(1L).spanId(1L)
+				.build();
+		Span second = Span.builder().name(IMPORTANT_WORK_2).traceId(2L).spanId(2L)
+				.build();
+		tracer.continueSpan(first);
+		tracer.continueSpan(second);
+
+		then(tracer.close(second)).isSameAs(first);
+		then(tracer.getCurrentSpan()).isSameAs(first);
+		then(tracer.close(first)).isSameAs(parent);
+		then(tracer.getCurrentSpan()).isSameAs(parent);
+		tracer.close(parent);
+	}
+
+	@Test
+	public void shouldRestoreSavedSpansWhenDetachingNestedContinuedSpans() {
+		DefaultTracer tracer = new DefaultTracer(new AlwaysSampler(), new Random(),
+				this.spanNamer, this.spanLogger, this.spanReporter, new TraceKeys());
+		Span parent = tracer.createSpan(CREATE_SIMPLE_TRACE);
+		Span first = Span.builder().name(IMPORTANT_WORK_1).traceId(1L).spanId(1L)
+				.build();
+		Span second = Span.builder().name(IMPORTANT_WORK_2).traceId(2L).spanId(2L)
+				.build();
+		tracer.continueSpan(first);
+		tracer.continueSpan(second);
+
+		Span savedSpan = tracer.detach(second);
+
+		then(savedSpan).isSameAs(first);
+		then(tracer.getCurrentSpan()).isNull();
+	}
+
 	@Test
 	public void shouldPropagateBaggageFromParentToChild() {
 		DefaultTracer tracer = new DefaultTracer(new AlwaysSampler(), new Random(),
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.cloud.sleuth.Span;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+public class SpanContextStackTests {
+
+	SpanContextStack stack = new SpanContextStack();
+
+	@Test
+	public void should_return_null_when_nothing_was_pushed() {
+		then(this.stack.isTracing()).isFalse();
+		then(this.stack.getCurrentSpan()).isNull();
+	}
+
+	@Test
+	public void should_not_push_the_current_span_twice() {
+		Span span = span(1L);
+		this.stack.push(span, null, false);
+		this.stack.push(span, null, false);
+
+		this.stack.close(new RecordingFunction());
+
+		then(this.stack.isTracing()).isFalse();
+	}
+
+	@Test
+	public void should_grow_beyond_initial_capacity() {
+		List<Span> spans = new ArrayList<>();
+		for (int i = 1; i <= 100; i++) {
+			Span span = span(i);
+			spans.add(span);
+			this.stack.push(span, i > 1 ? spans.get(i - 2) : null, false);
+		}
+
+		then(this.stack.getCurrentSpan()).isSameAs(spans.get(99));
+		then(this.stack.getSavedSpan(spans.get(99))).isSameAs(spans.get(98));
+
+		this.stack.close(new RecordingFunction());
+
+		then(this.stack.getCurrentSpan()).isSameAs(spans.get(98));
+	}
+
+	@Test
+	public void should_close_auto_closeable_parents() {
+		Span grandParent = span(1L);
+		Span parent = span(2L);
+		Span child = span(3L);
+		this.stack.push(grandParent, null, false);
+		this.stack.push(parent, grandParent, true);
+		this.stack.push(child, parent, false);
+		RecordingFunction function = new RecordingFunction();
+
+		this.stack.close(function);
+
+		then(function.spans).containsExactly(parent, grandParent);
+		then(this.stack.getCurrentSpan()).isSameAs(grandParent);
+	}
+
+	@Test
+	public void should_apply_null_once_all_spans_got_closed() {
+		Span parent = span(1L);
+		this.stack.push(parent, null, true);
+		this.stack.push(span(2L), parent, false);
+		RecordingFunction function = new RecordingFunction();
+
+		this.stack.close(function);
+
+		then(function.spans).containsExactly(parent, null);
+		then(this.stack.isTracing()).isFalse();
+	}
+
+	@Test
+	public void should_return_saved_span_of_the_span_when_it_is_not_current() {
+		Span saved = span(1L);
+		Span span = Span.builder().traceId(2L).spanId(2L).savedSpan(saved).build();
+
+		then(this.stack.getSavedSpan(span)).isSameAs(saved);
+	}
+
+	@Test
+	public void should_release_spans_on_clear() {
+		this.stack.push(span(1L), null, false);
+
+		this.stack.clear();
+
+		then(this.stack.isTracing()).isFalse();
+		then(this.stack.getCurrentSpan()).isNull();
+	}
+
+	private Span span(long id) {
+		return Span.builder().traceId(id).spanId(id).build();
+	}
+
+	private static class RecordingFunction implements SpanContextHolder.SpanFunction {
+		final List<Span> spans = new ArrayList<>();
+
+		@Override public void apply(Span span) {
+			this.spans.add(span);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.trace;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.cloud.sleuth.DefaultSpanNamer;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.SpanReporter;
+import org.springframework.cloud.sleuth.TraceKeys;
+import org.springframework.cloud.sleuth.log.SpanLogger;
+import org.springframework.cloud.sleuth.sampler.AlwaysSampler;
+import org.springframework.cloud.sleuth.util.RandomIdGenerator;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+public class SpanContextStorageTests {
+
+	DefaultTracer tracer;
+
+	@After
+	public void clean() {
+		if (this.tracer != null && this.tracer.isTracing()) {
+			this.tracer.close(this.tracer.getCurrentSpan());
+		}
+	}
+
+	@Test
+	public void should_drop_the_stack_of_virtual_thread_storage_once_no_span_is_in_context() {
+		VirtualThreadSpanContextStorage storage = new VirtualThreadSpanContextStorage();
+		this.tracer = tracer(storage);
+
+		Span span = this.tracer.createSpan("foo");
+		then(storage.get()).isNotNull();
+		then(this.tracer.getCurrentSpan()).isSameAs(span);
+
+		this.tracer.close(span);
+
+		then(storage.get()).isNull();
+		then(this.tracer.isTracing()).isFalse();
+	}
+
+	@Test
+	public void should_not_create_a_stack_of_virtual_thread_storage_when_reading() {
+		VirtualThreadSpanContextStorage storage = new VirtualThreadSpanContextStorage();
+		this.tracer = tracer(storage);
+
+		then(this.tracer.getCurrentSpan()).isNull();
+		then(this.tracer.isTracing()).isFalse();
+		then(storage.get()).isNull();
+	}
+
+	@Test
+	public void should_pass_a_copy_of_the_context_to_threads_created_with_inheritable_storage()
+			throws Exception {
+		this.tracer = tracer(new InheritableThreadLocalSpanContextStorage());
+		final Span span = this.tracer.createSpan("foo");
+		final AtomicReference<Span> spanInThread = new AtomicReference<>();
+		final AtomicReference<Span> spanAfterClose = new AtomicReference<>();
+
+		Thread thread = new Thread(new Runnable() {
+			@Override public void run() {
+				Span child = SpanContextStorageTests.this.tracer.createSpan("bar");
+				spanInThread.set(child.getSavedSpan());
+				SpanContextStorageTests.this.tracer.close(child);
+				spanAfterClose.set(SpanContextStorageTests.this.tracer.getCurrentSpan());
+			}
+		});
+		thread.start();
+		thread.join();
+
+		then(spanInThread.get()).isSameAs(span);
+		then(spanAfterClose.get()).isSameAs(span);
+		then(this.tracer.getCurrentSpan()).isSameAs(span);
+	}
+
+	private DefaultTracer tracer(SpanContextStorage storage) {
+		return new DefaultTracer(new AlwaysSampler(), new RandomIdGenerator(new Random()),
+				new DefaultSpanNamer(), Mockito.mock(SpanLogger.class),
+				Mockito.mock(SpanReporter.class), false, new TraceKeys(), storage);
+	}
+}
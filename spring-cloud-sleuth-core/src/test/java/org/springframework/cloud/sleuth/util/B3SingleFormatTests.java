@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.util;
+
+import org.junit.Test;
+import org.springframework.cloud.sleuth.Span;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+public class B3SingleFormatTests {
+
+	@Test
+	public void should_write_trace_context() throws Exception {
+		Span span = Span.builder().traceId(0x463ac35c9f6413adL).spanId(0xa2fb4a1d1a96d312L)
+				.parent(0x20000000000001L).build();
+
+		then(B3SingleFormat.write(span))
+				.isEqualTo("463ac35c9f6413ad-a2fb4a1d1a96d312-1-0020000000000001");
+	}
+
+	@Test
+	public void should_write_unsampled_128bit_root_span() throws Exception {
+		Span span = Span.builder().traceIdHigh(0x463ac35c9f6413adL)
+				.traceId(0x48485a3953bb6124L).spanId(0xa2fb4a1d1a96d312L)
+				.exportable(false).build();
+
+		then(B3SingleFormat.write(span))
+				.isEqualTo("463ac35c9f6413ad48485a3953bb6124-a2fb4a1d1a96d312-0");
+	}
+
+	@Test
+	public void should_round_trip_trace_context() throws Exception {
+		Span span = Span.builder().traceIdHigh(1L).traceId(2L).spanId(3L).parent(4L)
+				.exportable(false).build();
+
+		Span parsed = B3SingleFormat.parse(B3SingleFormat.write(span)).build();
+
+		then(parsed.getTraceIdHigh()).isEqualTo(1L);
+		then(parsed.getTraceId()).isEqualTo(2L);
+		then(parsed.getSpanId()).isEqualTo(3L);
+		then(parsed.getParents()).containsExactly(4L);
+		then(parsed.isExportable()).isFalse();
+	}
+
+	@Test
+	public void should_parse_ids_without_sampling_flag() throws Exception {
+		Span parsed = B3SingleFormat.parse("463ac35c9f6413ad-a2fb4a1d1a96d312").build();
+
+		then(parsed.getTraceId()).isEqualTo(0x463ac35c9f6413adL);
+		then(parsed.getSpanId()).isEqualTo(0xa2fb4a1d1a96d312L);
+		then(parsed.getParents()).isEmpty();
+	}
+
+	@Test
+	public void should_recognize_debug_flag() throws Exception {
+		String b3 = "463ac35c9f6413ad-a2fb4a1d1a96d312-d";
+
+		then(B3SingleFormat.parse(b3).build().isExportable()).isTrue();
+		then(B3SingleFormat.isDebug(b3)).isTrue();
+		then(B3SingleFormat.isDebug("d")).isTrue();
+		then(B3SingleFormat.isDebug("463ac35c9f6413ad-a2fb4a1d1a96d312-1")).isFalse();
+	}
+
+	@Test
+	public void should_return_null_when_there_are_no_ids() throws Exception {
+		then(B3SingleFormat.parse("0")).isNull();
+		then(B3SingleFormat.parse("")).isNull();
+		then(B3SingleFormat.parse(null)).isNull();
+	}
+
+	@Test
+	public void should_return_null_for_malformed_values() throws Exception {
+		then(B3SingleFormat.parse("463ac35c9f6413ad")).isNull();
+		then(B3SingleFormat.parse("463ac35c9f6413ad-a2fb4a1d1a96d31")).isNull();
+		then(B3SingleFormat.parse("463ac35c9f6413ad-a2fb4a1d1a96d312-x")).isNull();
+		then(B3SingleFormat.parse("463ac35c9f6413ad-a2fb4a1d1a96d312-1-")).isNull();
+		then(B3SingleFormat.parse("463ac35c9f6413ad-a2fb4a1d1a96d312-1-002")).isNull();
+		then(B3SingleFormat.parse("463AC35C9F6413AD-a2fb4a1d1a96d312-1")).isNull();
+	}
+}
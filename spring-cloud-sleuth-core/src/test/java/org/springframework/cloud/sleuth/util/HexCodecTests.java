@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.util;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+public class HexCodecTests {
+
+	@Test
+	public void should_encode_and_decode_ids() throws Exception {
+		long[] ids = { 0L, 1L, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 0x463ac35c9f6413adL };
+
+		for (long id : ids) {
+			String hex = HexCodec.toLowerHex(id);
+			then(hex).hasSize(16);
+			then(HexCodec.lowerHexToUnsignedLong(hex)).isEqualTo(id);
+		}
+	}
+
+	@Test
+	public void should_encode_128bit_ids() throws Exception {
+		then(HexCodec.toLowerHex(0x463ac35c9f6413adL, 0x48485a3953bb6124L))
+				.isEqualTo("463ac35c9f6413ad48485a3953bb6124");
+		then(HexCodec.toLowerHex(0L, 0x48485a3953bb6124L))
+				.isEqualTo("48485a3953bb6124");
+	}
+
+	@Test
+	public void should_decode_lower_64_bits_of_128bit_ids() throws Exception {
+		then(HexCodec.lowerHexToUnsignedLong("463ac35c9f6413ad48485a3953bb6124"))
+				.isEqualTo(0x48485a3953bb6124L);
+	}
+
+	@Test
+	public void should_decode_a_range_of_a_char_sequence() throws Exception {
+		CharSequence header = new StringBuilder("463ac35c9f6413ad-48485a3953bb6124-1");
+
+		then(HexCodec.lowerHexToUnsignedLong(header, 0, 16)).isEqualTo(0x463ac35c9f6413adL);
+		then(HexCodec.lowerHexToUnsignedLong(header, 17, 33)).isEqualTo(0x48485a3953bb6124L);
+	}
+
+	@Test
+	public void should_decode_short_ids() throws Exception {
+		then(HexCodec.lowerHexToUnsignedLong("a")).isEqualTo(10L);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void should_reject_upper_case_characters() throws Exception {
+		HexCodec.lowerHexToUnsignedLong("463AC35C9F6413AD");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void should_reject_non_ascii_characters() throws Exception {
+		HexCodec.lowerHexToUnsignedLong("463ac35c9f6413aā");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void should_reject_too_long_ids() throws Exception {
+		HexCodec.lowerHexToUnsignedLong("463ac35c9f6413ad48485a3953bb61241");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void should_reject_empty_ids() throws Exception {
+		HexCodec.lowerHexToUnsignedLong("");
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.util;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+public class RandomIdGeneratorTests {
+
+	@Test
+	public void should_never_return_zero_as_id() throws Exception {
+		Random random = Mockito.mock(Random.class);
+		Mockito.when(random.nextLong()).thenReturn(0L, 0L, 5L);
+
+		then(new RandomIdGenerator(random).nextId()).isEqualTo(5L);
+	}
+
+	@Test
+	public void should_generate_ids_without_shared_random() throws Exception {
+		RandomIdGenerator generator = new RandomIdGenerator();
+
+		then(generator.nextId()).isNotZero();
+		then(generator.nextTraceIdHigh()).isNotZero();
+	}
+
+	@Test
+	public void should_prefix_high_bits_of_trace_id_with_epoch_seconds() throws Exception {
+		long before = System.currentTimeMillis() / 1000;
+
+		long traceIdHigh = new TimePrefixedIdGenerator().nextTraceIdHigh();
+
+		long after = System.currentTimeMillis() / 1000;
+		then(traceIdHigh >>> 32).isBetween(before, after);
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.util;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.springframework.cloud.sleuth.Span;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+public class SpanContextBinaryFormatTests {
+
+	@Test
+	public void should_round_trip_trace_context() throws Exception {
+		Span span = Span.builder().traceIdHigh(1L).traceId(2L).spanId(3L).parent(4L)
+				.baggage("foo", "bar").baggage("zażółć", "").build();
+
+		Span parsed = SpanContextBinaryFormat.parse(SpanContextBinaryFormat.write(span))
+				.build();
+
+		then(parsed.getTraceIdHigh()).isEqualTo(1L);
+		then(parsed.getTraceId()).isEqualTo(2L);
+		then(parsed.getSpanId()).isEqualTo(3L);
+		then(parsed.getParents()).containsExactly(4L);
+		then(parsed.isExportable()).isTrue();
+		then(parsed.getBaggageItem("foo")).isEqualTo("bar");
+		then(parsed.getBaggageItem("zażółć")).isEmpty();
+	}
+
+	@Test
+	public void should_write_ids_and_flags_in_26_bytes() throws Exception {
+		Span span = Span.builder().traceId(2L).spanId(3L).exportable(false).build();
+
+		byte[] bytes = SpanContextBinaryFormat.write(span);
+		Span parsed = SpanContextBinaryFormat.parse(bytes).build();
+
+		then(bytes).hasSize(26);
+		then(parsed.getParents()).isEmpty();
+		then(parsed.isExportable()).isFalse();
+	}
+
+	@Test
+	public void should_return_null_for_malformed_bytes() throws Exception {
+		byte[] bytes = SpanContextBinaryFormat.write(Span.builder().traceId(2L).spanId(3L)
+				.baggage("foo", "bar").build());
+
+		then(SpanContextBinaryFormat.parse(null)).isNull();
+		then(SpanContextBinaryFormat.parse(new byte[10])).isNull();
+		then(SpanContextBinaryFormat.parse(Arrays.copyOf(bytes, bytes.length - 1)))
+				.isNull();
+		bytes[0] = 1;
+		then(SpanContextBinaryFormat.parse(bytes)).isNull();
+	}
+}
@@ -2,10 +2,16 @@ package org.springframework.cloud.sleuth.util;
 
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
+import org.springframework.cloud.sleuth.LookupSpanTextMap;
+import org.springframework.cloud.sleuth.SpanTextMap;
 
 import static org.assertj.core.api.BDDAssertions.then;
 
@@ -28,4 +34,69 @@ public class TextMapUtilTests {
 				.contains(new AbstractMap.SimpleEntry<>("foo", "bar"));
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void should_look_up_entries_of_a_plain_text_map_ignoring_case() throws Exception {
+		final Map<String, String> entries = new HashMap<>();
+		entries.put("X-B3-TraceId", "foo");
+		SpanTextMap textMap = new SpanTextMap() {
+			@Override public Iterator<Map.Entry<String, String>> iterator() {
+				return entries.entrySet().iterator();
+			}
+
+			@Override public void put(String key, String value) {
+				entries.put(key, value);
+			}
+		};
+
+		LookupSpanTextMap lookup = TextMapUtil.asLookup(textMap);
+
+		then(lookup.get("x-b3-traceid")).isEqualTo("foo");
+		then(lookup.keys()).containsExactly("X-B3-TraceId");
+	}
+
+	@Test
+	public void should_get_value_ignoring_case() throws Exception {
+		Map<String, String> map = new HashMap<>();
+		map.put("x-b3-traceid", "foo");
+
+		TextMapUtil.IgnoreCaseLookup<String> lookup = new TextMapUtil.IgnoreCaseLookup<>(map);
+
+		then(lookup.get("x-b3-traceid")).isEqualTo("foo");
+		then(lookup.get("X-B3-TraceId")).isEqualTo("foo");
+		then(lookup.get("X-B3-SpanId")).isNull();
+	}
+
+	@Test
+	public void should_not_copy_the_map_when_keys_are_found_by_exact_spelling() throws Exception {
+		Map<String, String> map = new HashMap<String, String>() {
+			@Override public Set<Entry<String, String>> entrySet() {
+				throw new AssertionError("Should not iterate over the entries");
+			}
+		};
+		map.put("X-B3-TraceId", "foo");
+
+		TextMapUtil.IgnoreCaseLookup<String> lookup = new TextMapUtil.IgnoreCaseLookup<>(map);
+
+		then(lookup.get("X-B3-TraceId")).isEqualTo("foo");
+	}
+
+	@Test
+	public void should_copy_the_map_once_for_many_missing_keys() throws Exception {
+		final AtomicInteger iterations = new AtomicInteger();
+		Map<String, String> map = new HashMap<String, String>() {
+			@Override public Set<Entry<String, String>> entrySet() {
+				iterations.incrementAndGet();
+				return super.entrySet();
+			}
+		};
+		map.put("x-b3-traceid", "foo");
+		TextMapUtil.IgnoreCaseLookup<String> lookup = new TextMapUtil.IgnoreCaseLookup<>(map);
+
+		then(lookup.get("X-B3-TraceId")).isEqualTo("foo");
+		then(lookup.get("X-B3-SpanId")).isNull();
+		then(lookup.get("X-B3-ParentSpanId")).isNull();
+
+		then(iterations.get()).isEqualTo(1);
+	}
+
+}
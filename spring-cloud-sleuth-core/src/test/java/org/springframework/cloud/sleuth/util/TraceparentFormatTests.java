@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.util;
+
+import org.junit.Test;
+import org.springframework.cloud.sleuth.Span;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+public class TraceparentFormatTests {
+
+	@Test
+	public void should_write_64bit_trace_id_as_128bit() throws Exception {
+		Span span = Span.builder().traceId(0x463ac35c9f6413adL).spanId(0xa2fb4a1d1a96d312L)
+				.build();
+
+		then(TraceparentFormat.write(span))
+				.isEqualTo("00-0000000000000000463ac35c9f6413ad-a2fb4a1d1a96d312-01");
+	}
+
+	@Test
+	public void should_write_unsampled_flag() throws Exception {
+		Span span = Span.builder().traceIdHigh(0x463ac35c9f6413adL)
+				.traceId(0x48485a3953bb6124L).spanId(0xa2fb4a1d1a96d312L)
+				.exportable(false).build();
+
+		then(TraceparentFormat.write(span))
+				.isEqualTo("00-463ac35c9f6413ad48485a3953bb6124-a2fb4a1d1a96d312-00");
+	}
+
+	@Test
+	public void should_parse_trace_context() throws Exception {
+		Span span = TraceparentFormat
+				.parse("00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01").build();
+
+		then(span.traceIdString()).isEqualTo("0af7651916cd43dd8448eb211c80319c");
+		then(span.spanIdString()).isEqualTo("b7ad6b7169203331");
+		then(span.isExportable()).isTrue();
+	}
+
+	@Test
+	public void should_parse_fields_of_later_versions() throws Exception {
+		Span span = TraceparentFormat
+				.parse("01-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-00-what-the-future-brings")
+				.build();
+
+		then(span.spanIdString()).isEqualTo("b7ad6b7169203331");
+		then(span.isExportable()).isFalse();
+	}
+
+	@Test
+	public void should_return_null_for_malformed_values() throws Exception {
+		then(TraceparentFormat.parse(null)).isNull();
+		then(TraceparentFormat.parse("00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331")).isNull();
+		then(TraceparentFormat.parse("ff-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01")).isNull();
+		then(TraceparentFormat.parse("00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01-extra")).isNull();
+		then(TraceparentFormat.parse("00-00000000000000000000000000000000-b7ad6b7169203331-01")).isNull();
+		then(TraceparentFormat.parse("00-0af7651916cd43dd8448eb211c80319c-0000000000000000-01")).isNull();
+		then(TraceparentFormat.parse("00-0AF7651916CD43DD8448EB211C80319C-b7ad6b7169203331-01")).isNull();
+	}
+}
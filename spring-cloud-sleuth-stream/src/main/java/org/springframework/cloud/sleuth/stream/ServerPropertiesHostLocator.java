@@ -22,6 +22,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerInitializedEvent;
+import org.springframework.cloud.client.discovery.event.InstanceRegisteredEvent;
 import org.springframework.cloud.commons.util.InetUtils;
 import org.springframework.cloud.commons.util.InetUtilsProperties;
 import org.springframework.cloud.sleuth.Span;
@@ -40,6 +41,11 @@ import org.springframework.util.StringUtils;
  *
  * You can override the value of service id by {@link ZipkinProperties#getService()}
  *
+ * The resolved address is cached, since resolving it might require iterating over all
+ * network interfaces. The cache gets refreshed after
+ * {@link ZipkinProperties.Locator#getRefreshInterval()} seconds, when the port gets
+ * assigned or when the instance gets registered again.
+ *
  * @author Dave Syer
  * @since 1.0.0
  */
@@ -51,7 +57,8 @@ public class ServerPropertiesHostLocator implements HostLocator {
 	private final String appName;
 	private final InetUtils inetUtils;
 	private final ZipkinProperties zipkinProperties;
-	private Integer port; // Lazy assigned
+	private volatile Integer port; // Lazy assigned
+	private volatile CachedAddress cachedAddress;
 
 	@Deprecated
 	public ServerPropertiesHostLocator(ServerProperties serverProperties, String appName) {
@@ -82,6 +89,20 @@ public class ServerPropertiesHostLocator implements HostLocator {
 	@EventListener(EmbeddedServletContainerInitializedEvent.class)
 	public void grabPort(EmbeddedServletContainerInitializedEvent event) {
 		this.port = event.getEmbeddedServletContainer().getPort();
+		refresh();
+	}
+
+	@EventListener(InstanceRegisteredEvent.class)
+	public void instanceRegistered(InstanceRegisteredEvent<?> event) {
+		refresh();
+	}
+
+	/**
+	 * Removes the cached address. The next call to {@link #locate(Span)} will resolve
+	 * it again.
+	 */
+	public void refresh() {
+		this.cachedAddress = null;
 	}
 
 	private Integer getPort() {
@@ -99,6 +120,20 @@ public class ServerPropertiesHostLocator implements HostLocator {
 	}
 
 	private String getAddress() {
+		CachedAddress cached = this.cachedAddress;
+		long now = System.currentTimeMillis();
+		if (cached != null && now < cached.expiresAt) {
+			return cached.address;
+		}
+		String address = resolveAddress();
+		long refreshIntervalMillis = this.zipkinProperties.getLocator().getRefreshInterval() * 1000L;
+		if (refreshIntervalMillis > 0) {
+			this.cachedAddress = new CachedAddress(address, now + refreshIntervalMillis);
+		}
+		return address;
+	}
+
+	private String resolveAddress() {
 		String address;
 		if (this.serverProperties != null && this.serverProperties.getAddress() != null) {
 			address = this.serverProperties.getAddress().getHostAddress();
@@ -125,4 +160,14 @@ public class ServerPropertiesHostLocator implements HostLocator {
 		return serviceName;
 	}
 
+	private static class CachedAddress {
+		final String address;
+		final long expiresAt;
+
+		CachedAddress(String address, long expiresAt) {
+			this.address = address;
+			this.expiresAt = expiresAt;
+		}
+	}
+
 }
@@ -32,6 +32,7 @@ import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.SpanAdjuster;
 import org.springframework.cloud.sleuth.SpanReporter;
 import org.springframework.cloud.sleuth.metric.SpanMetricReporter;
+import org.springframework.cloud.sleuth.metric.SpanReporterMetrics;
 import org.springframework.core.env.Environment;
 import org.springframework.integration.annotation.InboundChannelAdapter;
 import org.springframework.integration.annotation.MessageEndpoint;
@@ -93,6 +94,10 @@ public class StreamSpanReporter implements SpanReporter {
 	public Spans poll() {
 		List<Span> result = new LinkedList<>();
 		this.queue.drainTo(result);
+		if (this.spanMetricReporter instanceof SpanReporterMetrics) {
+			// the number of spans that were waiting in the queue for this poll
+			((SpanReporterMetrics) this.spanMetricReporter).updateQueuedSpans(result.size());
+		}
 		for (Iterator<Span> iterator = result.iterator(); iterator.hasNext();) {
 			Span span = iterator.next();
 			if (span.getName() != null && span.getName().equals("message/" + SleuthSource.OUTPUT)) {
@@ -64,6 +64,12 @@ public class ZipkinProperties {
 
 		private Discovery discovery;
 
+		/**
+		 * Time in seconds for which the resolved local address is cached.
+		 * Set to 0 to resolve it each time a span gets reported.
+		 */
+		private int refreshInterval = 60;
+
 		public Discovery getDiscovery() {
 			return this.discovery;
 		}
@@ -72,6 +78,14 @@ public class ZipkinProperties {
 			this.discovery = discovery;
 		}
 
+		public int getRefreshInterval() {
+			return this.refreshInterval;
+		}
+
+		public void setRefreshInterval(int refreshInterval) {
+			this.refreshInterval = refreshInterval;
+		}
+
 		public static class Discovery {
 
 			/** Enabling of locating the host name via service discovery */
@@ -100,6 +100,31 @@ public class ServerPropertiesHostLocatorTests {
 		assertThat(locator.locate(this.span).getPort()).isEqualTo((short) 8080);
 	}
 
+	@Test
+	public void addressIsResolvedOnceWithinRefreshInterval() throws UnknownHostException {
+		InetUtils inetUtils = localAddress(ADR1234);
+		ServerPropertiesHostLocator locator = new ServerPropertiesHostLocator(
+				new ServerProperties(), "unknown", new ZipkinProperties(), inetUtils);
+
+		locator.locate(this.span);
+		locator.locate(this.span);
+
+		Mockito.verify(inetUtils, Mockito.times(1)).findFirstNonLoopbackAddress();
+	}
+
+	@Test
+	public void addressIsResolvedAgainAfterRefresh() throws UnknownHostException {
+		InetUtils inetUtils = localAddress(ADR1234);
+		ServerPropertiesHostLocator locator = new ServerPropertiesHostLocator(
+				new ServerProperties(), "unknown", new ZipkinProperties(), inetUtils);
+
+		locator.locate(this.span);
+		locator.refresh();
+		locator.locate(this.span);
+
+		Mockito.verify(inetUtils, Mockito.times(2)).findFirstNonLoopbackAddress();
+	}
+
 	private InetUtils localAddress(byte[] address) throws UnknownHostException {
 		InetUtils mocked = Mockito.spy(new InetUtils(new InetUtilsProperties()));
 		Mockito.when(mocked.findFirstNonLoopbackAddress())
@@ -2,9 +2,15 @@ package org.springframework.cloud.sleuth.zipkin;
 
 import java.io.Closeable;
 import java.io.Flushable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.cloud.sleuth.metric.SpanMetricReporter;
+import org.springframework.cloud.sleuth.metric.SpanReporterMetrics;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
 import zipkin.Span;
@@ -17,8 +23,18 @@ import zipkin.reporter.AsyncReporter;
  * @since 1.0.0
  */
 public final class HttpZipkinSpanReporter implements ZipkinSpanReporter, Flushable, Closeable {
+	private static final Log log = LogFactory.getLog(HttpZipkinSpanReporter.class);
+	private static final long CLOSE_TIMEOUT_MILLIS = 1000;
+
 	private final RestTemplateSender sender;
 	private final AsyncReporter<Span> delegate;
+	private final ReporterMetricsAdapter metrics;
+	private final Object messageReady = new Object();
+	private final int messageMaxBytes;
+	private final long messageTimeout;
+	private final ExecutorService senderExecutor;
+	private volatile int waitingSenders;
+	private volatile boolean closed;
 
 	/**
 	 * @param restTemplate {@link RestTemplate} used for sending requests to Zipkin
@@ -28,12 +44,121 @@ public final class HttpZipkinSpanReporter implements ZipkinSpanReporter, Flushab
 	 */
 	public HttpZipkinSpanReporter(RestTemplate restTemplate, String baseUrl, int flushInterval,
 			SpanMetricReporter spanMetricReporter) {
-		this.sender = new RestTemplateSender(restTemplate, baseUrl);
-		this.delegate = AsyncReporter.builder(this.sender)
-				.queuedMaxSpans(1000) // historical constraint. Note: AsyncReporter supports memory bounds
-				.messageTimeout(flushInterval, TimeUnit.SECONDS)
-				.metrics(new ReporterMetricsAdapter(spanMetricReporter))
-				.build();
+		this(restTemplate, zipkinProperties(baseUrl, flushInterval), spanMetricReporter);
+	}
+
+	/**
+	 * @param restTemplate {@link RestTemplate} used for sending requests to Zipkin
+	 * @param zipkin the URL, flush interval and {@link ZipkinProperties.Reporter reporter settings}
+	 * @param spanMetricReporter service to count number of accepted / dropped spans
+	 * @since 1.2.1
+	 */
+	public HttpZipkinSpanReporter(RestTemplate restTemplate, ZipkinProperties zipkin,
+			SpanMetricReporter spanMetricReporter) {
+		ZipkinProperties.Reporter settings = zipkin.getReporter();
+		this.sender = new RestTemplateSender(restTemplate, zipkin.getBaseUrl(),
+				settings.getMessageMaxBytes(),
+				spanMetricReporter instanceof SpanReporterMetrics ?
+						(SpanReporterMetrics) spanMetricReporter : null);
+		this.messageMaxBytes = settings.getMessageMaxBytes();
+		this.messageTimeout = settings.getMessageTimeout() != null ?
+				settings.getMessageTimeout() :
+				TimeUnit.SECONDS.toMillis(zipkin.getFlushInterval());
+		this.metrics = new ReporterMetricsAdapter(spanMetricReporter);
+		boolean sentHere = settings.getSenderThreads() > 1 && this.messageTimeout > 0;
+		AsyncReporter.Builder builder = AsyncReporter.builder(this.sender)
+				.queuedMaxSpans(settings.getQueuedMaxSpans())
+				// with many sender threads the messages are sent by this reporter
+				.messageTimeout(sentHere ? 0 : this.messageTimeout, TimeUnit.MILLISECONDS)
+				.metrics(this.metrics);
+		if (settings.getQueuedMaxBytes() != null) {
+			builder.queuedMaxBytes(settings.getQueuedMaxBytes());
+		}
+		this.delegate = builder.build();
+		this.senderExecutor = sentHere ? startSenders(settings.getSenderThreads()) : null;
+	}
+
+	private static ZipkinProperties zipkinProperties(String baseUrl, int flushInterval) {
+		ZipkinProperties zipkin = new ZipkinProperties();
+		zipkin.setBaseUrl(baseUrl);
+		zipkin.setFlushInterval(flushInterval);
+		return zipkin;
+	}
+
+	/**
+	 * Each thread drains the queue into its own message, so up to the given number of
+	 * messages are sent at the same time. A thread sends as soon as a full message is
+	 * queued and otherwise waits at most the message timeout.
+	 */
+	private ExecutorService startSenders(int threads) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("zipkin-sender-");
+		threadFactory.setDaemon(true);
+		ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+		Runnable send = new Runnable() {
+			@Override public void run() {
+				while (!HttpZipkinSpanReporter.this.closed) {
+					try {
+						HttpZipkinSpanReporter.this.delegate.flush();
+					}
+					catch (RuntimeException e) {
+						if (log.isDebugEnabled()) {
+							log.debug("Exception occurred while flushing spans", e);
+						}
+					}
+					try {
+						awaitMessage();
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+			}
+		};
+		for (int i = 0; i < threads; i++) {
+			executor.execute(send);
+		}
+		return executor;
+	}
+
+	private boolean messageIsFull() {
+		return this.metrics.queuedBytes() >= this.messageMaxBytes;
+	}
+
+	/**
+	 * Blocks until enough spans are queued to fill a message or the message timeout
+	 * passes.
+	 */
+	private void awaitMessage() throws InterruptedException {
+		long deadline = System.nanoTime()
+				+ TimeUnit.MILLISECONDS.toNanos(this.messageTimeout);
+		synchronized (this.messageReady) {
+			this.waitingSenders++;
+			try {
+				while (!this.closed && !messageIsFull()) {
+					long remainingMillis = TimeUnit.NANOSECONDS
+							.toMillis(deadline - System.nanoTime());
+					if (remainingMillis <= 0) {
+						return;
+					}
+					this.messageReady.wait(remainingMillis);
+				}
+			}
+			finally {
+				this.waitingSenders--;
+			}
+		}
+	}
+
+	private void wakeSender(boolean all) {
+		synchronized (this.messageReady) {
+			if (all) {
+				this.messageReady.notifyAll();
+			}
+			else {
+				this.messageReady.notify();
+			}
+		}
 	}
 
 	/**
@@ -44,6 +169,9 @@ public final class HttpZipkinSpanReporter implements ZipkinSpanReporter, Flushab
 	@Override
 	public void report(Span span) {
 		this.delegate.report(span);
+		if (this.senderExecutor != null && this.waitingSenders > 0 && messageIsFull()) {
+			wakeSender(false);
+		}
 	}
 
 	/**
@@ -55,11 +183,32 @@ public final class HttpZipkinSpanReporter implements ZipkinSpanReporter, Flushab
 	}
 
 	/**
-	 * Blocks until in-flight spans are sent and drops any that are left pending.
+	 * Blocks until in-flight spans are sent, for at most a second, and drops any that are
+	 * left pending.
 	 */
 	@Override
 	public void close() {
+		if (this.senderExecutor != null) {
+			this.closed = true;
+			wakeSender(true);
+			this.senderExecutor.shutdown();
+			awaitSenders();
+		}
 		this.delegate.close();
 		this.sender.close();
 	}
+
+	private void awaitSenders() {
+		try {
+			if (!this.senderExecutor.awaitTermination(CLOSE_TIMEOUT_MILLIS,
+					TimeUnit.MILLISECONDS)) {
+				log.warn("Timed out waiting for in-flight spans to be sent to Zipkin");
+				this.senderExecutor.shutdownNow();
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			this.senderExecutor.shutdownNow();
+		}
+	}
 }
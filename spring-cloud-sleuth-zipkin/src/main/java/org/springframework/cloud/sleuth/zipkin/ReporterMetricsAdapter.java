@@ -1,22 +1,36 @@
 package org.springframework.cloud.sleuth.zipkin;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.springframework.cloud.sleuth.metric.SpanMetricReporter;
+import org.springframework.cloud.sleuth.metric.SpanReporterMetrics;
 
 import zipkin.reporter.ReporterMetrics;
 
 final class ReporterMetricsAdapter implements ReporterMetrics {
 	private final SpanMetricReporter spanMetricReporter;
+	private final SpanReporterMetrics reporterMetrics;
+	private final AtomicLong queuedBytes = new AtomicLong();
 
 	public ReporterMetricsAdapter(SpanMetricReporter spanMetricReporter) {
 		this.spanMetricReporter = spanMetricReporter;
+		this.reporterMetrics = spanMetricReporter instanceof SpanReporterMetrics ?
+				(SpanReporterMetrics) spanMetricReporter : null;
 	}
 
 	@Override
 	public void incrementMessages() {
+		if (this.reporterMetrics != null) {
+			this.reporterMetrics.incrementMessages();
+		}
 	}
 
 	@Override
 	public void incrementMessagesDropped(Throwable throwable) {
+		if (this.reporterMetrics != null) {
+			this.reporterMetrics.incrementDroppedMessages(
+					throwable != null ? throwable.getClass().getSimpleName() : null);
+		}
 	}
 
 	@Override
@@ -26,10 +40,17 @@ final class ReporterMetricsAdapter implements ReporterMetrics {
 
 	@Override
 	public void incrementSpanBytes(int i) {
+		this.queuedBytes.addAndGet(i);
+		if (this.reporterMetrics != null) {
+			this.reporterMetrics.incrementSpanBytes(i);
+		}
 	}
 
 	@Override
 	public void incrementMessageBytes(int i) {
+		if (this.reporterMetrics != null) {
+			this.reporterMetrics.incrementMessageBytes(i);
+		}
 	}
 
 	@Override
@@ -39,9 +60,24 @@ final class ReporterMetricsAdapter implements ReporterMetrics {
 
 	@Override
 	public void updateQueuedSpans(int i) {
+		if (this.reporterMetrics != null) {
+			this.reporterMetrics.updateQueuedSpans(i);
+		}
 	}
 
 	@Override
 	public void updateQueuedBytes(int i) {
+		this.queuedBytes.set(i);
+		if (this.reporterMetrics != null) {
+			this.reporterMetrics.updateQueuedBytes(i);
+		}
+	}
+
+	/**
+	 * Approximate size of the queued spans: the size left after the last flush plus
+	 * the size of the spans reported since.
+	 */
+	long queuedBytes() {
+		return this.queuedBytes.get();
 	}
 }
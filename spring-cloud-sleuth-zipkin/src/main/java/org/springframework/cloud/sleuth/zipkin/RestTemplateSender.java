@@ -3,6 +3,7 @@ package org.springframework.cloud.sleuth.zipkin;
 import java.net.URI;
 import java.util.List;
 
+import org.springframework.cloud.sleuth.metric.SpanReporterMetrics;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
@@ -15,12 +16,24 @@ import zipkin.reporter.Encoding;
 import zipkin.reporter.Sender;
 
 final class RestTemplateSender implements Sender {
+	// This will drop a span larger than 5MiB. Note: values like 512KiB benchmark better.
+	static final int DEFAULT_MESSAGE_MAX_BYTES = 5 * 1024 * 1024;
+
 	final RestTemplate restTemplate;
 	final String url;
+	final int messageMaxBytes;
+	final SpanReporterMetrics reporterMetrics;
 
 	RestTemplateSender(RestTemplate restTemplate, String baseUrl) {
+		this(restTemplate, baseUrl, DEFAULT_MESSAGE_MAX_BYTES, null);
+	}
+
+	RestTemplateSender(RestTemplate restTemplate, String baseUrl, int messageMaxBytes,
+			SpanReporterMetrics reporterMetrics) {
 		this.restTemplate = restTemplate;
 		this.url = baseUrl + (baseUrl.endsWith("/") ? "" : "/") + "api/v1/spans";
+		this.messageMaxBytes = messageMaxBytes;
+		this.reporterMetrics = reporterMetrics;
 	}
 
 	@Override public Encoding encoding() {
@@ -28,8 +41,7 @@ final class RestTemplateSender implements Sender {
 	}
 
 	@Override public int messageMaxBytes() {
-		// This will drop a span larger than 5MiB. Note: values like 512KiB benchmark better.
-		return 5 * 1024 * 1024;
+		return this.messageMaxBytes;
 	}
 
 	@Override public int messageSizeInBytes(List<byte[]> spans) {
@@ -42,8 +54,14 @@ final class RestTemplateSender implements Sender {
 	@Override public void sendSpans(List<byte[]> encodedSpans, Callback callback) {
 		if (this.closeCalled) throw new IllegalStateException("close");
 		try {
+			long start = System.nanoTime();
 			byte[] message = BytesMessageEncoder.JSON.encode(encodedSpans);
+			long encoded = System.nanoTime();
 			post(message);
+			if (this.reporterMetrics != null) {
+				this.reporterMetrics.recordEncodeTime(encoded - start);
+				this.reporterMetrics.recordSendLatency(System.nanoTime() - encoded);
+			}
 			callback.onComplete();
 		} catch (Throwable e) {
 			callback.onError(e);
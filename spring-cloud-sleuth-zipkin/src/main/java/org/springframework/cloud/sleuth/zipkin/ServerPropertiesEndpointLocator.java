@@ -25,6 +25,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerInitializedEvent;
+import org.springframework.cloud.client.discovery.event.InstanceRegisteredEvent;
 import org.springframework.cloud.commons.util.InetUtils;
 import org.springframework.cloud.commons.util.InetUtilsProperties;
 import org.springframework.context.event.EventListener;
@@ -38,6 +39,11 @@ import org.springframework.util.StringUtils;
  *     <li><b>port</b> - from lazily assigned port or {@link ServerProperties}</li>
  * </ul>
  *
+ * The resolved endpoint is cached, since resolving the address might require iterating
+ * over all network interfaces. The cache gets refreshed after
+ * {@link ZipkinProperties.Locator#getRefreshInterval()} seconds, when the port gets assigned
+ * or when the instance gets registered again.
+ *
  * You can override the name using {@link ZipkinProperties.Service#setName(String)}
  *
  * @author Dave Syer
@@ -51,7 +57,8 @@ public class ServerPropertiesEndpointLocator implements EndpointLocator {
 	private final String appName;
 	private final InetUtils inetUtils;
 	private final ZipkinProperties zipkinProperties;
-	private Integer port;
+	private volatile Integer port;
+	private volatile CachedEndpoint cachedEndpoint;
 
 	@Deprecated
 	public ServerPropertiesEndpointLocator(ServerProperties serverProperties,String appName) {
@@ -72,6 +79,28 @@ public class ServerPropertiesEndpointLocator implements EndpointLocator {
 
 	@Override
 	public Endpoint local() {
+		CachedEndpoint cached = this.cachedEndpoint;
+		long now = System.currentTimeMillis();
+		if (cached != null && now < cached.expiresAt) {
+			return cached.endpoint;
+		}
+		Endpoint endpoint = resolveEndpoint();
+		long refreshIntervalMillis = this.zipkinProperties.getLocator().getRefreshInterval() * 1000L;
+		if (refreshIntervalMillis > 0) {
+			this.cachedEndpoint = new CachedEndpoint(endpoint, now + refreshIntervalMillis);
+		}
+		return endpoint;
+	}
+
+	/**
+	 * Removes the cached endpoint. The next call to {@link #local()} will resolve
+	 * the address, port and service name again.
+	 */
+	public void refresh() {
+		this.cachedEndpoint = null;
+	}
+
+	private Endpoint resolveEndpoint() {
 		String serviceName = StringUtils.hasText(this.zipkinProperties.getService().getName()) ?
 				this.zipkinProperties.getService().getName() : this.appName;
 		if (log.isDebugEnabled()) {
@@ -87,6 +116,12 @@ public class ServerPropertiesEndpointLocator implements EndpointLocator {
 	@EventListener(EmbeddedServletContainerInitializedEvent.class)
 	public void grabPort(EmbeddedServletContainerInitializedEvent event) {
 		this.port = event.getEmbeddedServletContainer().getPort();
+		refresh();
+	}
+
+	@EventListener(InstanceRegisteredEvent.class)
+	public void instanceRegistered(InstanceRegisteredEvent<?> event) {
+		refresh();
 	}
 
 	private Integer getPort() {
@@ -112,4 +147,14 @@ public class ServerPropertiesEndpointLocator implements EndpointLocator {
 			return ByteBuffer.wrap(this.inetUtils.findFirstNonLoopbackAddress().getAddress()).getInt();
 		}
 	}
+
+	private static class CachedEndpoint {
+		final Endpoint endpoint;
+		final long expiresAt;
+
+		CachedEndpoint(Endpoint endpoint, long expiresAt) {
+			this.endpoint = endpoint;
+			this.expiresAt = expiresAt;
+		}
+	}
 }
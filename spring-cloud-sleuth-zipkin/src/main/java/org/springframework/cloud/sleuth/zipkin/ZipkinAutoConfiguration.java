@@ -32,6 +32,7 @@ import org.springframework.cloud.sleuth.SpanReporter;
 import org.springframework.cloud.sleuth.autoconfig.TraceAutoConfiguration;
 import org.springframework.cloud.sleuth.metric.SpanMetricReporter;
 import org.springframework.cloud.sleuth.sampler.PercentageBasedSampler;
+import org.springframework.cloud.sleuth.sampler.RateLimitingSampler;
 import org.springframework.cloud.sleuth.sampler.SamplerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,7 +42,7 @@ import org.springframework.core.env.Environment;
 /**
  * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration Auto-configuration}
  * enables reporting to Zipkin via HTTP. Has a default {@link Sampler} set as
- * {@link PercentageBasedSampler}.
+ * {@link PercentageBasedSampler}, capped by a {@link RateLimitingSampler}.
  *
  * The {@link ZipkinRestTemplateCustomizer} allows you to customize the {@link RestTemplate}
  * that is used to send Spans to Zipkin. Its default implementation - {@link DefaultZipkinRestTemplateCustomizer}
@@ -66,8 +67,7 @@ public class ZipkinAutoConfiguration {
 			ZipkinRestTemplateCustomizer zipkinRestTemplateCustomizer) {
 		RestTemplate restTemplate = new RestTemplate();
 		zipkinRestTemplateCustomizer.customize(restTemplate);
-		return new HttpZipkinSpanReporter(restTemplate, zipkin.getBaseUrl(), zipkin.getFlushInterval(),
-				spanMetricReporter);
+		return new HttpZipkinSpanReporter(restTemplate, zipkin, spanMetricReporter);
 	}
 
 	@Bean
@@ -79,7 +79,7 @@ public class ZipkinAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	public Sampler defaultTraceSampler(SamplerProperties config) {
-		return new PercentageBasedSampler(config);
+		return new RateLimitingSampler(config, new PercentageBasedSampler(config));
 	}
 
 	@Bean
@@ -36,6 +36,8 @@ public class ZipkinProperties {
 
 	private Locator locator = new Locator();
 
+	private Reporter reporter = new Reporter();
+
 	public Locator getLocator() {
 		return this.locator;
 	}
@@ -84,6 +86,85 @@ public class ZipkinProperties {
 		this.locator = locator;
 	}
 
+	public Reporter getReporter() {
+		return this.reporter;
+	}
+
+	public void setReporter(Reporter reporter) {
+		this.reporter = reporter;
+	}
+
+	/** Settings of the queue and the sending of the spans reported over HTTP */
+	public static class Reporter {
+
+		/** Max number of spans waiting to be sent. Spans above it are dropped. */
+		private int queuedMaxSpans = 1000;
+
+		/**
+		 * Max number of bytes of the spans waiting to be sent. Spans above it are dropped.
+		 * Defaults to 1% of the heap when not set.
+		 */
+		private Integer queuedMaxBytes;
+
+		/**
+		 * Max size of a message with spans in bytes. Spans larger than that are dropped.
+		 * Smaller messages, like 512KiB, put less pressure on the heap.
+		 */
+		private int messageMaxBytes = RestTemplateSender.DEFAULT_MESSAGE_MAX_BYTES;
+
+		/**
+		 * Time in millis after which the pending spans are sent, even if the message is
+		 * not full. Takes precedence over spring.zipkin.flush-interval.
+		 */
+		private Long messageTimeout;
+
+		/**
+		 * Number of threads sending the messages. Only one message is sent at a time
+		 * with the default of 1.
+		 */
+		private int senderThreads = 1;
+
+		public int getQueuedMaxSpans() {
+			return this.queuedMaxSpans;
+		}
+
+		public void setQueuedMaxSpans(int queuedMaxSpans) {
+			this.queuedMaxSpans = queuedMaxSpans;
+		}
+
+		public Integer getQueuedMaxBytes() {
+			return this.queuedMaxBytes;
+		}
+
+		public void setQueuedMaxBytes(Integer queuedMaxBytes) {
+			this.queuedMaxBytes = queuedMaxBytes;
+		}
+
+		public int getMessageMaxBytes() {
+			return this.messageMaxBytes;
+		}
+
+		public void setMessageMaxBytes(int messageMaxBytes) {
+			this.messageMaxBytes = messageMaxBytes;
+		}
+
+		public Long getMessageTimeout() {
+			return this.messageTimeout;
+		}
+
+		public void setMessageTimeout(Long messageTimeout) {
+			this.messageTimeout = messageTimeout;
+		}
+
+		public int getSenderThreads() {
+			return this.senderThreads;
+		}
+
+		public void setSenderThreads(int senderThreads) {
+			this.senderThreads = senderThreads;
+		}
+	}
+
 	/** When enabled, spans are gzipped before sent to the zipkin server */
 	public static class Compression {
 
@@ -117,6 +198,12 @@ public class ZipkinProperties {
 
 		private Discovery discovery;
 
+		/**
+		 * Time in seconds for which the resolved local address is cached.
+		 * Set to 0 to resolve it each time a span gets reported.
+		 */
+		private int refreshInterval = 60;
+
 		public Discovery getDiscovery() {
 			return this.discovery;
 		}
@@ -125,6 +212,14 @@ public class ZipkinProperties {
 			this.discovery = discovery;
 		}
 
+		public int getRefreshInterval() {
+			return this.refreshInterval;
+		}
+
+		public void setRefreshInterval(int refreshInterval) {
+			this.refreshInterval = refreshInterval;
+		}
+
 		public static class Discovery {
 
 			/** Enabling of locating the host name via service discovery */
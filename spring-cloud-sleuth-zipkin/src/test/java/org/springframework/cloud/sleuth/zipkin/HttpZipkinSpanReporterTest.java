@@ -1,6 +1,8 @@
 package org.springframework.cloud.sleuth.zipkin;
 
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Rule;
@@ -14,6 +16,7 @@ import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.cloud.sleuth.log.NoOpSpanLogger;
 import org.springframework.cloud.sleuth.metric.CounterServiceBasedSpanMetricReporter;
 import org.springframework.cloud.sleuth.metric.SpanMetricReporter;
+import org.springframework.cloud.sleuth.metric.SpanReporterMetrics;
 import org.springframework.cloud.sleuth.sampler.AlwaysSampler;
 import org.springframework.cloud.sleuth.trace.DefaultTracer;
 import org.springframework.cloud.sleuth.util.ExceptionUtils;
@@ -64,6 +67,112 @@ public class HttpZipkinSpanReporterTest {
 		assertThat(this.inMemorySpanCounter.getDroppedSpans()).isEqualTo(1);
 	}
 
+	@Test
+	public void dropsWhenConfiguredQueueIsFull() throws Exception {
+		ZipkinProperties zipkinProperties = zipkinProperties();
+		zipkinProperties.getReporter().setQueuedMaxSpans(10);
+		this.reporter = new HttpZipkinSpanReporter(this.restTemplate, zipkinProperties,
+				this.spanMetricReporter);
+
+		for (int i = 0; i < 11; i++)
+			this.reporter.report(span(1L, "foo"));
+
+		assertThat(this.inMemorySpanCounter.getDroppedSpans()).isEqualTo(1);
+	}
+
+	@Test
+	public void splitsMessagesAtConfiguredMaxBytes() throws Exception {
+		ZipkinProperties zipkinProperties = zipkinProperties();
+		zipkinProperties.getReporter().setMessageMaxBytes(250);
+		this.reporter = new HttpZipkinSpanReporter(this.restTemplate, zipkinProperties,
+				this.spanMetricReporter);
+
+		for (int i = 1; i <= 4; i++)
+			this.reporter.report(span(i, "foo"));
+		this.reporter.flush();
+		this.reporter.flush();
+
+		assertThat(this.zipkin.httpRequestCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void sendsSpansFromManyThreads() throws Exception {
+		ZipkinProperties zipkinProperties = zipkinProperties();
+		zipkinProperties.getReporter().setMessageTimeout(10L);
+		zipkinProperties.getReporter().setSenderThreads(2);
+		this.reporter = new HttpZipkinSpanReporter(this.restTemplate, zipkinProperties,
+				this.spanMetricReporter);
+
+		try {
+			this.reporter.report(span(1L, "foo"));
+
+			long deadline = System.currentTimeMillis() + 5000;
+			while (this.zipkin.httpRequestCount() == 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+
+			assertThat(this.zipkin.getTraces()).containsExactly(asList(span(1L, "foo")));
+		}
+		finally {
+			this.reporter.close();
+		}
+	}
+
+	@Test
+	public void sendsFullMessagesWithoutWaitingForTheTimeout() throws Exception {
+		ZipkinProperties zipkinProperties = zipkinProperties();
+		zipkinProperties.getReporter().setMessageMaxBytes(250); // 2 spans per message
+		zipkinProperties.getReporter().setMessageTimeout(10000L);
+		zipkinProperties.getReporter().setSenderThreads(2);
+		this.reporter = new HttpZipkinSpanReporter(this.restTemplate, zipkinProperties,
+				this.spanMetricReporter);
+
+		try {
+			for (int i = 1; i <= 20; i++)
+				this.reporter.report(span(i, "foo"));
+
+			// only the spans that don't fill a message wait for the timeout
+			long deadline = System.currentTimeMillis() + 5000;
+			while (this.zipkin.getTraces().size() < 18 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+
+			assertThat(this.zipkin.getTraces().size()).isGreaterThanOrEqualTo(18);
+			assertThat(this.zipkin.httpRequestCount()).isGreaterThanOrEqualTo(9);
+		}
+		finally {
+			this.reporter.close();
+		}
+	}
+
+	@Test
+	public void closeWaitsForTheSpansThatAreBeingSent() throws Exception {
+		CountDownLatch sending = new CountDownLatch(1);
+		this.restTemplate.getInterceptors().add((request, body, execution) -> {
+			sending.countDown();
+			try {
+				Thread.sleep(200);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return execution.execute(request, body);
+		});
+		ZipkinProperties zipkinProperties = zipkinProperties();
+		zipkinProperties.getReporter().setMessageMaxBytes(150); // 1 span per message
+		zipkinProperties.getReporter().setMessageTimeout(10000L);
+		zipkinProperties.getReporter().setSenderThreads(2);
+		this.reporter = new HttpZipkinSpanReporter(this.restTemplate, zipkinProperties,
+				this.spanMetricReporter);
+
+		this.reporter.report(span(1L, "foo"));
+		then(sending.await(5, TimeUnit.SECONDS)).isTrue();
+		this.reporter.close();
+
+		assertThat(this.zipkin.getTraces()).containsExactly(asList(span(1L, "foo")));
+		assertThat(this.inMemorySpanCounter.getDroppedSpans()).isZero();
+	}
+
 	@Test
 	public void postsSpans() throws Exception {
 		this.reporter.report(span(1L, "foo"));
@@ -125,6 +234,41 @@ public class HttpZipkinSpanReporterTest {
 		assertThat(this.inMemorySpanCounter.getDroppedSpans()).isEqualTo(2);
 	}
 
+	@Test
+	public void recordsReporterMetrics() throws Exception {
+		SpanReporterMetrics reporterMetrics = new SpanReporterMetrics();
+		this.reporter = new HttpZipkinSpanReporter(this.restTemplate, this.zipkin.httpUrl(),
+				0, // so that tests can drive flushing explicitly
+				reporterMetrics
+		);
+
+		this.reporter.report(span(1L, "foo"));
+		this.reporter.report(span(2L, "bar"));
+		this.reporter.flush(); // manually flush the spans
+
+		assertThat(reporterMetrics.getAcceptedSpans()).isEqualTo(2);
+		assertThat(reporterMetrics.getMessages()).isEqualTo(1);
+		assertThat(reporterMetrics.getMessageBytes()).isPositive();
+		assertThat(reporterMetrics.getSendLatency().getCount()).isEqualTo(1);
+		assertThat(reporterMetrics.getEncodeTime().getCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void recordsReasonOfDroppedMessages() throws Exception {
+		SpanReporterMetrics reporterMetrics = new SpanReporterMetrics();
+		this.reporter = new HttpZipkinSpanReporter(this.restTemplate, this.zipkin.httpUrl(),
+				0, // so that tests can drive flushing explicitly
+				reporterMetrics
+		);
+		this.zipkin.enqueueFailure(HttpFailure.sendErrorResponse(500, "Ouch"));
+
+		this.reporter.report(span(1L, "foo"));
+		this.reporter.flush(); // manually flush the spans
+
+		assertThat(reporterMetrics.getDroppedSpans()).isEqualTo(1);
+		assertThat(reporterMetrics.getDroppedMessages()).containsOnlyKeys("HttpServerErrorException");
+	}
+
 	@Test
 	public void should_change_the_service_name_in_zipkin_to_the_manually_provided_one() {
 		AtomicReference<Span> receivedSpan = new AtomicReference<>();
@@ -166,6 +310,13 @@ public class HttpZipkinSpanReporterTest {
 		return restTemplate;
 	}
 
+	private ZipkinProperties zipkinProperties() {
+		ZipkinProperties zipkinProperties = new ZipkinProperties();
+		zipkinProperties.setBaseUrl(this.zipkin.httpUrl());
+		zipkinProperties.setFlushInterval(0); // so that tests can drive flushing explicitly
+		return zipkinProperties;
+	}
+
 	private RestTemplate defaultRestTemplate() {
 		return restTemplate(new ZipkinProperties());
 	}
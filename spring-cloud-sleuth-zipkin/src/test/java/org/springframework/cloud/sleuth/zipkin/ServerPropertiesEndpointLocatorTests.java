@@ -94,6 +94,45 @@ public class ServerPropertiesEndpointLocatorTests {
 		assertThat(locator.local().port).isEqualTo((short) 8080);
 	}
 
+	@Test
+	public void addressIsResolvedOnceWithinRefreshInterval() throws UnknownHostException {
+		InetUtils inetUtils = localAddress(ADDRESS1234);
+		ServerPropertiesEndpointLocator locator = new ServerPropertiesEndpointLocator(
+				new ServerProperties(), "unknown", new ZipkinProperties(), inetUtils);
+
+		locator.local();
+		locator.local();
+
+		Mockito.verify(inetUtils, Mockito.times(1)).findFirstNonLoopbackAddress();
+	}
+
+	@Test
+	public void addressIsResolvedAgainAfterRefresh() throws UnknownHostException {
+		InetUtils inetUtils = localAddress(ADDRESS1234);
+		ServerPropertiesEndpointLocator locator = new ServerPropertiesEndpointLocator(
+				new ServerProperties(), "unknown", new ZipkinProperties(), inetUtils);
+
+		locator.local();
+		locator.refresh();
+		locator.local();
+
+		Mockito.verify(inetUtils, Mockito.times(2)).findFirstNonLoopbackAddress();
+	}
+
+	@Test
+	public void addressIsResolvedEachTimeWhenRefreshIntervalIsZero() throws UnknownHostException {
+		InetUtils inetUtils = localAddress(ADDRESS1234);
+		ZipkinProperties zipkinProperties = new ZipkinProperties();
+		zipkinProperties.getLocator().setRefreshInterval(0);
+		ServerPropertiesEndpointLocator locator = new ServerPropertiesEndpointLocator(
+				new ServerProperties(), "unknown", zipkinProperties, inetUtils);
+
+		locator.local();
+		locator.local();
+
+		Mockito.verify(inetUtils, Mockito.times(2)).findFirstNonLoopbackAddress();
+	}
+
 	private InetUtils localAddress(byte[] address) throws UnknownHostException {
 		InetUtils mocked = Mockito.spy(new InetUtils(new InetUtilsProperties()));
 		Mockito.when(mocked.findFirstNonLoopbackAddress())